@@ -0,0 +1,45 @@
+package rent_vs_buy.balancecalculator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import rent_vs_buy.models.ComparisonParameters;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BalanceCalculatorBenchmark {
+
+    private final BalanceCalculator balanceCalculator = new BalanceCalculator();
+
+    @Benchmark
+    public double getMonthlyInterestRate(ComparisonScenarios scenarios) {
+        return balanceCalculator.getMonthlyInterestRate(scenarios.next().getCreditInterestRate());
+    }
+
+    @Benchmark
+    public double calculateAnnuityPayment(ComparisonScenarios scenarios) {
+        return balanceCalculator.calculateAnnuityPayment(scenarios.next());
+    }
+
+    @Benchmark
+    public double calculateMonthlyDifferentiatedPayment(ComparisonScenarios scenarios) {
+        ComparisonParameters comparisonParameters = scenarios.next();
+        return balanceCalculator.calculateMonthlyDifferentiatedPayment(comparisonParameters,
+                comparisonParameters.getLoanBody() / 2);
+    }
+
+    @Benchmark
+    public double calculateBalance(ComparisonScenarios scenarios) {
+        ComparisonParameters comparisonParameters = scenarios.next();
+        return balanceCalculator.calculateBalance(comparisonParameters.getLoanBody(),
+                comparisonParameters.getFullPrice());
+    }
+}
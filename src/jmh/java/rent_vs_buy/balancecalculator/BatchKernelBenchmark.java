@@ -0,0 +1,59 @@
+package rent_vs_buy.balancecalculator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import rent_vs_buy.models.ComparisonParameters;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(BatchKernelBenchmark.SCENARIOS)
+public class BatchKernelBenchmark {
+
+    static final int SCENARIOS = 1024;
+
+    private final BatchKernel batchKernel = new BatchKernel();
+    private final ComparisonEngine comparisonEngine = new ComparisonEngine(new CostsCalculator(),
+            new GainsCalculator(), false);
+    private final ComparisonParameters[] parameters = new ComparisonParameters[SCENARIOS];
+    private final ComparisonColumns columns = new ComparisonColumns(SCENARIOS);
+
+    @Setup
+    public void setUp(ComparisonScenarios scenarios) {
+        for (int i = 0; i < SCENARIOS; i++) {
+            parameters[i] = scenarios.next();
+            columns.set(i, parameters[i]);
+        }
+    }
+
+    @Benchmark
+    public ComparisonColumns kernel() {
+        batchKernel.compute(columns, 0, SCENARIOS);
+        return columns;
+    }
+
+    @Benchmark
+    public void engineClosedForm(Blackhole blackhole) {
+        for (ComparisonParameters comparisonParameters : parameters) {
+            blackhole.consume(comparisonEngine.compare(comparisonParameters, true));
+        }
+    }
+
+    @Benchmark
+    public void engineIterative(Blackhole blackhole) {
+        for (ComparisonParameters comparisonParameters : parameters) {
+            blackhole.consume(comparisonEngine.compare(comparisonParameters, false));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package rent_vs_buy.balancecalculator;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import rent_vs_buy.models.ComparisonParameters;
+import rent_vs_buy.models.ComparisonRequest;
+
+import java.util.SplittableRandom;
+
+@State(Scope.Thread)
+public class ComparisonScenarios {
+
+    private static final int REQUESTS = 1024;
+
+    @Param({"shortAnnuity", "longAnnuity", "shortDifferentiated", "longDifferentiated", "fullPriceWasPayed"})
+    public String scenario;
+
+    private final ComparisonRequest[] requests = new ComparisonRequest[REQUESTS];
+    private final ComparisonParameters[] parameters = new ComparisonParameters[REQUESTS];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(scenario.hashCode());
+        for (int i = 0; i < REQUESTS; i++) {
+            requests[i] = createRequest(random);
+            parameters[i] = requests[i].toParameters();
+        }
+    }
+
+    public ComparisonParameters next() {
+        ComparisonParameters comparisonParameters = parameters[next];
+        next = (next + 1) & (REQUESTS - 1);
+        return comparisonParameters;
+    }
+
+    public ComparisonRequest nextRequest() {
+        ComparisonRequest comparisonRequest = requests[next];
+        next = (next + 1) & (REQUESTS - 1);
+        return comparisonRequest;
+    }
+
+    private ComparisonRequest createRequest(SplittableRandom random) {
+        boolean longTerm = scenario.startsWith("long") || "fullPriceWasPayed".equals(scenario) && random.nextBoolean();
+        double fullPrice = Math.floor(random.nextDouble(3000000, 12000000));
+        double loanBody = "fullPriceWasPayed".equals(scenario) ? 0
+                : Math.floor(fullPrice * random.nextDouble(0.5, 0.9));
+        double yearsOfLoan = longTerm ? random.nextInt(20, 31) : random.nextInt(2, 11) / 2D;
+        return new ComparisonRequest(fullPrice,
+                loanBody,
+                yearsOfLoan,
+                Math.round(random.nextDouble(5, 12) * 100) / 100D,
+                Math.floor(random.nextDouble(15000, 60000)),
+                Math.round(random.nextDouble(2, 8) * 10) / 10D,
+                Math.floor(random.nextDouble(0, 1500000)),
+                Math.round(random.nextDouble(4, 10) * 10) / 10D,
+                Math.round(random.nextDouble(0.1, 0.3) * 100) / 100D,
+                Math.round(random.nextDouble(0.3, 1) * 100) / 100D,
+                scenario.endsWith("Differentiated"));
+    }
+}
@@ -0,0 +1,100 @@
+package rent_vs_buy.balancecalculator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import rent_vs_buy.models.ComparisonParameters;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CostsCalculatorBenchmark {
+
+    private final CostsCalculator costsCalculator = new CostsCalculator();
+
+    @Benchmark
+    public double calculateTotalDifferentiatedPayments(ComparisonScenarios scenarios) {
+        return costsCalculator.calculateTotalDifferentiatedPayments(scenarios.next());
+    }
+
+    @Benchmark
+    public double calculateTotalDifferentiatedPaymentsClosedForm(ComparisonScenarios scenarios) {
+        return costsCalculator.calculateTotalDifferentiatedPaymentsClosedForm(scenarios.next());
+    }
+
+    @Benchmark
+    public double calculateTotalAnnuityPayments(ComparisonScenarios scenarios) {
+        ComparisonParameters comparisonParameters = scenarios.next();
+        return costsCalculator.calculateTotalAnnuityPayments(comparisonParameters,
+                costsCalculator.calculateAnnuityPayment(comparisonParameters));
+    }
+
+    @Benchmark
+    public double calculateRentForWholePeriod(ComparisonScenarios scenarios) {
+        return costsCalculator.calculateRentForWholePeriod(scenarios.next());
+    }
+
+    @Benchmark
+    public double calculateAbsoluteMonthlyPercent(ComparisonScenarios scenarios) {
+        ComparisonParameters comparisonParameters = scenarios.next();
+        return costsCalculator.calculateAbsoluteMonthlyPercent(comparisonParameters, comparisonParameters.getLoanBody(),
+                costsCalculator.getMonthlyInterestRate(comparisonParameters.getCreditInterestRate()));
+    }
+
+    @Benchmark
+    public double calculateLoanBodyPayedPerMonth(ComparisonScenarios scenarios) {
+        ComparisonParameters comparisonParameters = scenarios.next();
+        return costsCalculator.calculateLoanBodyPayedPerMonth(comparisonParameters,
+                comparisonParameters.getMonthlyRent(), comparisonParameters.getLoanBody() / 200);
+    }
+
+    @Benchmark
+    public double calculateInsurancePaymentForWholePeriod(ComparisonScenarios scenarios) {
+        ComparisonParameters comparisonParameters = scenarios.next();
+        return comparisonParameters.getIsDifferentiatedPayment()
+                ? costsCalculator.calculateInsurancePaymentForWholePeriod(comparisonParameters,
+                comparisonParameters.getInsuranceRate())
+                : costsCalculator.calculateInsurancePaymentForWholePeriod(comparisonParameters,
+                costsCalculator.calculateAnnuityPayment(comparisonParameters), comparisonParameters.getInsuranceRate());
+    }
+
+    @Benchmark
+    public double calculateInsurancePaymentForWholePeriodClosedForm(ComparisonScenarios scenarios) {
+        ComparisonParameters comparisonParameters = scenarios.next();
+        return costsCalculator.calculateInsurancePaymentForWholePeriodClosedForm(comparisonParameters,
+                costsCalculator.calculateAnnuityPayment(comparisonParameters), comparisonParameters.getInsuranceRate(),
+                comparisonParameters.getIsDifferentiatedPayment());
+    }
+
+    @Benchmark
+    public double calculateTaxForWholePeriod(ComparisonScenarios scenarios) {
+        ComparisonParameters comparisonParameters = scenarios.next();
+        return costsCalculator.calculateTaxForWholePeriod(comparisonParameters, comparisonParameters.getTaxRate());
+    }
+
+    @Benchmark
+    public double calculateTotalLossesWithAnnuityPayment(ComparisonScenarios scenarios) {
+        ComparisonParameters comparisonParameters = scenarios.next();
+        return costsCalculator.calculateTotalLossesWithAnnuityPayment(comparisonParameters,
+                comparisonParameters.getFullPrice());
+    }
+
+    @Benchmark
+    public double calculateTotalLossesWithDifferentiatedPayment(ComparisonScenarios scenarios) {
+        ComparisonParameters comparisonParameters = scenarios.next();
+        return costsCalculator.calculateTotalLossesWithDifferentiatedPayment(comparisonParameters,
+                comparisonParameters.getFullPrice());
+    }
+
+    @Benchmark
+    public double calculateTotalCostsForRenting(ComparisonScenarios scenarios) {
+        return costsCalculator.calculateTotalCostsForRenting(scenarios.next());
+    }
+}
@@ -0,0 +1,74 @@
+package rent_vs_buy.balancecalculator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import rent_vs_buy.models.ComparisonParameters;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GainsCalculatorBenchmark {
+
+    private final GainsCalculator gainsCalculator = new GainsCalculator();
+
+    @Benchmark
+    public double calculateTaxDeduction(ComparisonScenarios scenarios) {
+        return gainsCalculator.calculateTaxDeduction(scenarios.next().getFullPrice());
+    }
+
+    @Benchmark
+    public double calculateCompoundingEffectWithAnnuityPayments(ComparisonScenarios scenarios) {
+        ComparisonParameters comparisonParameters = scenarios.next();
+        return gainsCalculator.calculateCompoundingEffectWithAnnuityPayments(comparisonParameters,
+                gainsCalculator.calculateAnnuityPayment(comparisonParameters));
+    }
+
+    @Benchmark
+    public double calculateCompoundingEffectWithoutPayments(ComparisonScenarios scenarios) {
+        return gainsCalculator.calculateCompoundingEffectWithoutPayments(scenarios.next());
+    }
+
+    @Benchmark
+    public double calculateCompoundingEffectWithoutFirstPayment(ComparisonScenarios scenarios) {
+        ComparisonParameters comparisonParameters = scenarios.next();
+        return gainsCalculator.calculateCompoundingEffectWithoutFirstPayment(comparisonParameters,
+                gainsCalculator.calculateAnnuityPayment(comparisonParameters));
+    }
+
+    @Benchmark
+    public double calculateTotalGainsForRenting(ComparisonScenarios scenarios) {
+        return gainsCalculator.calculateTotalGainsForRenting(scenarios.next());
+    }
+
+    @Benchmark
+    public double calculateFinalRealEstatePrice(ComparisonScenarios scenarios) {
+        return gainsCalculator.calculateFinalRealEstatePrice(scenarios.next());
+    }
+
+    @Benchmark
+    public double calculateTotalGainsForBuying(ComparisonScenarios scenarios) {
+        return gainsCalculator.calculateTotalGainsForBuying(scenarios.next());
+    }
+
+    @Benchmark
+    public double calculateTotalGains(ComparisonScenarios scenarios) {
+        ComparisonParameters comparisonParameters = scenarios.next();
+        return gainsCalculator.calculateTotalGainsForRenting(comparisonParameters)
+                + gainsCalculator.calculateTotalGainsForBuying(comparisonParameters);
+    }
+
+    @Benchmark
+    public double calculateTotalGainsWithSharedContext(ComparisonScenarios scenarios) {
+        EvaluationContext context = new EvaluationContext(scenarios.next());
+        return gainsCalculator.calculateTotalGainsForRenting(context)
+                + gainsCalculator.calculateTotalGainsForBuying(context);
+    }
+}
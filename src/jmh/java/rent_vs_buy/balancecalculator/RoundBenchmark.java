@@ -0,0 +1,54 @@
+package rent_vs_buy.balancecalculator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoundBenchmark {
+
+    private static final int VALUES = 1024;
+
+    private final BalanceCalculator balanceCalculator = new BalanceCalculator();
+    private final double[] values = new double[VALUES];
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(20210301);
+        for (int i = 0; i < VALUES; i++) {
+            values[i] = random.nextDouble(0, 50000) + random.nextDouble(0, 5000000) * 0.0075;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void round(Blackhole blackhole) {
+        for (double value : values) {
+            blackhole.consume(balanceCalculator.round(value));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void roundThroughBigDecimal(Blackhole blackhole) {
+        for (double value : values) {
+            blackhole.consume(new BigDecimal(Double.toString(value)).setScale(2, RoundingMode.HALF_UP).doubleValue());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package rent_vs_buy.controller;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import rent_vs_buy.Main;
+import rent_vs_buy.balancecalculator.ComparisonScenarios;
+import rent_vs_buy.models.ComparisonResponse;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompareControllerBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private CompareController compareController;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(Main.class).web(WebApplicationType.NONE).run();
+        compareController = context.getBean(CompareController.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ComparisonResponse compareRentAndBuy(ComparisonScenarios scenarios) {
+        return compareController.compareRentAndBuy(scenarios.nextRequest(), null);
+    }
+
+    @Benchmark
+    public ComparisonResponse compareRentAndBuyUncached(ComparisonScenarios scenarios) {
+        return compareController.compareRentAndBuy(scenarios.nextRequest(), false);
+    }
+}
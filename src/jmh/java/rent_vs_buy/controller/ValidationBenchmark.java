@@ -0,0 +1,66 @@
+package rent_vs_buy.controller;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import rent_vs_buy.models.ComparisonRequest;
+
+import javax.validation.Validation;
+import java.util.HashMap;
+import java.util.Map;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+
+    @Param({"valid", "invalid"})
+    private String request;
+
+    private final SmartValidator beanValidator = new SpringValidatorAdapter(
+            Validation.buildDefaultValidatorFactory().getValidator());
+    private final SmartValidator compiledValidator = new ComparisonRequestValidator(beanValidator);
+    private ComparisonRequest comparisonRequest;
+
+    @Setup
+    public void setUp() {
+        comparisonRequest = "valid".equals(request)
+                ? new ComparisonRequest(4200000D, 1969000D, 20D, 8.49D, 22000D, 4D, 500000D, 8D, 0.1, 0.5, false)
+                : new ComparisonRequest(4200000D, null, 20D, -8.49D, 22000D, 4D, 500000D, null, -0.1, 0.5, null);
+    }
+
+    @Benchmark
+    public Map<String, String> beanValidation() {
+        return validate(beanValidator);
+    }
+
+    @Benchmark
+    public Map<String, String> compiledValidation() {
+        return validate(compiledValidator);
+    }
+
+    // What a request pays up to the error body: the binding result, the validation and the field error map
+    private Map<String, String> validate(SmartValidator validator) {
+        BindingResult bindingResult = new BeanPropertyBindingResult(comparisonRequest, "comparisonRequest");
+        validator.validate(comparisonRequest, bindingResult, new Object[0]);
+        Map<String, String> errors = new HashMap<>();
+        for (FieldError fieldError : bindingResult.getFieldErrors()) {
+            errors.put(fieldError.getField(), fieldError.getDefaultMessage());
+        }
+        return errors;
+    }
+}
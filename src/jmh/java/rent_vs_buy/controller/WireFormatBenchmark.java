@@ -0,0 +1,98 @@
+package rent_vs_buy.controller;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import rent_vs_buy.balancecalculator.ComparisonEngine;
+import rent_vs_buy.balancecalculator.ComparisonScenarios;
+import rent_vs_buy.balancecalculator.CostsCalculator;
+import rent_vs_buy.balancecalculator.GainsCalculator;
+import rent_vs_buy.models.ComparisonParameters;
+import rent_vs_buy.models.ComparisonRequest;
+import rent_vs_buy.models.ComparisonResponse;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final int MESSAGES = 1024;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new ParameterNamesModule(JsonCreator.Mode.DEFAULT));
+    private final ObjectReader requestReader = objectMapper.readerFor(ComparisonRequest.class);
+    private final ObjectWriter responseWriter = objectMapper.writerFor(ComparisonResponse.class);
+    private final byte[][] jsonRequests = new byte[MESSAGES][];
+    private final byte[][] binaryRequests = new byte[MESSAGES][];
+    private final ComparisonResponse[] responses = new ComparisonResponse[MESSAGES];
+    private final ByteBuffer responseBuffer = ByteBuffer.allocate(ComparisonBinaryHttpMessageConverter.RESPONSE_LENGTH)
+            .order(ByteOrder.LITTLE_ENDIAN);
+    private final byte[] jsonResponseBuffer = new byte[ComparisonJsonHttpMessageConverter.MAX_LENGTH];
+    private int next;
+
+    @Setup
+    public void setUp(ComparisonScenarios scenarios) throws IOException {
+        ComparisonEngine comparisonEngine = new ComparisonEngine(new CostsCalculator(), new GainsCalculator(), false);
+        for (int i = 0; i < MESSAGES; i++) {
+            ComparisonRequest comparisonRequest = scenarios.nextRequest();
+            ComparisonParameters comparisonParameters = comparisonRequest.toParameters();
+            jsonRequests[i] = objectMapper.writeValueAsBytes(comparisonRequest);
+            ByteBuffer buffer = ByteBuffer.allocate(ComparisonBinaryHttpMessageConverter.REQUEST_LENGTH)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            ComparisonBinaryHttpMessageConverter.encode(comparisonParameters, buffer);
+            binaryRequests[i] = buffer.array();
+            responses[i] = comparisonEngine.compare(comparisonParameters);
+        }
+    }
+
+    @Benchmark
+    public ComparisonParameters decodeJson() throws IOException {
+        return requestReader.<ComparisonRequest>readValue(jsonRequests[advance()]).toParameters();
+    }
+
+    @Benchmark
+    public ComparisonParameters decodeBinary() {
+        return ComparisonBinaryHttpMessageConverter.decode(ByteBuffer.wrap(binaryRequests[advance()])
+                .order(ByteOrder.LITTLE_ENDIAN));
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws IOException {
+        return responseWriter.writeValueAsBytes(responses[advance()]);
+    }
+
+    @Benchmark
+    public int encodeJsonDirect() {
+        return ComparisonJsonHttpMessageConverter.write(responses[advance()], jsonResponseBuffer);
+    }
+
+    @Benchmark
+    public ByteBuffer encodeBinary() {
+        responseBuffer.clear();
+        ComparisonBinaryHttpMessageConverter.encode(responses[advance()], responseBuffer);
+        return responseBuffer;
+    }
+
+    private int advance() {
+        int message = next;
+        next = (next + 1) & (MESSAGES - 1);
+        return message;
+    }
+}
@@ -0,0 +1,107 @@
+package rent_vs_buy.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latencies per scenario in microseconds. The response time is measured from the moment a request was scheduled
+// to be sent, which in open-loop mode includes any time it waited behind slow responses; the service time is
+// measured from the moment it was actually sent.
+class LatencyRecorder {
+
+    private static final double MICROS_PER_MILLI = 1000D;
+
+    private final String[] scenarios;
+    private final Histogram[] responseTimes;
+    private final Histogram[] serviceTimes;
+    private final LongAdder[] errors;
+    private final LongAccumulator lastEnd = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+    LatencyRecorder(String[] scenarios) {
+        this.scenarios = scenarios;
+        this.responseTimes = new Histogram[scenarios.length];
+        this.serviceTimes = new Histogram[scenarios.length];
+        this.errors = new LongAdder[scenarios.length];
+        for (int i = 0; i < scenarios.length; i++) {
+            responseTimes[i] = new ConcurrentHistogram(3);
+            serviceTimes[i] = new ConcurrentHistogram(3);
+            errors[i] = new LongAdder();
+        }
+    }
+
+    void record(int scenario, long intendedStart, long start, long end, boolean error) {
+        responseTimes[scenario].recordValue(Math.max(0, (end - intendedStart) / 1000));
+        serviceTimes[scenario].recordValue(Math.max(0, (end - start) / 1000));
+        if (error) {
+            errors[scenario].increment();
+        }
+        lastEnd.accumulate(end);
+    }
+
+    long getLastEnd() {
+        return lastEnd.get();
+    }
+
+    void report(String header, double seconds, boolean openLoop, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        List<String> lines = new ArrayList<>();
+        lines.add(header);
+        lines.add("");
+        lines.add(openLoop ? "Response time, from intended send time (corrected for coordinated omission)"
+                : "Response time");
+        table(lines, responseTimes, seconds);
+        if (openLoop) {
+            lines.add("");
+            lines.add("Service time, from actual send time");
+            table(lines, serviceTimes, seconds);
+        }
+        Files.write(directory.resolve("load.txt"), lines);
+        lines.forEach(System.out::println);
+
+        for (int i = 0; i < scenarios.length; i++) {
+            try (PrintStream output = new PrintStream(directory.resolve(scenarios[i] + ".hgrm").toFile())) {
+                responseTimes[i].outputPercentileDistribution(output, MICROS_PER_MILLI);
+            }
+        }
+        try (PrintStream output = new PrintStream(directory.resolve("all.hgrm").toFile())) {
+            total(responseTimes).outputPercentileDistribution(output, MICROS_PER_MILLI);
+        }
+    }
+
+    private void table(List<String> lines, Histogram[] histograms, double seconds) {
+        lines.add(String.format(Locale.ROOT, "%-44s %10s %8s %12s %9s %9s %9s %9s", "scenario", "requests",
+                "errors", "throughput/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        long totalErrors = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            lines.add(row(scenarios[i], histograms[i], errors[i].sum(), seconds));
+            totalErrors += errors[i].sum();
+        }
+        lines.add(row("all", total(histograms), totalErrors, seconds));
+    }
+
+    private String row(String name, Histogram histogram, long errors, double seconds) {
+        return String.format(Locale.ROOT, "%-44s %10d %8d %12.1f %9.3f %9.3f %9.3f %9.3f", name,
+                histogram.getTotalCount(), errors, histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50) / MICROS_PER_MILLI,
+                histogram.getValueAtPercentile(99) / MICROS_PER_MILLI,
+                histogram.getValueAtPercentile(99.9) / MICROS_PER_MILLI,
+                histogram.getMaxValue() / MICROS_PER_MILLI);
+    }
+
+    private Histogram total(Histogram[] histograms) {
+        Histogram total = new Histogram(3);
+        for (Histogram histogram : histograms) {
+            total.add(histogram);
+        }
+        return total;
+    }
+}
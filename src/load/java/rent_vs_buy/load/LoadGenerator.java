@@ -0,0 +1,205 @@
+package rent_vs_buy.load;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Drives the HTTP API with a fixture request mix and writes an HdrHistogram latency report. Open-loop mode sends
+// at a fixed arrival rate and measures every response from its scheduled send time, so a stalled server shows up
+// in the percentiles instead of silently lowering the request rate; closed-loop mode keeps a fixed number of
+// connections busy. Without --target an application is started on a free local port from load.app.classpath.
+public class LoadGenerator {
+
+    private final HttpClient client;
+    private final RequestMix requestMix;
+    private final LatencyRecorder latencyRecorder;
+
+    private LoadGenerator(HttpClient client, RequestMix requestMix) {
+        this.client = client;
+        this.requestMix = requestMix;
+        this.latencyRecorder = new LatencyRecorder(requestMix.getScenarios());
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Usage: --name=value options, got " + arg);
+            }
+            String[] option = arg.substring(2).split("=", 2);
+            options.put(option[0], option.length > 1 ? option[1] : "true");
+        }
+        boolean openLoop = !"closed".equals(options.getOrDefault("mode", "open"));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "500"));
+        int connections = Integer.parseInt(options.getOrDefault("connections", openLoop ? "1024" : "16"));
+        Duration duration = duration(options.getOrDefault("duration", "30s"));
+        Duration warmUp = duration(options.getOrDefault("warm-up", "10s"));
+        Path fixtures = Path.of(options.getOrDefault("fixtures", "src/test/resources/ControllerTests"));
+        Path report = Path.of(options.getOrDefault("report", "build/reports/load"));
+
+        Process application = null;
+        URI target;
+        if (options.containsKey("target")) {
+            target = URI.create(options.get("target"));
+        } else {
+            int port;
+            try (ServerSocket socket = new ServerSocket(0)) {
+                port = socket.getLocalPort();
+            }
+            application = start(port);
+            target = URI.create("http://localhost:" + port);
+        }
+
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            awaitReadiness(client, target);
+            RequestMix requestMix = new RequestMix(fixtures, options.getOrDefault("mix", RequestMix.DEFAULT_MIX),
+                    target, Integer.parseInt(options.getOrDefault("distinct", "1000")));
+            LoadGenerator loadGenerator = new LoadGenerator(client, requestMix);
+
+            long measured = openLoop ? loadGenerator.runOpenLoop(rate, connections, warmUp, duration)
+                    : loadGenerator.runClosedLoop(connections, warmUp, duration);
+            String header = String.format("target %s, %s, %s, warm-up %d s, measured %.1f s", target,
+                    openLoop ? "open loop at " + rate + " requests/s (at most " + connections + " in flight)"
+                            : "closed loop with " + connections + " connections",
+                    options.getOrDefault("mix", RequestMix.DEFAULT_MIX), warmUp.toSeconds(), measured / 1e9);
+            loadGenerator.latencyRecorder.report(header, measured / 1e9, openLoop, report);
+        } finally {
+            if (application != null) {
+                application.destroy();
+                application.waitFor(30, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    // Requests are scheduled at fixed intervals; each one's latency is taken from its scheduled time, even when
+    // the in-flight limit or the dispatcher itself delayed the send.
+    private long runOpenLoop(double rate, int maxInFlight, Duration warmUp, Duration duration)
+            throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(21);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        double interval = 1e9 / rate;
+        long start = System.nanoTime();
+        long measurementStart = start + warmUp.toNanos();
+        long end = measurementStart + duration.toNanos();
+        for (long i = 0; ; i++) {
+            long intendedStart = start + (long) (i * interval);
+            if (intendedStart >= end) {
+                break;
+            }
+            for (long now = System.nanoTime(); now < intendedStart; now = System.nanoTime()) {
+                LockSupport.parkNanos(intendedStart - now);
+            }
+            inFlight.acquire();
+            int scenario = requestMix.nextScenario(random);
+            HttpRequest request = requestMix.nextRequest(scenario, random);
+            long sendStart = System.nanoTime();
+            boolean recorded = intendedStart >= measurementStart;
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                if (recorded) {
+                    latencyRecorder.record(scenario, intendedStart, sendStart, System.nanoTime(),
+                            error != null || response.statusCode() >= 400);
+                }
+                inFlight.release();
+            });
+        }
+        inFlight.acquire(maxInFlight);
+        // a saturated server is still answering requests scheduled inside the window after it has closed
+        return Math.max(end, latencyRecorder.getLastEnd()) - measurementStart;
+    }
+
+    private long runClosedLoop(int connections, Duration warmUp, Duration duration) throws InterruptedException {
+        long measurementStart = System.nanoTime() + warmUp.toNanos();
+        long end = measurementStart + duration.toNanos();
+        List<Thread> threads = new ArrayList<>();
+        for (int connection = 0; connection < connections; connection++) {
+            SplittableRandom random = new SplittableRandom(21 + connection);
+            Thread thread = new Thread(() -> {
+                for (long sendStart = System.nanoTime(); sendStart < end; sendStart = System.nanoTime()) {
+                    int scenario = requestMix.nextScenario(random);
+                    boolean error;
+                    try {
+                        error = client.send(requestMix.nextRequest(scenario, random),
+                                HttpResponse.BodyHandlers.discarding()).statusCode() >= 400;
+                    } catch (IOException e) {
+                        error = true;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    if (sendStart >= measurementStart) {
+                        latencyRecorder.record(scenario, sendStart, sendStart, System.nanoTime(), error);
+                    }
+                }
+            }, "load-" + connection);
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return end - measurementStart;
+    }
+
+    private static Process start(int port) throws IOException {
+        String classpath = System.getProperty("load.app.classpath");
+        if (classpath == null) {
+            throw new IllegalArgumentException("Either --target or the load.app.classpath property is required");
+        }
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        String jvmArgs = System.getProperty("load.app.jvm-args", "");
+        for (String jvmArg : jvmArgs.split(" ")) {
+            if (!jvmArg.isBlank()) {
+                command.add(jvmArg);
+            }
+        }
+        command.addAll(List.of("-Dserver.port=" + port, "-Dmanagement.endpoint.health.probes.enabled=true",
+                "-cp", classpath, "rent_vs_buy.Main"));
+        return new ProcessBuilder(command).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+    }
+
+    private static void awaitReadiness(HttpClient client, URI target) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(target.resolve("/actuator/health/readiness")).build();
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+        while (System.nanoTime() < deadline) {
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(100);
+        }
+        throw new IllegalStateException(target + " did not report readiness within 2 minutes");
+    }
+
+    private static Duration duration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value.endsWith("s") ? value.substring(0, value.length() - 1)
+                : value));
+    }
+}
@@ -0,0 +1,119 @@
+package rent_vs_buy.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+// Weighted mix of requests built from the controller test fixtures. Each fixture is expanded into variants with a
+// shifted monthly rent, so that repeated requests do not all hit the comparison cache.
+class RequestMix {
+
+    static final String DEFAULT_MIX = "compareRentAndBuy=70,compareRentAndBuyWithDifferentiatedPayment=20,"
+            + "sweepRentAndBuy=5,compareRentAndBuyInBatch=5";
+
+    private static final Map<String, String> ENDPOINTS = Map.of(
+            "compareRentAndBuy", "/compare",
+            "compareRentAndBuyWithDifferentiatedPayment", "/compare",
+            "compareRentAndBuyInBatch", "/compare/batch",
+            "sweepRentAndBuy", "/compare/sweep");
+
+    private final String[] scenarios;
+    private final HttpRequest[][] requests;
+    private final int[] cumulativeWeights;
+
+    RequestMix(Path fixtures, String mix, URI target, int distinct) {
+        Map<String, Integer> weights = parse(mix);
+        ObjectMapper objectMapper = new ObjectMapper();
+        scenarios = weights.keySet().toArray(new String[0]);
+        requests = new HttpRequest[scenarios.length][];
+        cumulativeWeights = new int[scenarios.length];
+        int total = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            String endpoint = ENDPOINTS.get(scenarios[i]);
+            if (endpoint == null) {
+                throw new IllegalArgumentException("Unknown fixture " + scenarios[i] + ", expected one of "
+                        + ENDPOINTS.keySet());
+            }
+            JsonNode fixture = read(objectMapper, fixtures.resolve(scenarios[i]));
+            requests[i] = new HttpRequest[distinct];
+            for (int variant = 0; variant < distinct; variant++) {
+                JsonNode body = fixture.deepCopy();
+                shiftMonthlyRent(body, variant);
+                requests[i][variant] = HttpRequest.newBuilder(target.resolve(endpoint))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                        .build();
+            }
+            total += weights.get(scenarios[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    String[] getScenarios() {
+        return scenarios;
+    }
+
+    int nextScenario(SplittableRandom random) {
+        int point = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int scenario = 0;
+        while (cumulativeWeights[scenario] <= point) {
+            scenario++;
+        }
+        return scenario;
+    }
+
+    HttpRequest nextRequest(int scenario, SplittableRandom random) {
+        return requests[scenario][random.nextInt(requests[scenario].length)];
+    }
+
+    private static Map<String, Integer> parse(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+            if (weight > 0) {
+                weights.put(parts[0].trim(), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Request mix should have at least one fixture with a positive weight");
+        }
+        return weights;
+    }
+
+    private static JsonNode read(ObjectMapper objectMapper, Path directory) {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> requestFiles = new ArrayList<>();
+            files.filter(file -> file.getFileName().toString().endsWith("Request.json")).forEach(requestFiles::add);
+            if (requestFiles.size() != 1) {
+                throw new IllegalArgumentException(directory + " should have exactly one *Request.json fixture");
+            }
+            return objectMapper.readTree(requestFiles.get(0).toFile());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void shiftMonthlyRent(JsonNode node, int variant) {
+        if (node.isObject()) {
+            JsonNode monthlyRent = node.get("monthlyRent");
+            if (monthlyRent != null && monthlyRent.isNumber()) {
+                ((ObjectNode) node).put("monthlyRent", monthlyRent.asDouble() + variant);
+            }
+        }
+        node.forEach(child -> shiftMonthlyRent(child, variant));
+    }
+}
@@ -2,10 +2,18 @@ package rent_vs_buy;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import rent_vs_buy.batch.CsvBatchRunner;
+
+import java.io.IOException;
+import java.util.Arrays;
 
 @SpringBootApplication
 public class Main {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && CsvBatchRunner.COMMAND.equals(args[0])) {
+            CsvBatchRunner.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         SpringApplication.run(Main.class);
     }
 }
@@ -0,0 +1,117 @@
+package rent_vs_buy.balancecalculator;
+
+import rent_vs_buy.models.ComparisonParameters;
+
+public class AmortizationSchedule {
+
+    private final BalanceCalculator balanceCalculator;
+    private final CostsCalculator costsCalculator;
+    private final LoanMonths loanMonths;
+    private final boolean differentiatedPayment;
+    private final double rentInflationRate;
+    private final double monthlyDebitInterestRate;
+    private final double replenishmentPayment;
+    private final long rentMonths;
+    private final long months;
+
+    private long month;
+    private double adjustedMonthlyRent;
+    private double investment;
+
+    private double payment;
+    private double interest;
+    private double principal;
+    private double insurance;
+    private double rent;
+
+    AmortizationSchedule(BalanceCalculator balanceCalculator, CostsCalculator costsCalculator,
+                         EvaluationContext context, double annuityPayment) {
+        ComparisonParameters comparisonParameters = context.getComparisonParameters();
+        double monthlyRent = comparisonParameters.getMonthlyRent();
+        this.balanceCalculator = balanceCalculator;
+        this.costsCalculator = costsCalculator;
+        this.loanMonths = new LoanMonths(balanceCalculator, context, annuityPayment);
+        this.differentiatedPayment = comparisonParameters.getIsDifferentiatedPayment();
+        this.rentInflationRate = comparisonParameters.getRentInflationRate();
+        this.monthlyDebitInterestRate = context.getMonthlyDebitInterestRate();
+        // the renter's investment only receives the difference when the renter is the one who pays less
+        this.replenishmentPayment = GainsCalculator.rentingReplenishes(annuityPayment, monthlyRent)
+                ? GainsCalculator.replenishmentPayment(context.fullPriceWasPayed(), annuityPayment, monthlyRent) : 0;
+        this.rentMonths = 12 * (long) Math.floor(comparisonParameters.getYearsOfLoan());
+        this.months = Math.max((long) Math.floor(context.getPeriodInMonths()), rentMonths);
+        this.adjustedMonthlyRent = monthlyRent;
+        this.investment = context.getFirstPayment() + comparisonParameters.getRenovationCost();
+    }
+
+    public boolean next() {
+        if (month >= months) {
+            return false;
+        }
+
+        payment = 0;
+        interest = 0;
+        principal = 0;
+        insurance = 0;
+        rent = 0;
+        if (loanMonths.next()) {
+            if (differentiatedPayment) {
+                interest = loanMonths.getDifferentiatedInterest();
+                payment = loanMonths.getDifferentiatedPayment();
+                principal = loanMonths.getMonthlyLoanBodyPart();
+                insurance = loanMonths.getDifferentiatedInsuranceCharge();
+            } else {
+                interest = loanMonths.getAnnuityInterest();
+                payment = loanMonths.getAnnuityPayment();
+                principal = payment - interest;
+                insurance = loanMonths.getAnnuityInsuranceCharge();
+            }
+        }
+        if (month < rentMonths) {
+            rent = adjustedMonthlyRent;
+            if (month % 12 == 11) {
+                adjustedMonthlyRent = costsCalculator.calculateNextYearMonthlyRent(adjustedMonthlyRent,
+                        rentInflationRate);
+            }
+        }
+        investment = investment * (1 + monthlyDebitInterestRate) + replenishmentPayment;
+        month++;
+        return true;
+    }
+
+    public long getMonths() {
+        return months;
+    }
+
+    public long getMonth() {
+        return month;
+    }
+
+    public double getPayment() {
+        return payment;
+    }
+
+    public double getInterest() {
+        return balanceCalculator.round(interest);
+    }
+
+    public double getPrincipal() {
+        return balanceCalculator.round(principal);
+    }
+
+    public double getLoanLeft() {
+        return balanceCalculator.round(differentiatedPayment ? loanMonths.getDifferentiatedLoanLeft()
+                : loanMonths.getAnnuityLoanLeft());
+    }
+
+    public double getInsurance() {
+        return balanceCalculator.round(insurance);
+    }
+
+    public double getRent() {
+        return balanceCalculator.round(rent);
+    }
+
+    public double getRentInvestment() {
+        return balanceCalculator.round(investment);
+    }
+}
@@ -1,7 +1,7 @@
 package rent_vs_buy.balancecalculator;
 
 import org.springframework.stereotype.Component;
-import rent_vs_buy.models.ComparisonRequest;
+import rent_vs_buy.models.ComparisonParameters;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -9,7 +9,44 @@ import java.math.RoundingMode;
 @Component
 public class BalanceCalculator {
 
+    public static final String UNDEFINED_COMPARISON_MESSAGE = "Comparison is undefined for these parameters";
+
+    private static final double MAX_FAST_ROUNDING_VALUE = 1e13;
+
+    // NaN and infinities only come from parameters the formulas divide by zero with, like a zero interest rate or
+    // term on a loan, and fail the comparison with an ArithmeticException
     public double round(double value) {
+        if (!Double.isFinite(value)) {
+            throw new ArithmeticException(UNDEFINED_COMPARISON_MESSAGE);
+        }
+        return roundToCents(value);
+    }
+
+    // Half-up to cents of the shortest decimal representation, as BigDecimal rounds it; NaN and infinities are
+    // returned as they are. BatchKernel rounds with it too, so its results round exactly like the engine's.
+    static double roundToCents(double value) {
+        double absoluteValue = Math.abs(value);
+        if (!(absoluteValue < MAX_FAST_ROUNDING_VALUE)) {
+            return Double.isFinite(value) ? roundDecimal(value) : value;
+        }
+        // Only a value whose hundredths lie within a few ulps of a half can round differently
+        // from its shortest decimal representation, so those keep going through BigDecimal.
+        double scaled = absoluteValue * 100;
+        double hundredths = Math.floor(scaled);
+        double fraction = scaled - hundredths;
+        if (Math.abs(fraction - 0.5) <= 4 * Math.ulp(scaled)) {
+            return roundDecimal(value);
+        }
+        if (fraction > 0.5) {
+            hundredths++;
+        }
+        if (hundredths == 0) {
+            return 0;
+        }
+        return value < 0 ? -hundredths / 100 : hundredths / 100;
+    }
+
+    private static double roundDecimal(double value) {
         BigDecimal result = new BigDecimal(Double.toString(value));
         return result.setScale(2, RoundingMode.HALF_UP).doubleValue();
     }
@@ -18,32 +55,36 @@ public class BalanceCalculator {
         return interestRate / 100 / 12;
     }
 
-    protected Double calculateFirstPayment(ComparisonRequest comparisonRequest) {
-        return comparisonRequest.getFullPrice() - comparisonRequest.getLoanBody();
+    protected double calculateFirstPayment(ComparisonParameters comparisonParameters) {
+        return comparisonParameters.getFullPrice() - comparisonParameters.getLoanBody();
+    }
+
+    protected boolean fullPriceWasPayed(ComparisonParameters comparisonParameters) {
+        return comparisonParameters.getFullPrice() - calculateFirstPayment(comparisonParameters) <= 0;
     }
 
-    protected boolean fullPriceWasPayed(ComparisonRequest comparisonRequest) {
-        return comparisonRequest.getFullPrice() - calculateFirstPayment(comparisonRequest) <= 0;
+    protected double calculatePeriodInMonths(ComparisonParameters comparisonParameters) {
+        return comparisonParameters.getYearsOfLoan() * 12;
     }
 
-    protected Double calculatePeriodInMonths(ComparisonRequest comparisonRequest) {
-        return comparisonRequest.getYearsOfLoan() * 12;
+    public double calculateAnnuityPayment(ComparisonParameters comparisonParameters) {
+        return calculateAnnuityPayment(new EvaluationContext(comparisonParameters));
     }
 
-    public double calculateAnnuityPayment(ComparisonRequest comparisonRequest) {
-        if (fullPriceWasPayed(comparisonRequest)) {
-            return comparisonRequest.getMonthlyRent();
+    public double calculateAnnuityPayment(EvaluationContext context) {
+        if (context.fullPriceWasPayed()) {
+            return context.getComparisonParameters().getMonthlyRent();
         }
-        double monthlyInterestRate = getMonthlyInterestRate(comparisonRequest.getCreditInterestRate());
-        double notRoundedResult = comparisonRequest.getLoanBody() * (monthlyInterestRate *
-                Math.pow(1 + monthlyInterestRate, calculatePeriodInMonths(comparisonRequest)))
-                / (Math.pow(1 + monthlyInterestRate, calculatePeriodInMonths(comparisonRequest)) - 1);
+        double monthlyInterestRate = context.getMonthlyCreditInterestRate();
+        double creditGrowth = context.getCreditGrowth();
+        double notRoundedResult = context.getComparisonParameters().getLoanBody() * (monthlyInterestRate *
+                creditGrowth) / (creditGrowth - 1);
         return round(notRoundedResult);
     }
 
-    public double calculateMonthlyDifferentiatedPayment(ComparisonRequest comparisonRequest, double loanLeft) {
-        double monthlyInterestRate = getMonthlyInterestRate(comparisonRequest.getCreditInterestRate());
-        return round(comparisonRequest.getLoanBody() / calculatePeriodInMonths(comparisonRequest)
+    public double calculateMonthlyDifferentiatedPayment(ComparisonParameters comparisonParameters, double loanLeft) {
+        double monthlyInterestRate = getMonthlyInterestRate(comparisonParameters.getCreditInterestRate());
+        return round(comparisonParameters.getLoanBody() / calculatePeriodInMonths(comparisonParameters)
                 + loanLeft * monthlyInterestRate);
     }
 
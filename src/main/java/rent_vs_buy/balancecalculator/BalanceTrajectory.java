@@ -0,0 +1,105 @@
+package rent_vs_buy.balancecalculator;
+
+import rent_vs_buy.balancecalculator.ComparisonEngine.LoanTotals;
+import rent_vs_buy.models.ComparisonField;
+import rent_vs_buy.models.ComparisonParameters;
+import rent_vs_buy.models.ComparisonResponse;
+
+// Balances at the end of every whole year of the term, as compare() would report them for a horizon of that many
+// years while keeping the payment of the full loan. The loan and insurance totals are carried forward month by month
+// through the same LoanMonths as the iterative loan totals, the rent year by year, and each year evaluates only the
+// closed-form growth factors of its horizon, so for a whole-year term the last year matches the iterative compare()
+// exactly.
+public class BalanceTrajectory {
+
+    private final ComparisonEngine comparisonEngine;
+    private final CostsCalculator costsCalculator;
+    private final ComparisonParameters comparisonParameters;
+    private final double annuityPayment;
+    private final boolean fullPriceWasPayed;
+    private final double rentInflationRate;
+    private final LoanMonths loanMonths;
+    private final long years;
+
+    private long year;
+    private double adjustedMonthlyRent;
+    private double payedForRent;
+
+    private ComparisonResponse comparisonResponse;
+
+    BalanceTrajectory(ComparisonEngine comparisonEngine, CostsCalculator costsCalculator, EvaluationContext context,
+                      double annuityPayment) {
+        this.comparisonEngine = comparisonEngine;
+        this.costsCalculator = costsCalculator;
+        this.comparisonParameters = context.getComparisonParameters();
+        this.annuityPayment = annuityPayment;
+        this.fullPriceWasPayed = context.fullPriceWasPayed();
+        this.rentInflationRate = comparisonParameters.getRentInflationRate();
+        this.loanMonths = new LoanMonths(comparisonEngine, context, annuityPayment);
+        this.years = (long) Math.floor(comparisonParameters.getYearsOfLoan());
+        this.adjustedMonthlyRent = comparisonParameters.getMonthlyRent();
+    }
+
+    public boolean next() {
+        if (year >= years) {
+            return false;
+        }
+
+        // a whole-year horizon never goes past the insured months of the term
+        for (int month = 0; month < 12; month++) {
+            loanMonths.next();
+        }
+        payedForRent += adjustedMonthlyRent * 12;
+        adjustedMonthlyRent = costsCalculator.calculateNextYearMonthlyRent(adjustedMonthlyRent, rentInflationRate);
+        year++;
+
+        EvaluationContext horizon = new EvaluationContext(ComparisonField.YEARS_OF_LOAN.with(comparisonParameters,
+                year));
+        LoanTotals loanTotals = new LoanTotals();
+        if (!fullPriceWasPayed) {
+            loanTotals.sumOfAnnuityPayments = comparisonEngine.round(annuityPayment * horizon.getPeriodInMonths());
+            loanTotals.sumOfDifferentiatedPayments = comparisonEngine.round(loanMonths.getDifferentiatedPayments());
+            loanTotals.annuityInsurance = comparisonEngine.round(loanMonths.getAnnuityInsurance());
+            loanTotals.differentiatedInsurance = comparisonEngine.round(loanMonths.getDifferentiatedInsurance());
+        }
+        comparisonResponse = comparisonEngine.compare(horizon, annuityPayment, loanTotals,
+                comparisonEngine.round(payedForRent), GainsCalculator.DEFAULT_APPRECIATION_RATE);
+        return true;
+    }
+
+    public long getYears() {
+        return years;
+    }
+
+    public long getYear() {
+        return year;
+    }
+
+    public double getRentCosts() {
+        return comparisonResponse.getTotalRentCosts();
+    }
+
+    public double getRentInvestment() {
+        return comparisonResponse.getTotalRentGains();
+    }
+
+    public double getLoanLeft() {
+        if (fullPriceWasPayed) {
+            return 0;
+        }
+        return comparisonEngine.round(comparisonParameters.getIsDifferentiatedPayment()
+                ? loanMonths.getDifferentiatedLoanLeft() : loanMonths.getAnnuityLoanLeft());
+    }
+
+    public double getPropertyValue() {
+        return comparisonResponse.getFinalRealEstatePrice();
+    }
+
+    public double getRentBalance() {
+        return comparisonResponse.getRentBalance();
+    }
+
+    public double getBuyBalance() {
+        return comparisonResponse.getBuyBalance();
+    }
+}
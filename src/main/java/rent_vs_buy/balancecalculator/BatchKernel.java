@@ -0,0 +1,132 @@
+package rent_vs_buy.balancecalculator;
+
+import org.springframework.stereotype.Component;
+
+import java.util.stream.IntStream;
+
+@Component
+public class BatchKernel {
+
+    private static final int BLOCK = 1024;
+    private static final ThreadLocal<Growth> GROWTH = ThreadLocal.withInitial(Growth::new);
+
+    public void compute(ComparisonColumns columns) {
+        int blocks = (columns.size() + BLOCK - 1) / BLOCK;
+        IntStream.range(0, blocks).parallel().forEach(block ->
+                compute(columns, block * BLOCK, Math.min(columns.size(), (block + 1) * BLOCK)));
+    }
+
+    // Uses the closed forms of the loan totals, so the results stay within the closed-form tolerance of the
+    // calculators. Every Math.pow goes into a first pass over the block, so the second pass only calls the cent
+    // rounding and the GainsCalculator helpers.
+    public void compute(ComparisonColumns columns, int from, int to) {
+        for (int blockFrom = from; blockFrom < to; blockFrom += BLOCK) {
+            computeBlock(columns, blockFrom, Math.min(to, blockFrom + BLOCK));
+        }
+    }
+
+    private void computeBlock(ComparisonColumns c, int from, int to) {
+        Growth growth = GROWTH.get();
+        double[] creditGrowth = growth.credit;
+        double[] yearlyCreditGrowth = growth.yearlyCredit;
+        double[] insuredCreditGrowth = growth.insuredCredit;
+        double[] debitGrowth = growth.debit;
+        double[] rentGrowth = growth.rent;
+        double[] appreciation = growth.appreciation;
+
+        for (int i = from, j = 0; i < to; i++, j++) {
+            double monthlyCreditGrowth = 1 + c.creditInterestRate[i] / 100 / 12;
+            creditGrowth[j] = Math.pow(monthlyCreditGrowth, c.yearsOfLoan[i] * 12);
+            yearlyCreditGrowth[j] = Math.pow(monthlyCreditGrowth, 12);
+            insuredCreditGrowth[j] = Math.pow(monthlyCreditGrowth, 12 * Math.floor(c.yearsOfLoan[i]));
+            debitGrowth[j] = Math.pow(1 + c.debitInterestRate[i] / 100 / 12, c.yearsOfLoan[i] * 12);
+            rentGrowth[j] = Math.pow(1 + c.rentInflationRate[i] / 100, Math.floor(c.yearsOfLoan[i]));
+            appreciation[j] = Math.pow(1 + GainsCalculator.DEFAULT_APPRECIATION_RATE / 100, c.yearsOfLoan[i]);
+        }
+
+        for (int i = from, j = 0; i < to; i++, j++) {
+            double fullPrice = c.fullPrice[i];
+            double loanBody = c.loanBody[i];
+            double yearsOfLoan = c.yearsOfLoan[i];
+            double monthlyRent = c.monthlyRent[i];
+            double renovationCost = c.renovationCost[i];
+            double periodInMonths = yearsOfLoan * 12;
+            double months = Math.floor(periodInMonths);
+            double years = Math.floor(yearsOfLoan);
+            double monthlyInterestRate = c.creditInterestRate[i] / 100 / 12;
+            double firstPayment = fullPrice - loanBody;
+            boolean fullPriceWasPayed = fullPrice - firstPayment <= 0;
+
+            double annuityPayment = fullPriceWasPayed ? monthlyRent
+                    : round(loanBody * monthlyInterestRate * creditGrowth[j] / (creditGrowth[j] - 1));
+
+            double monthlyLoanBodyPart = loanBody / periodInMonths;
+            double sumOfAnnuityPayments = fullPriceWasPayed ? 0 : round(annuityPayment * periodInMonths);
+            double sumOfDifferentiatedPayments = fullPriceWasPayed ? 0 : round(months * monthlyLoanBodyPart +
+                    monthlyInterestRate * (months * loanBody - monthlyLoanBodyPart * months * (months - 1) / 2));
+
+            double paymentsValue = annuityPayment / monthlyInterestRate;
+            double annuityInsuredLoan = monthlyInterestRate == 0
+                    ? years * loanBody - 12 * annuityPayment * years * (years - 1) / 2
+                    : (loanBody - paymentsValue) * (insuredCreditGrowth[j] - 1) / (yearlyCreditGrowth[j] - 1)
+                    + years * paymentsValue;
+            double differentiatedInsuredLoan = years * loanBody
+                    - 12 * monthlyLoanBodyPart * years * (years - 1) / 2;
+            double annuityInsurance = fullPriceWasPayed ? 0 : round(annuityInsuredLoan * c.insuranceRate[i] / 100);
+            double differentiatedInsurance = fullPriceWasPayed ? 0
+                    : round(differentiatedInsuredLoan * c.insuranceRate[i] / 100);
+
+            double rentInflation = c.rentInflationRate[i] / 100;
+            double payedForRent = round(monthlyRent * 12 *
+                    (rentInflation == 0 ? years : (rentGrowth[j] - 1) / rentInflation));
+
+            double debitInterestRate = c.debitInterestRate[i];
+            double finalRealEstatePrice = round(fullPrice * appreciation[j]);
+            double taxForWholePeriod = fullPrice * c.taxRate[i] / 100 * yearsOfLoan;
+            double compoundingEffectWithoutPayments = round((firstPayment + renovationCost) * debitGrowth[j]);
+            double replenishmentPayment = GainsCalculator.replenishmentPayment(fullPriceWasPayed, annuityPayment,
+                    monthlyRent);
+            double compoundingEffectWithoutFirstPayment = round(replenishmentPayment * (debitGrowth[j] - 1) *
+                    12 / (debitInterestRate / 100));
+
+            double totalRentGains = GainsCalculator.rentingReplenishes(annuityPayment, monthlyRent)
+                    ? round(compoundingEffectWithoutFirstPayment + compoundingEffectWithoutPayments)
+                    : compoundingEffectWithoutPayments;
+            double taxDeduction = GainsCalculator.taxDeduction(fullPrice);
+            double totalBuyGains = GainsCalculator.buyingReplenishes(fullPriceWasPayed, annuityPayment, monthlyRent)
+                    ? round(taxDeduction + compoundingEffectWithoutFirstPayment + finalRealEstatePrice)
+                    : round(taxDeduction + finalRealEstatePrice);
+            double totalAnnuityCosts = round(sumOfAnnuityPayments + taxForWholePeriod + annuityInsurance +
+                    renovationCost + firstPayment - finalRealEstatePrice);
+            double totalDifferentiatedCosts = round(sumOfDifferentiatedPayments + taxForWholePeriod +
+                    differentiatedInsurance + renovationCost + firstPayment - finalRealEstatePrice);
+
+            c.annuityPayment[i] = annuityPayment;
+            c.sumOfAnnuityPayments[i] = sumOfAnnuityPayments;
+            c.sumOfDifferentiatedPayments[i] = sumOfDifferentiatedPayments;
+            c.totalAnnuityCosts[i] = totalAnnuityCosts;
+            c.totalDifferentiatedCosts[i] = totalDifferentiatedCosts;
+            c.payedForRent[i] = payedForRent;
+            c.totalRentGains[i] = totalRentGains;
+            c.totalBuyGains[i] = totalBuyGains;
+            c.finalRealEstatePrice[i] = finalRealEstatePrice;
+            c.rentBalance[i] = totalRentGains - payedForRent;
+            c.buyBalance[i] = totalBuyGains - (c.isDifferentiatedPayment[i]
+                    ? totalDifferentiatedCosts : totalAnnuityCosts);
+        }
+    }
+
+    private static double round(double value) {
+        return BalanceCalculator.roundToCents(value);
+    }
+
+    // The growth factors of one block, reused by every block a thread computes
+    private static final class Growth {
+        private final double[] credit = new double[BLOCK];
+        private final double[] yearlyCredit = new double[BLOCK];
+        private final double[] insuredCredit = new double[BLOCK];
+        private final double[] debit = new double[BLOCK];
+        private final double[] rent = new double[BLOCK];
+        private final double[] appreciation = new double[BLOCK];
+    }
+}
@@ -0,0 +1,129 @@
+package rent_vs_buy.balancecalculator;
+
+import rent_vs_buy.models.ComparisonParameters;
+
+import java.util.List;
+
+public class ComparisonColumns {
+    private final int size;
+
+    final double[] fullPrice;
+    final double[] loanBody;
+    final double[] yearsOfLoan;
+    final double[] creditInterestRate;
+    final double[] monthlyRent;
+    final double[] rentInflationRate;
+    final double[] renovationCost;
+    final double[] debitInterestRate;
+    final double[] taxRate;
+    final double[] insuranceRate;
+    final boolean[] isDifferentiatedPayment;
+
+    final double[] annuityPayment;
+    final double[] sumOfAnnuityPayments;
+    final double[] sumOfDifferentiatedPayments;
+    final double[] totalAnnuityCosts;
+    final double[] totalDifferentiatedCosts;
+    final double[] payedForRent;
+    final double[] totalRentGains;
+    final double[] totalBuyGains;
+    final double[] finalRealEstatePrice;
+    final double[] rentBalance;
+    final double[] buyBalance;
+
+    public ComparisonColumns(int size) {
+        this.size = size;
+        this.fullPrice = new double[size];
+        this.loanBody = new double[size];
+        this.yearsOfLoan = new double[size];
+        this.creditInterestRate = new double[size];
+        this.monthlyRent = new double[size];
+        this.rentInflationRate = new double[size];
+        this.renovationCost = new double[size];
+        this.debitInterestRate = new double[size];
+        this.taxRate = new double[size];
+        this.insuranceRate = new double[size];
+        this.isDifferentiatedPayment = new boolean[size];
+        this.annuityPayment = new double[size];
+        this.sumOfAnnuityPayments = new double[size];
+        this.sumOfDifferentiatedPayments = new double[size];
+        this.totalAnnuityCosts = new double[size];
+        this.totalDifferentiatedCosts = new double[size];
+        this.payedForRent = new double[size];
+        this.totalRentGains = new double[size];
+        this.totalBuyGains = new double[size];
+        this.finalRealEstatePrice = new double[size];
+        this.rentBalance = new double[size];
+        this.buyBalance = new double[size];
+    }
+
+    public static ComparisonColumns of(List<ComparisonParameters> comparisonParameters) {
+        ComparisonColumns columns = new ComparisonColumns(comparisonParameters.size());
+        for (int i = 0; i < columns.size; i++) {
+            columns.set(i, comparisonParameters.get(i));
+        }
+        return columns;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void set(int i, ComparisonParameters comparisonParameters) {
+        fullPrice[i] = comparisonParameters.getFullPrice();
+        loanBody[i] = comparisonParameters.getLoanBody();
+        yearsOfLoan[i] = comparisonParameters.getYearsOfLoan();
+        creditInterestRate[i] = comparisonParameters.getCreditInterestRate();
+        monthlyRent[i] = comparisonParameters.getMonthlyRent();
+        rentInflationRate[i] = comparisonParameters.getRentInflationRate();
+        renovationCost[i] = comparisonParameters.getRenovationCost();
+        debitInterestRate[i] = comparisonParameters.getDebitInterestRate();
+        taxRate[i] = comparisonParameters.getTaxRate();
+        insuranceRate[i] = comparisonParameters.getInsuranceRate();
+        isDifferentiatedPayment[i] = comparisonParameters.getIsDifferentiatedPayment();
+    }
+
+    public double getAnnuityPayment(int i) {
+        return annuityPayment[i];
+    }
+
+    public double getSumOfAnnuityPayments(int i) {
+        return sumOfAnnuityPayments[i];
+    }
+
+    public double getSumOfDifferentiatedPayments(int i) {
+        return sumOfDifferentiatedPayments[i];
+    }
+
+    public double getTotalAnnuityCosts(int i) {
+        return totalAnnuityCosts[i];
+    }
+
+    public double getTotalDifferentiatedCosts(int i) {
+        return totalDifferentiatedCosts[i];
+    }
+
+    public double getPayedForRent(int i) {
+        return payedForRent[i];
+    }
+
+    public double getTotalRentGains(int i) {
+        return totalRentGains[i];
+    }
+
+    public double getTotalBuyGains(int i) {
+        return totalBuyGains[i];
+    }
+
+    public double getFinalRealEstatePrice(int i) {
+        return finalRealEstatePrice[i];
+    }
+
+    public double getRentBalance(int i) {
+        return rentBalance[i];
+    }
+
+    public double getBuyBalance(int i) {
+        return buyBalance[i];
+    }
+}
@@ -0,0 +1,204 @@
+package rent_vs_buy.balancecalculator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import rent_vs_buy.models.ComparisonParameters;
+import rent_vs_buy.models.ComparisonResponse;
+
+@Component
+public class ComparisonEngine extends BalanceCalculator {
+
+    private final CostsCalculator costsCalculator;
+    private final GainsCalculator gainsCalculator;
+    private final boolean closedForm;
+
+    public ComparisonEngine(CostsCalculator costsCalculator, GainsCalculator gainsCalculator,
+                            @Value("${compare.closed-form:false}") boolean closedForm) {
+        this.costsCalculator = costsCalculator;
+        this.gainsCalculator = gainsCalculator;
+        this.closedForm = closedForm;
+    }
+
+    public boolean isClosedForm() {
+        return closedForm;
+    }
+
+    public ComparisonResponse compare(ComparisonParameters comparisonParameters) {
+        return compare(comparisonParameters, closedForm);
+    }
+
+    public ComparisonResponse compare(ComparisonParameters comparisonParameters, boolean closedForm) {
+        EvaluationContext context = new EvaluationContext(comparisonParameters);
+        double annuityPayment = calculateAnnuityPayment(context);
+        return compare(context, annuityPayment, calculateLoanTotals(context, annuityPayment, closedForm),
+                costsCalculator.calculateRentForWholePeriod(comparisonParameters),
+                GainsCalculator.DEFAULT_APPRECIATION_RATE);
+    }
+
+    public ComparisonResponse compare(ComparisonParameters comparisonParameters, double annuityPayment,
+                                      LoanTotals loanTotals, double payedForRent, double appreciationRate) {
+        return compare(new EvaluationContext(comparisonParameters), annuityPayment, loanTotals, payedForRent,
+                appreciationRate);
+    }
+
+    public ComparisonResponse compare(EvaluationContext context, double annuityPayment, LoanTotals loanTotals,
+                                      double payedForRent, double appreciationRate) {
+        ComparisonParameters comparisonParameters = context.getComparisonParameters();
+        double fullPrice = comparisonParameters.getFullPrice();
+        double yearsOfLoan = comparisonParameters.getYearsOfLoan();
+        double renovationCost = comparisonParameters.getRenovationCost();
+        double firstPayment = context.getFirstPayment();
+
+        double totalRentCosts = round(payedForRent);
+        double finalRealEstatePrice = gainsCalculator.calculateFinalRealEstatePrice(context, appreciationRate);
+        double taxForWholePeriod = fullPrice * comparisonParameters.getTaxRate() / 100 * yearsOfLoan;
+        double totalRentGains = gainsCalculator.calculateTotalGainsForRenting(context, annuityPayment);
+        double totalBuyGains = gainsCalculator.calculateTotalGainsForBuying(context, annuityPayment,
+                finalRealEstatePrice);
+
+        double totalAnnuityCosts = round(loanTotals.sumOfAnnuityPayments + taxForWholePeriod +
+                loanTotals.annuityInsurance + renovationCost + firstPayment - finalRealEstatePrice);
+        double totalDifferentiatedCosts = round(loanTotals.sumOfDifferentiatedPayments + taxForWholePeriod +
+                loanTotals.differentiatedInsurance + renovationCost + firstPayment - finalRealEstatePrice);
+
+        double buyBalance = comparisonParameters.getIsDifferentiatedPayment()
+                ? calculateBalance(totalDifferentiatedCosts, totalBuyGains)
+                : calculateBalance(totalAnnuityCosts, totalBuyGains);
+
+        return new ComparisonResponse(
+                loanTotals.sumOfAnnuityPayments,
+                loanTotals.sumOfDifferentiatedPayments,
+                totalAnnuityCosts,
+                totalDifferentiatedCosts,
+                payedForRent,
+                totalRentCosts,
+                totalRentGains,
+                totalBuyGains,
+                finalRealEstatePrice,
+                calculateBalance(totalRentCosts, totalRentGains),
+                buyBalance
+        );
+    }
+
+    public ComparisonGraph graph(ComparisonParameters comparisonParameters) {
+        return graph(comparisonParameters, closedForm);
+    }
+
+    public ComparisonGraph graph(ComparisonParameters comparisonParameters, boolean closedForm) {
+        return new ComparisonGraph(this, costsCalculator, gainsCalculator, new EvaluationContext(comparisonParameters),
+                closedForm);
+    }
+
+    public AmortizationSchedule schedule(ComparisonParameters comparisonParameters) {
+        EvaluationContext context = new EvaluationContext(comparisonParameters);
+        return new AmortizationSchedule(this, costsCalculator, context, calculateAnnuityPayment(context));
+    }
+
+    public BalanceTrajectory trajectory(ComparisonParameters comparisonParameters) {
+        EvaluationContext context = new EvaluationContext(comparisonParameters);
+        return new BalanceTrajectory(this, costsCalculator, context, calculateAnnuityPayment(context));
+    }
+
+    public LoanTotals calculateLoanTotals(ComparisonParameters comparisonParameters, double annuityPayment) {
+        return calculateLoanTotals(comparisonParameters, annuityPayment, closedForm);
+    }
+
+    public LoanTotals calculateLoanTotals(EvaluationContext context, double annuityPayment) {
+        return calculateLoanTotals(context, annuityPayment, closedForm);
+    }
+
+    public LoanTotals calculateLoanTotals(ComparisonParameters comparisonParameters, double annuityPayment,
+                                         boolean closedForm) {
+        return calculateLoanTotals(new EvaluationContext(comparisonParameters), annuityPayment, closedForm);
+    }
+
+    public LoanTotals calculateLoanTotals(EvaluationContext context, double annuityPayment, boolean closedForm) {
+        ComparisonParameters comparisonParameters = context.getComparisonParameters();
+        LoanTotals loanTotals = new LoanTotals();
+        if (context.fullPriceWasPayed()) {
+            return loanTotals;
+        }
+        if (closedForm) {
+            loanTotals.sumOfAnnuityPayments = costsCalculator.calculateTotalAnnuityPayments(comparisonParameters,
+                    annuityPayment);
+            loanTotals.sumOfDifferentiatedPayments = calculateSumOfDifferentiatedPayments(context, true);
+            loanTotals.annuityInsurance = calculateAnnuityInsurance(context, annuityPayment, true);
+            loanTotals.differentiatedInsurance = calculateDifferentiatedInsurance(context, true);
+            return loanTotals;
+        }
+
+        LoanMonths loanMonths = new LoanMonths(this, context, annuityPayment);
+        while (loanMonths.next()) {
+            // steps all the schedules through one month
+        }
+
+        loanTotals.sumOfAnnuityPayments = round(annuityPayment * context.getPeriodInMonths());
+        loanTotals.sumOfDifferentiatedPayments = round(loanMonths.getDifferentiatedPayments());
+        loanTotals.annuityInsurance = round(loanMonths.getAnnuityInsurance());
+        loanTotals.differentiatedInsurance = round(loanMonths.getDifferentiatedInsurance());
+        return loanTotals;
+    }
+
+    // The loan totals one at a time, for callers that need only some of them. The iterative forms of CostsCalculator
+    // step a single schedule of LoanMonths, so they give the same values as calculateLoanTotals.
+    public double calculateSumOfDifferentiatedPayments(EvaluationContext context, boolean closedForm) {
+        ComparisonParameters comparisonParameters = context.getComparisonParameters();
+        if (context.fullPriceWasPayed()) {
+            return 0;
+        }
+        if (closedForm) {
+            return costsCalculator.calculateTotalDifferentiatedPaymentsClosedForm(comparisonParameters);
+        }
+        return costsCalculator.calculateTotalDifferentiatedPayments(context);
+    }
+
+    public double calculateAnnuityInsurance(EvaluationContext context, double annuityPayment, boolean closedForm) {
+        ComparisonParameters comparisonParameters = context.getComparisonParameters();
+        if (context.fullPriceWasPayed()) {
+            return 0;
+        }
+        double insurancePercent = comparisonParameters.getInsuranceRate();
+        if (closedForm) {
+            return costsCalculator.calculateInsurancePaymentForWholePeriodClosedForm(comparisonParameters,
+                    annuityPayment, insurancePercent, false);
+        }
+        return costsCalculator.calculateInsurancePaymentForWholePeriod(context, annuityPayment, insurancePercent,
+                false);
+    }
+
+    public double calculateDifferentiatedInsurance(EvaluationContext context, boolean closedForm) {
+        ComparisonParameters comparisonParameters = context.getComparisonParameters();
+        if (context.fullPriceWasPayed()) {
+            return 0;
+        }
+        double insurancePercent = comparisonParameters.getInsuranceRate();
+        if (closedForm) {
+            return costsCalculator.calculateInsurancePaymentForWholePeriodClosedForm(comparisonParameters, 0,
+                    insurancePercent, true);
+        }
+        return costsCalculator.calculateInsurancePaymentForWholePeriod(context, 0, insurancePercent, true);
+    }
+
+    public static class LoanTotals {
+        double sumOfAnnuityPayments;
+        double sumOfDifferentiatedPayments;
+        double annuityInsurance;
+        double differentiatedInsurance;
+
+        public double getSumOfAnnuityPayments() {
+            return sumOfAnnuityPayments;
+        }
+
+        public double getSumOfDifferentiatedPayments() {
+            return sumOfDifferentiatedPayments;
+        }
+
+        public double getAnnuityInsurance() {
+            return annuityInsurance;
+        }
+
+        public double getDifferentiatedInsurance() {
+            return differentiatedInsurance;
+        }
+    }
+}
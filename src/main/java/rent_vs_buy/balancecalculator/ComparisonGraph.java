@@ -0,0 +1,145 @@
+package rent_vs_buy.balancecalculator;
+
+import rent_vs_buy.models.ComparisonParameters;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+// The comparison as named quantities evaluated on demand: asking for a quantity evaluates only the quantities it
+// depends on, each at most once. Values are the ones ComparisonEngine.compare puts in the response.
+// Not thread-safe: meant to live for a single evaluation.
+public final class ComparisonGraph {
+
+    public enum Quantity {
+        ANNUITY_PAYMENT(null),
+        SUM_OF_ANNUITY_PAYMENTS("sumOfAnnuityPayments"),
+        SUM_OF_DIFFERENTIATED_PAYMENTS("sumOfDifferentiatedPayments"),
+        ANNUITY_INSURANCE(null),
+        DIFFERENTIATED_INSURANCE(null),
+        TAX_FOR_WHOLE_PERIOD(null),
+        TAX_DEDUCTION(null),
+        FINAL_REAL_ESTATE_PRICE("finalRealEstatePrice"),
+        COMPOUNDING_EFFECT_WITHOUT_PAYMENTS(null),
+        COMPOUNDING_EFFECT_WITHOUT_FIRST_PAYMENT(null),
+        TOTAL_ANNUITY_COSTS("totalAnnuityCosts"),
+        TOTAL_DIFFERENTIATED_COSTS("totalDifferentiatedCosts"),
+        PAYED_FOR_RENT("payedForRent"),
+        TOTAL_RENT_COSTS("totalRentCosts"),
+        TOTAL_RENT_GAINS("totalRentGains"),
+        TOTAL_BUY_GAINS("totalBuyGains"),
+        RENT_BALANCE("rentBalance"),
+        BUY_BALANCE("buyBalance");
+
+        private static final Quantity[] QUANTITIES = values();
+
+        private final String outputName;
+
+        Quantity(String outputName) {
+            this.outputName = outputName;
+        }
+
+        public static Optional<Quantity> fromOutputName(String outputName) {
+            return Arrays.stream(QUANTITIES).filter(quantity -> outputName.equals(quantity.outputName)).findFirst();
+        }
+
+        public String getOutputName() {
+            return outputName;
+        }
+    }
+
+    private final ComparisonEngine comparisonEngine;
+    private final CostsCalculator costsCalculator;
+    private final GainsCalculator gainsCalculator;
+    private final EvaluationContext context;
+    private final boolean closedForm;
+    private final double[] values = new double[Quantity.QUANTITIES.length];
+    private final boolean[] evaluated = new boolean[Quantity.QUANTITIES.length];
+
+    ComparisonGraph(ComparisonEngine comparisonEngine, CostsCalculator costsCalculator,
+                    GainsCalculator gainsCalculator, EvaluationContext context, boolean closedForm) {
+        this.comparisonEngine = comparisonEngine;
+        this.costsCalculator = costsCalculator;
+        this.gainsCalculator = gainsCalculator;
+        this.context = context;
+        this.closedForm = closedForm;
+    }
+
+    public double get(Quantity quantity) {
+        int index = quantity.ordinal();
+        if (!evaluated[index]) {
+            values[index] = evaluate(quantity);
+            evaluated[index] = true;
+        }
+        return values[index];
+    }
+
+    public boolean isEvaluated(Quantity quantity) {
+        return evaluated[quantity.ordinal()];
+    }
+
+    private double evaluate(Quantity quantity) {
+        ComparisonParameters comparisonParameters = context.getComparisonParameters();
+        double monthlyRent = comparisonParameters.getMonthlyRent();
+        double renovationCost = comparisonParameters.getRenovationCost();
+        switch (quantity) {
+            case ANNUITY_PAYMENT:
+                return comparisonEngine.calculateAnnuityPayment(context);
+            case SUM_OF_ANNUITY_PAYMENTS:
+                return context.fullPriceWasPayed() ? 0
+                        : comparisonEngine.round(get(Quantity.ANNUITY_PAYMENT) * context.getPeriodInMonths());
+            case SUM_OF_DIFFERENTIATED_PAYMENTS:
+                return comparisonEngine.calculateSumOfDifferentiatedPayments(context, closedForm);
+            case ANNUITY_INSURANCE:
+                return comparisonEngine.calculateAnnuityInsurance(context, get(Quantity.ANNUITY_PAYMENT),
+                        closedForm);
+            case DIFFERENTIATED_INSURANCE:
+                return comparisonEngine.calculateDifferentiatedInsurance(context, closedForm);
+            case TAX_FOR_WHOLE_PERIOD:
+                return comparisonParameters.getFullPrice() * comparisonParameters.getTaxRate() / 100
+                        * comparisonParameters.getYearsOfLoan();
+            case TAX_DEDUCTION:
+                return gainsCalculator.calculateTaxDeduction(comparisonParameters.getFullPrice());
+            case FINAL_REAL_ESTATE_PRICE:
+                return gainsCalculator.calculateFinalRealEstatePrice(context,
+                        GainsCalculator.DEFAULT_APPRECIATION_RATE);
+            case COMPOUNDING_EFFECT_WITHOUT_PAYMENTS:
+                return gainsCalculator.calculateCompoundingEffectWithoutPayments(context);
+            case COMPOUNDING_EFFECT_WITHOUT_FIRST_PAYMENT:
+                return gainsCalculator.calculateCompoundingEffectWithoutFirstPayment(context,
+                        get(Quantity.ANNUITY_PAYMENT));
+            case TOTAL_ANNUITY_COSTS:
+                return comparisonEngine.round(get(Quantity.SUM_OF_ANNUITY_PAYMENTS)
+                        + get(Quantity.TAX_FOR_WHOLE_PERIOD) + get(Quantity.ANNUITY_INSURANCE) + renovationCost
+                        + context.getFirstPayment() - get(Quantity.FINAL_REAL_ESTATE_PRICE));
+            case TOTAL_DIFFERENTIATED_COSTS:
+                return comparisonEngine.round(get(Quantity.SUM_OF_DIFFERENTIATED_PAYMENTS)
+                        + get(Quantity.TAX_FOR_WHOLE_PERIOD) + get(Quantity.DIFFERENTIATED_INSURANCE) + renovationCost
+                        + context.getFirstPayment() - get(Quantity.FINAL_REAL_ESTATE_PRICE));
+            case PAYED_FOR_RENT:
+                return costsCalculator.calculateRentForWholePeriod(comparisonParameters);
+            case TOTAL_RENT_COSTS:
+                return comparisonEngine.round(get(Quantity.PAYED_FOR_RENT));
+            case TOTAL_RENT_GAINS:
+                return GainsCalculator.rentingReplenishes(get(Quantity.ANNUITY_PAYMENT), monthlyRent)
+                        ? comparisonEngine.round(get(Quantity.COMPOUNDING_EFFECT_WITHOUT_FIRST_PAYMENT)
+                        + get(Quantity.COMPOUNDING_EFFECT_WITHOUT_PAYMENTS))
+                        : comparisonEngine.round(get(Quantity.COMPOUNDING_EFFECT_WITHOUT_PAYMENTS));
+            case TOTAL_BUY_GAINS:
+                return GainsCalculator.buyingReplenishes(context.fullPriceWasPayed(), get(Quantity.ANNUITY_PAYMENT),
+                        monthlyRent)
+                        ? comparisonEngine.round(get(Quantity.TAX_DEDUCTION)
+                        + get(Quantity.COMPOUNDING_EFFECT_WITHOUT_FIRST_PAYMENT)
+                        + get(Quantity.FINAL_REAL_ESTATE_PRICE))
+                        : comparisonEngine.round(get(Quantity.TAX_DEDUCTION) + get(Quantity.FINAL_REAL_ESTATE_PRICE));
+            case RENT_BALANCE:
+                return comparisonEngine.calculateBalance(get(Quantity.TOTAL_RENT_COSTS),
+                        get(Quantity.TOTAL_RENT_GAINS));
+            case BUY_BALANCE:
+                return comparisonEngine.calculateBalance(comparisonParameters.getIsDifferentiatedPayment()
+                        ? get(Quantity.TOTAL_DIFFERENTIATED_COSTS) : get(Quantity.TOTAL_ANNUITY_COSTS),
+                        get(Quantity.TOTAL_BUY_GAINS));
+            default:
+                throw new IllegalArgumentException("Unknown quantity " + quantity);
+        }
+    }
+}
@@ -1,126 +1,179 @@
 package rent_vs_buy.balancecalculator;
 
 import org.springframework.stereotype.Component;
-import rent_vs_buy.models.ComparisonRequest;
+import rent_vs_buy.models.ComparisonParameters;
 
 @Component
 public class CostsCalculator extends BalanceCalculator {
 
-    public double calculateTotalDifferentiatedPayments(ComparisonRequest comparisonRequest) {
-        if (fullPriceWasPayed(comparisonRequest)) {
+    public double calculateTotalDifferentiatedPayments(ComparisonParameters comparisonParameters) {
+        return calculateTotalDifferentiatedPayments(new EvaluationContext(comparisonParameters));
+    }
+
+    public double calculateTotalDifferentiatedPayments(EvaluationContext context) {
+        if (context.fullPriceWasPayed()) {
             return 0;
         }
-        double loanLeft = comparisonRequest.getLoanBody();
-        double notRoundedResult = 0;
+        LoanMonths loanMonths = new LoanMonths(this, context, 0);
+        while (loanMonths.nextDifferentiated()) {
+            // steps the differentiated schedule through one month
+        }
+        return round(loanMonths.getDifferentiatedPayments());
+    }
 
-        for (double i = calculatePeriodInMonths(comparisonRequest); i >= 1; i--) {
-            double payment = calculateMonthlyDifferentiatedPayment(comparisonRequest, loanLeft);
-            loanLeft = loanLeft - comparisonRequest.getLoanBody() / calculatePeriodInMonths(comparisonRequest);
-            notRoundedResult += payment;
+    // Skips the per-month rounding of the iterative sum: differs from it by at most 0.005 per month of the term
+    public double calculateTotalDifferentiatedPaymentsClosedForm(ComparisonParameters comparisonParameters) {
+        if (fullPriceWasPayed(comparisonParameters)) {
+            return 0;
         }
+        double periodInMonths = calculatePeriodInMonths(comparisonParameters);
+        double months = Math.floor(periodInMonths);
+        double monthlyLoanBodyPart = comparisonParameters.getLoanBody() / periodInMonths;
+        double monthlyInterestRate = getMonthlyInterestRate(comparisonParameters.getCreditInterestRate());
 
-        return round(notRoundedResult);
+        return round(months * monthlyLoanBodyPart + monthlyInterestRate *
+                (months * comparisonParameters.getLoanBody() - monthlyLoanBodyPart * months * (months - 1) / 2));
     }
 
-    public double calculateTotalAnnuityPayments(ComparisonRequest comparisonRequest, double monthlyPayment) {
-        if (fullPriceWasPayed(comparisonRequest)) {
+    public double calculateTotalAnnuityPayments(ComparisonParameters comparisonParameters, double monthlyPayment) {
+        if (fullPriceWasPayed(comparisonParameters)) {
             return 0;
         }
-        return round(monthlyPayment * calculatePeriodInMonths(comparisonRequest));
+        return round(monthlyPayment * calculatePeriodInMonths(comparisonParameters));
     }
 
-    public double calculateRentForWholePeriod(ComparisonRequest comparisonRequest) {
-        double adjustedMonthlyRent = comparisonRequest.getMonthlyRent();
+    public double calculateRentForWholePeriod(ComparisonParameters comparisonParameters) {
+        double adjustedMonthlyRent = comparisonParameters.getMonthlyRent();
         double result = 0;
-        for (int i = 1; i <= comparisonRequest.getYearsOfLoan(); i++) {
+        for (int i = 1; i <= comparisonParameters.getYearsOfLoan(); i++) {
             result += adjustedMonthlyRent * 12;
-            adjustedMonthlyRent += adjustedMonthlyRent * comparisonRequest.getRentInflationRate() / 100;
+            adjustedMonthlyRent = calculateNextYearMonthlyRent(adjustedMonthlyRent,
+                    comparisonParameters.getRentInflationRate());
         }
 
         return round(result);
     }
 
-    public double calculateAbsoluteMonthlyPercent(ComparisonRequest comparisonRequest, double loanLeft,
+    public double calculateNextYearMonthlyRent(double monthlyRent, double rentInflationRate) {
+        return monthlyRent + monthlyRent * rentInflationRate / 100;
+    }
+
+    public double calculateAbsoluteMonthlyPercent(ComparisonParameters comparisonParameters, double loanLeft,
                                                   double monthlyInterestRate) {
-        if (fullPriceWasPayed(comparisonRequest)) {
+        if (fullPriceWasPayed(comparisonParameters)) {
             return 0;
         }
         return loanLeft * monthlyInterestRate;
     }
 
-    public double calculateLoanBodyPayedPerMonth(ComparisonRequest comparisonRequest, double monthlyPayment,
+    public double calculateLoanBodyPayedPerMonth(ComparisonParameters comparisonParameters, double monthlyPayment,
                                                  double absoluteMonthlyPercent) {
-        if (fullPriceWasPayed(comparisonRequest)) {
+        if (fullPriceWasPayed(comparisonParameters)) {
             return 0;
         }
         return monthlyPayment - absoluteMonthlyPercent;
     }
 
-    public double calculateInsurancePaymentForWholePeriod(ComparisonRequest comparisonRequest,
+    public double calculateInsurancePaymentForWholePeriod(ComparisonParameters comparisonParameters,
                                                           double insurancePercent) {
-        return calculateInsurancePaymentForWholePeriod(comparisonRequest,0, insurancePercent, true);
+        return calculateInsurancePaymentForWholePeriod(comparisonParameters,0, insurancePercent, true);
     }
 
-    public double calculateInsurancePaymentForWholePeriod(ComparisonRequest comparisonRequest, double monthlyPayment,
+    public double calculateInsurancePaymentForWholePeriod(ComparisonParameters comparisonParameters,
+                                                          double monthlyPayment,
                                                           double insurancePercent) {
-        return calculateInsurancePaymentForWholePeriod(comparisonRequest, monthlyPayment, insurancePercent, false);
+        return calculateInsurancePaymentForWholePeriod(comparisonParameters, monthlyPayment, insurancePercent, false);
+    }
+
+    public double calculateInsurancePaymentForWholePeriod(ComparisonParameters comparisonParameters,
+                                                          double monthlyPayment,
+                                                          double insurancePercent,
+                                                          boolean differentiatedPayment) {
+        return calculateInsurancePaymentForWholePeriod(new EvaluationContext(comparisonParameters), monthlyPayment,
+                insurancePercent, differentiatedPayment);
     }
 
-    public double calculateInsurancePaymentForWholePeriod(ComparisonRequest comparisonRequest,
+    public double calculateInsurancePaymentForWholePeriod(EvaluationContext context,
                                                           double monthlyPayment,
                                                           double insurancePercent,
                                                           boolean differentiatedPayment) {
-        if (fullPriceWasPayed(comparisonRequest)) {
+        if (context.fullPriceWasPayed()) {
             return 0;
         }
-
-        double notRoundedResult = 0;
-        double monthlyInterestRate = getMonthlyInterestRate(comparisonRequest.getCreditInterestRate());
-        double loanLeft = comparisonRequest.getLoanBody();
-        for (double i = comparisonRequest.getYearsOfLoan(); i >= 1; i--) {
-            notRoundedResult += loanLeft * insurancePercent / 100;
-            for (int j = 0; j < 12; j++) {
-
-                if (differentiatedPayment) {
-                    monthlyPayment = calculateMonthlyDifferentiatedPayment(comparisonRequest, loanLeft);
-                }
-
-                double absoluteMonthlyPercent = calculateAbsoluteMonthlyPercent(comparisonRequest, loanLeft,
-                        monthlyInterestRate);
-                double loanPayedBodyByMonth = calculateLoanBodyPayedPerMonth(comparisonRequest, monthlyPayment,
-                        absoluteMonthlyPercent);
-                loanLeft = loanLeft - loanPayedBodyByMonth;
+        LoanMonths loanMonths = new LoanMonths(this, context, monthlyPayment, insurancePercent);
+        if (differentiatedPayment) {
+            while (loanMonths.nextInsuredDifferentiated()) {
+                // steps the insured differentiated balance through one month
             }
+            return round(loanMonths.getDifferentiatedInsurance());
+        }
+        while (loanMonths.nextInsuredAnnuity()) {
+            // steps the annuity schedule through one month
+        }
+        return round(loanMonths.getAnnuityInsurance());
+    }
+
+    // Sums the yearly insurance base as a geometric (annuity) or arithmetic (differentiated) series. Annuity totals
+    // match the iterative loop up to floating point error; differentiated totals skip the per-month payment
+    // rounding and differ by at most 0.0003 * insuranceRate * years^2
+    public double calculateInsurancePaymentForWholePeriodClosedForm(ComparisonParameters comparisonParameters,
+                                                                    double monthlyPayment,
+                                                                    double insurancePercent,
+                                                                    boolean differentiatedPayment) {
+        if (fullPriceWasPayed(comparisonParameters)) {
+            return 0;
         }
 
-        return round(notRoundedResult);
+        double years = Math.floor(comparisonParameters.getYearsOfLoan());
+        double loanBody = comparisonParameters.getLoanBody();
+        double monthlyInterestRate = getMonthlyInterestRate(comparisonParameters.getCreditInterestRate());
+        double insuredLoan;
+        if (differentiatedPayment) {
+            double yearlyLoanBodyPart = 12 * loanBody / calculatePeriodInMonths(comparisonParameters);
+            insuredLoan = years * loanBody - yearlyLoanBodyPart * years * (years - 1) / 2;
+        } else if (monthlyInterestRate == 0) {
+            insuredLoan = years * loanBody - 12 * monthlyPayment * years * (years - 1) / 2;
+        } else {
+            double paymentsValue = monthlyPayment / monthlyInterestRate;
+            double yearlyGrowth = Math.pow(1 + monthlyInterestRate, 12);
+            insuredLoan = (loanBody - paymentsValue) * (Math.pow(yearlyGrowth, years) - 1) / (yearlyGrowth - 1)
+                    + years * paymentsValue;
+        }
+
+        return round(insuredLoan * insurancePercent / 100);
     }
 
-    public double calculateTaxForWholePeriod(ComparisonRequest comparisonRequest, double taxRate) {
-        return comparisonRequest.getFullPrice() * taxRate / 100 * comparisonRequest.getYearsOfLoan();
+    public double calculateTaxForWholePeriod(ComparisonParameters comparisonParameters, double taxRate) {
+        return comparisonParameters.getFullPrice() * taxRate / 100 * comparisonParameters.getYearsOfLoan();
     }
 
-    public double calculateTotalLossesWithAnnuityPayment(ComparisonRequest comparisonRequest,
+    public double calculateTotalLossesWithAnnuityPayment(ComparisonParameters comparisonParameters,
                                                          double finalRealEstatePrice) {
-        double monthlyPayment = calculateAnnuityPayment(comparisonRequest);
-        double annuityPayments = calculateTotalAnnuityPayments(comparisonRequest, monthlyPayment);
-        double taxForWholePeriod = calculateTaxForWholePeriod(comparisonRequest, comparisonRequest.getTaxRate());
-        double insurancePaymentForWholePeriod = calculateInsurancePaymentForWholePeriod(comparisonRequest,
-                monthlyPayment, comparisonRequest.getInsuranceRate());
+        return calculateTotalLossesWithAnnuityPayment(new EvaluationContext(comparisonParameters),
+                finalRealEstatePrice);
+    }
+
+    public double calculateTotalLossesWithAnnuityPayment(EvaluationContext context, double finalRealEstatePrice) {
+        ComparisonParameters comparisonParameters = context.getComparisonParameters();
+        double monthlyPayment = calculateAnnuityPayment(context);
+        double annuityPayments = calculateTotalAnnuityPayments(comparisonParameters, monthlyPayment);
+        double taxForWholePeriod = calculateTaxForWholePeriod(comparisonParameters, comparisonParameters.getTaxRate());
+        double insurancePaymentForWholePeriod = calculateInsurancePaymentForWholePeriod(comparisonParameters,
+                monthlyPayment, comparisonParameters.getInsuranceRate());
         return round(annuityPayments + taxForWholePeriod + insurancePaymentForWholePeriod +
-                comparisonRequest.getRenovationCost() + calculateFirstPayment(comparisonRequest)
-                - finalRealEstatePrice);
+                comparisonParameters.getRenovationCost() + context.getFirstPayment() - finalRealEstatePrice);
     }
 
-    public double calculateTotalLossesWithDifferentiatedPayment(ComparisonRequest comparisonRequest,
+    public double calculateTotalLossesWithDifferentiatedPayment(ComparisonParameters comparisonParameters,
                                                                 double finalRealEstatePrice) {
-        return round(calculateTotalDifferentiatedPayments(comparisonRequest) +
-                calculateTaxForWholePeriod(comparisonRequest, comparisonRequest.getTaxRate()) +
-                calculateInsurancePaymentForWholePeriod(comparisonRequest, comparisonRequest.getInsuranceRate()) +
-                comparisonRequest.getRenovationCost() + calculateFirstPayment(comparisonRequest) - finalRealEstatePrice);
+        return round(calculateTotalDifferentiatedPayments(comparisonParameters) +
+                calculateTaxForWholePeriod(comparisonParameters, comparisonParameters.getTaxRate()) +
+                calculateInsurancePaymentForWholePeriod(comparisonParameters, comparisonParameters.getInsuranceRate()) +
+                comparisonParameters.getRenovationCost() + calculateFirstPayment(comparisonParameters)
+                - finalRealEstatePrice);
     }
 
-    public double calculateTotalCostsForRenting(ComparisonRequest comparisonRequest) {
-        return round(calculateRentForWholePeriod(comparisonRequest));
+    public double calculateTotalCostsForRenting(ComparisonParameters comparisonParameters) {
+        return round(calculateRentForWholePeriod(comparisonParameters));
     }
 }
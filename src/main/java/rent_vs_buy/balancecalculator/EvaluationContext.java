@@ -0,0 +1,95 @@
+package rent_vs_buy.balancecalculator;
+
+import rent_vs_buy.models.ComparisonParameters;
+
+// Factors derived from one set of parameters, shared by the calculators evaluating them. The Math.pow growth
+// factors are computed on first use and then reused, so every stage of a comparison sees the same values.
+// Not thread-safe: meant to live for a single evaluation.
+public final class EvaluationContext {
+
+    private final ComparisonParameters comparisonParameters;
+    private final double periodInMonths;
+    private final double firstPayment;
+    private final boolean fullPriceWasPayed;
+    private final double monthlyCreditInterestRate;
+    private final double monthlyDebitInterestRate;
+    private double creditGrowth = Double.NaN;
+    private double debitGrowth = Double.NaN;
+    private double appreciationRate = Double.NaN;
+    private double appreciationGrowth = Double.NaN;
+
+    public EvaluationContext(ComparisonParameters comparisonParameters) {
+        this.comparisonParameters = comparisonParameters;
+        this.periodInMonths = comparisonParameters.getYearsOfLoan() * 12;
+        this.firstPayment = comparisonParameters.getFullPrice() - comparisonParameters.getLoanBody();
+        this.fullPriceWasPayed = comparisonParameters.getFullPrice() - firstPayment <= 0;
+        this.monthlyCreditInterestRate = comparisonParameters.getCreditInterestRate() / 100 / 12;
+        this.monthlyDebitInterestRate = comparisonParameters.getDebitInterestRate() / 100 / 12;
+    }
+
+    public ComparisonParameters getComparisonParameters() {
+        return comparisonParameters;
+    }
+
+    public double getPeriodInMonths() {
+        return periodInMonths;
+    }
+
+    public double getFirstPayment() {
+        return firstPayment;
+    }
+
+    public boolean fullPriceWasPayed() {
+        return fullPriceWasPayed;
+    }
+
+    public double getMonthlyCreditInterestRate() {
+        return monthlyCreditInterestRate;
+    }
+
+    public double getMonthlyDebitInterestRate() {
+        return monthlyDebitInterestRate;
+    }
+
+    // (1 + monthly credit rate) ^ periodInMonths
+    public double getCreditGrowth() {
+        if (Double.isNaN(creditGrowth)) {
+            creditGrowth = Math.pow(1 + monthlyCreditInterestRate, periodInMonths);
+        }
+        return creditGrowth;
+    }
+
+    // (1 + monthly debit rate) ^ periodInMonths
+    public double getDebitGrowth() {
+        if (Double.isNaN(debitGrowth)) {
+            debitGrowth = Math.pow(1 + monthlyDebitInterestRate, periodInMonths);
+        }
+        return debitGrowth;
+    }
+
+    // (1 + appreciation rate) ^ yearsOfLoan, remembered for the last rate asked for
+    public double getAppreciationGrowth(double appreciationRate) {
+        if (Double.compare(this.appreciationRate, appreciationRate) != 0 || Double.isNaN(appreciationGrowth)) {
+            this.appreciationRate = appreciationRate;
+            this.appreciationGrowth = Math.pow(1 + appreciationRate / 100, comparisonParameters.getYearsOfLoan());
+        }
+        return appreciationGrowth;
+    }
+
+    // Context for parameters that differ from these in a few fields: growth factors whose inputs are unchanged
+    // are carried over instead of being recomputed
+    public EvaluationContext update(ComparisonParameters comparisonParameters) {
+        EvaluationContext context = new EvaluationContext(comparisonParameters);
+        if (comparisonParameters.getYearsOfLoan() == this.comparisonParameters.getYearsOfLoan()) {
+            if (context.monthlyCreditInterestRate == monthlyCreditInterestRate) {
+                context.creditGrowth = creditGrowth;
+            }
+            if (context.monthlyDebitInterestRate == monthlyDebitInterestRate) {
+                context.debitGrowth = debitGrowth;
+            }
+            context.appreciationRate = appreciationRate;
+            context.appreciationGrowth = appreciationGrowth;
+        }
+        return context;
+    }
+}
@@ -1,76 +1,130 @@
 package rent_vs_buy.balancecalculator;
 
 import org.springframework.stereotype.Component;
-import rent_vs_buy.models.ComparisonRequest;
+import rent_vs_buy.models.ComparisonParameters;
 
 @Component
 public class GainsCalculator extends BalanceCalculator {
+    public static final double DEFAULT_APPRECIATION_RATE = 1.00;
+
     public double calculateTaxDeduction(double fullPrice) {
+        return taxDeduction(fullPrice);
+    }
+
+    public static double taxDeduction(double fullPrice) {
         long maxDeductibleSum = 2000000;
         if (fullPrice > maxDeductibleSum) { return (double) (maxDeductibleSum * 13) / 100; }
 
         return fullPrice * 13 / 100;
     }
 
-    public double calculateCompoundingEffectWithAnnuityPayments(ComparisonRequest comparisonRequest,
+    // The monthly difference between the loan payment and the rent, invested by whichever side pays less: the
+    // renter when the payment exceeds the rent, the buyer when the rent does or when there is no loan at all.
+    // Every model of the comparison takes these three from here.
+    public static double replenishmentPayment(boolean fullPriceWasPayed, double annuityPayment, double monthlyRent) {
+        double replenishmentPayment = monthlyRent - annuityPayment;
+        if (fullPriceWasPayed) { replenishmentPayment = monthlyRent; }
+
+        if (annuityPayment > monthlyRent) {
+            replenishmentPayment = annuityPayment - monthlyRent;
+        }
+        return replenishmentPayment;
+    }
+
+    public static boolean rentingReplenishes(double annuityPayment, double monthlyRent) {
+        return annuityPayment > monthlyRent;
+    }
+
+    public static boolean buyingReplenishes(boolean fullPriceWasPayed, double annuityPayment, double monthlyRent) {
+        return fullPriceWasPayed || annuityPayment < monthlyRent;
+    }
+
+    public double calculateCompoundingEffectWithAnnuityPayments(ComparisonParameters comparisonParameters,
                                                                 double annuityPayment) {
+        return calculateCompoundingEffectWithAnnuityPayments(new EvaluationContext(comparisonParameters),
+                annuityPayment);
+    }
+
+    public double calculateCompoundingEffectWithAnnuityPayments(EvaluationContext context, double annuityPayment) {
+        ComparisonParameters comparisonParameters = context.getComparisonParameters();
+        double debitGrowth = context.getDebitGrowth();
+        return round(annuityPayment * (debitGrowth - 1) * 12 / (comparisonParameters.getDebitInterestRate() / 100) +
+                (context.getFirstPayment() + comparisonParameters.getRenovationCost()) * debitGrowth);
+    }
 
-        double result = round(annuityPayment *
-                (Math.pow((1 + comparisonRequest.getDebitInterestRate() / 100 / 12),
-                        calculatePeriodInMonths(comparisonRequest)) - 1) *
-                12 / (comparisonRequest.getDebitInterestRate() / 100) +
-                (calculateFirstPayment(comparisonRequest) + comparisonRequest.getRenovationCost())
-                        * Math.pow((1 + comparisonRequest.getDebitInterestRate() / 100 / 12),
-                        calculatePeriodInMonths(comparisonRequest)));
-        return result;
+    public double calculateCompoundingEffectWithoutPayments(ComparisonParameters comparisonParameters) {
+        return calculateCompoundingEffectWithoutPayments(new EvaluationContext(comparisonParameters));
     }
 
-    public double calculateCompoundingEffectWithoutPayments(ComparisonRequest comparisonRequest) {
-        return round((calculateFirstPayment(comparisonRequest) + comparisonRequest.getRenovationCost())
-                * Math.pow((1 + comparisonRequest.getDebitInterestRate() / 100 / 12),
-                calculatePeriodInMonths(comparisonRequest)));
+    public double calculateCompoundingEffectWithoutPayments(EvaluationContext context) {
+        return round((context.getFirstPayment() + context.getComparisonParameters().getRenovationCost())
+                * context.getDebitGrowth());
     }
 
-    public double calculateCompoundingEffectWithoutFirstPayment(ComparisonRequest comparisonRequest,
+    public double calculateCompoundingEffectWithoutFirstPayment(ComparisonParameters comparisonParameters,
                                                                 double annuityPayment) {
-        double replenishmentPayment = comparisonRequest.getMonthlyRent() - annuityPayment;
-        if (fullPriceWasPayed(comparisonRequest)) { replenishmentPayment = comparisonRequest.getMonthlyRent(); }
+        return calculateCompoundingEffectWithoutFirstPayment(new EvaluationContext(comparisonParameters),
+                annuityPayment);
+    }
 
-        if (annuityPayment > comparisonRequest.getMonthlyRent()) {
-            replenishmentPayment = annuityPayment - comparisonRequest.getMonthlyRent();
-        }
+    public double calculateCompoundingEffectWithoutFirstPayment(EvaluationContext context, double annuityPayment) {
+        ComparisonParameters comparisonParameters = context.getComparisonParameters();
+        double replenishmentPayment = replenishmentPayment(context.fullPriceWasPayed(), annuityPayment,
+                comparisonParameters.getMonthlyRent());
+
+        return round(replenishmentPayment * (context.getDebitGrowth() - 1) *
+                12 / (comparisonParameters.getDebitInterestRate() / 100));
+    }
 
-        return round(replenishmentPayment *
-                (Math.pow((1 + comparisonRequest.getDebitInterestRate() / 100 / 12),
-                        calculatePeriodInMonths(comparisonRequest)) - 1) *
-                12 / (comparisonRequest.getDebitInterestRate() / 100));
+    public double calculateTotalGainsForRenting(ComparisonParameters comparisonParameters) {
+        return calculateTotalGainsForRenting(new EvaluationContext(comparisonParameters));
     }
 
-    public double calculateTotalGainsForRenting(ComparisonRequest comparisonRequest) {
-        double annuityPayment = calculateAnnuityPayment(comparisonRequest);
-        if (annuityPayment > comparisonRequest.getMonthlyRent()) {
-            return round(calculateCompoundingEffectWithoutFirstPayment(comparisonRequest, annuityPayment) +
-                    calculateCompoundingEffectWithoutPayments(comparisonRequest));
+    public double calculateTotalGainsForRenting(EvaluationContext context) {
+        return calculateTotalGainsForRenting(context, calculateAnnuityPayment(context));
+    }
+
+    public double calculateTotalGainsForRenting(EvaluationContext context, double annuityPayment) {
+        if (rentingReplenishes(annuityPayment, context.getComparisonParameters().getMonthlyRent())) {
+            return round(calculateCompoundingEffectWithoutFirstPayment(context, annuityPayment) +
+                    calculateCompoundingEffectWithoutPayments(context));
         }
 
-        return round(calculateCompoundingEffectWithoutPayments(comparisonRequest));
+        return round(calculateCompoundingEffectWithoutPayments(context));
+    }
+
+    public double calculateFinalRealEstatePrice(ComparisonParameters comparisonParameters) {
+        return calculateFinalRealEstatePrice(comparisonParameters, DEFAULT_APPRECIATION_RATE);
+    }
+
+    public double calculateFinalRealEstatePrice(ComparisonParameters comparisonParameters, double appreciationRate) {
+        return calculateFinalRealEstatePrice(new EvaluationContext(comparisonParameters), appreciationRate);
+    }
+
+    public double calculateFinalRealEstatePrice(EvaluationContext context, double appreciationRate) {
+        return round(context.getComparisonParameters().getFullPrice()
+                * context.getAppreciationGrowth(appreciationRate));
+    }
+
+    public double calculateTotalGainsForBuying(ComparisonParameters comparisonParameters) {
+        return calculateTotalGainsForBuying(new EvaluationContext(comparisonParameters));
     }
 
-    public double calculateFinalRealEstatePrice(ComparisonRequest comparisonRequest) {
-        return round(comparisonRequest.getFullPrice() * Math.pow(1 + 1.00 / 100 / 1,
-                comparisonRequest.getYearsOfLoan()));
+    public double calculateTotalGainsForBuying(EvaluationContext context) {
+        return calculateTotalGainsForBuying(context, calculateAnnuityPayment(context),
+                calculateFinalRealEstatePrice(context, DEFAULT_APPRECIATION_RATE));
     }
 
-    public double calculateTotalGainsForBuying(ComparisonRequest comparisonRequest) {
-        double annuityPayment = calculateAnnuityPayment(comparisonRequest);
-        if (fullPriceWasPayed(comparisonRequest) || annuityPayment < comparisonRequest.getMonthlyRent()) {
-            return round(calculateTaxDeduction(comparisonRequest.getFullPrice()) +
-                    calculateCompoundingEffectWithoutFirstPayment(comparisonRequest, annuityPayment) +
-                    calculateFinalRealEstatePrice(comparisonRequest));
+    public double calculateTotalGainsForBuying(EvaluationContext context, double annuityPayment,
+                                               double finalRealEstatePrice) {
+        ComparisonParameters comparisonParameters = context.getComparisonParameters();
+        if (buyingReplenishes(context.fullPriceWasPayed(), annuityPayment, comparisonParameters.getMonthlyRent())) {
+            return round(calculateTaxDeduction(comparisonParameters.getFullPrice()) +
+                    calculateCompoundingEffectWithoutFirstPayment(context, annuityPayment) +
+                    finalRealEstatePrice);
         }
 
-        return round(calculateTaxDeduction(comparisonRequest.getFullPrice())
-                + calculateFinalRealEstatePrice(comparisonRequest));
+        return round(calculateTaxDeduction(comparisonParameters.getFullPrice()) + finalRealEstatePrice);
 
     }
 }
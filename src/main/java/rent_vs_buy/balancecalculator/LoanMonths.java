@@ -0,0 +1,179 @@
+package rent_vs_buy.balancecalculator;
+
+import rent_vs_buy.models.ComparisonParameters;
+
+// The loan walked one month at a time: the differentiated schedule, the annuity schedule, and the differentiated
+// balance the insurance is charged on, which pays its rounded payment against the interest of the insured balance
+// itself. Insurance is charged on the first month of every whole year of the term. This is the only place the
+// monthly loan arithmetic lives; the iterative totals of CostsCalculator and ComparisonEngine, the amortization
+// schedule and the balance trajectory all step through it.
+final class LoanMonths {
+
+    private final BalanceCalculator balanceCalculator;
+    private final double annuityPayment;
+    private final double monthlyLoanBodyPart;
+    private final double monthlyInterestRate;
+    private final double insurancePercent;
+    private final long months;
+    private final long insuredMonths;
+
+    private long month;
+    private double differentiatedLoanLeft;
+    private double differentiatedPayments;
+    private double annuityLoanLeft;
+    private double annuityInsurance;
+    private double differentiatedInsuredLoanLeft;
+    private double differentiatedInsurance;
+
+    // the month last stepped
+    private double differentiatedPayment;
+    private double differentiatedInterest;
+    private double annuityInterest;
+    private double annuityInsuranceCharge;
+    private double differentiatedInsuranceCharge;
+
+    LoanMonths(BalanceCalculator balanceCalculator, EvaluationContext context, double annuityPayment) {
+        this(balanceCalculator, context, annuityPayment, context.getComparisonParameters().getInsuranceRate());
+    }
+
+    LoanMonths(BalanceCalculator balanceCalculator, EvaluationContext context, double annuityPayment,
+               double insurancePercent) {
+        ComparisonParameters comparisonParameters = context.getComparisonParameters();
+        boolean fullPriceWasPayed = context.fullPriceWasPayed();
+        double loanBody = fullPriceWasPayed ? 0 : comparisonParameters.getLoanBody();
+        this.balanceCalculator = balanceCalculator;
+        this.annuityPayment = annuityPayment;
+        this.monthlyLoanBodyPart = comparisonParameters.getLoanBody() / context.getPeriodInMonths();
+        this.monthlyInterestRate = context.getMonthlyCreditInterestRate();
+        this.insurancePercent = insurancePercent;
+        // 12 * floor(years) never exceeds floor(12 * years), so the insured months all lie within the loan months
+        this.months = fullPriceWasPayed ? 0 : (long) Math.floor(context.getPeriodInMonths());
+        this.insuredMonths = fullPriceWasPayed ? 0 : 12 * (long) Math.floor(comparisonParameters.getYearsOfLoan());
+        this.differentiatedLoanLeft = loanBody;
+        this.annuityLoanLeft = loanBody;
+        this.differentiatedInsuredLoanLeft = loanBody;
+    }
+
+    // Steps every schedule through the next loan month; false once the loan months are over
+    boolean next() {
+        if (month >= months) {
+            return false;
+        }
+        stepDifferentiated();
+        stepAnnuity();
+        stepDifferentiatedInsured();
+        month++;
+        return true;
+    }
+
+    // Steps only the differentiated schedule through the next loan month
+    boolean nextDifferentiated() {
+        if (month >= months) {
+            return false;
+        }
+        stepDifferentiated();
+        month++;
+        return true;
+    }
+
+    // Steps only the annuity schedule through the next insured month; false once the insured months are over
+    boolean nextInsuredAnnuity() {
+        if (month >= insuredMonths) {
+            return false;
+        }
+        stepAnnuity();
+        month++;
+        return true;
+    }
+
+    // Steps only the insured differentiated balance through the next insured month
+    boolean nextInsuredDifferentiated() {
+        if (month >= insuredMonths) {
+            return false;
+        }
+        stepDifferentiatedInsured();
+        month++;
+        return true;
+    }
+
+    private void stepDifferentiated() {
+        differentiatedInterest = differentiatedLoanLeft * monthlyInterestRate;
+        differentiatedPayment = balanceCalculator.round(monthlyLoanBodyPart + differentiatedInterest);
+        differentiatedPayments += differentiatedPayment;
+        differentiatedLoanLeft = differentiatedLoanLeft - monthlyLoanBodyPart;
+    }
+
+    private void stepAnnuity() {
+        annuityInsuranceCharge = 0;
+        if (chargesInsurance()) {
+            annuityInsuranceCharge = annuityLoanLeft * insurancePercent / 100;
+            annuityInsurance += annuityInsuranceCharge;
+        }
+        annuityInterest = annuityLoanLeft * monthlyInterestRate;
+        annuityLoanLeft = annuityLoanLeft - (annuityPayment - annuityInterest);
+    }
+
+    private void stepDifferentiatedInsured() {
+        differentiatedInsuranceCharge = 0;
+        if (chargesInsurance()) {
+            differentiatedInsuranceCharge = differentiatedInsuredLoanLeft * insurancePercent / 100;
+            differentiatedInsurance += differentiatedInsuranceCharge;
+        }
+        double payment = balanceCalculator.round(monthlyLoanBodyPart +
+                differentiatedInsuredLoanLeft * monthlyInterestRate);
+        differentiatedInsuredLoanLeft = differentiatedInsuredLoanLeft -
+                (payment - differentiatedInsuredLoanLeft * monthlyInterestRate);
+    }
+
+    private boolean chargesInsurance() {
+        return month % 12 == 0 && month < insuredMonths;
+    }
+
+    double getAnnuityPayment() {
+        return annuityPayment;
+    }
+
+    double getMonthlyLoanBodyPart() {
+        return monthlyLoanBodyPart;
+    }
+
+    double getDifferentiatedLoanLeft() {
+        return differentiatedLoanLeft;
+    }
+
+    double getDifferentiatedPayments() {
+        return differentiatedPayments;
+    }
+
+    double getAnnuityLoanLeft() {
+        return annuityLoanLeft;
+    }
+
+    double getAnnuityInsurance() {
+        return annuityInsurance;
+    }
+
+    double getDifferentiatedInsurance() {
+        return differentiatedInsurance;
+    }
+
+    double getDifferentiatedPayment() {
+        return differentiatedPayment;
+    }
+
+    double getDifferentiatedInterest() {
+        return differentiatedInterest;
+    }
+
+    double getAnnuityInterest() {
+        return annuityInterest;
+    }
+
+    double getAnnuityInsuranceCharge() {
+        return annuityInsuranceCharge;
+    }
+
+    double getDifferentiatedInsuranceCharge() {
+        return differentiatedInsuranceCharge;
+    }
+}
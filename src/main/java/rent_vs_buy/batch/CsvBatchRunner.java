@@ -0,0 +1,398 @@
+package rent_vs_buy.batch;
+
+import rent_vs_buy.balancecalculator.BalanceCalculator;
+import rent_vs_buy.balancecalculator.BatchKernel;
+import rent_vs_buy.balancecalculator.ComparisonColumns;
+import rent_vs_buy.balancecalculator.ComparisonEngine;
+import rent_vs_buy.balancecalculator.CostsCalculator;
+import rent_vs_buy.balancecalculator.GainsCalculator;
+import rent_vs_buy.models.ComparisonField;
+import rent_vs_buy.models.ComparisonParameters;
+import rent_vs_buy.models.ComparisonRequest;
+import rent_vs_buy.models.ComparisonResponse;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+// Scores a CSV or TSV file of scenarios without starting the Spring context. The input is mapped region by
+// region, every region is cut into slices at line boundaries, slices are scored in parallel and their output is
+// written to the output channel in input order, one result row per input row.
+public class CsvBatchRunner {
+
+    public static final String COMMAND = "batch";
+
+    private static final long REGION_SIZE = 64L << 20;
+    private static final int SLICE_SIZE = 1 << 20;
+    private static final ComparisonField[] FIELDS = ComparisonField.values();
+    private static final String PAYMENT_TYPE_COLUMN = "isDifferentiatedPayment";
+    private static final String OUTPUT_HEADER = "sumOfAnnuityPayments,sumOfDifferentiatedPayments,totalAnnuityCosts,"
+            + "totalDifferentiatedCosts,payedForRent,totalRentCosts,totalRentGains,totalBuyGains,"
+            + "finalRealEstatePrice,rentBalance,buyBalance,error\n";
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    private final ComparisonEngine comparisonEngine;
+    private final BatchKernel batchKernel;
+
+    public CsvBatchRunner(ComparisonEngine comparisonEngine, BatchKernel batchKernel) {
+        this.comparisonEngine = comparisonEngine;
+        this.batchKernel = batchKernel;
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        boolean closedForm = options.remove("--closed-form");
+        boolean kernel = options.remove("--kernel");
+        if (options.size() != 2) {
+            System.err.println("Usage: " + COMMAND + " <input.csv|input.tsv> <output.csv> [--closed-form|--kernel]");
+            System.exit(2);
+        }
+        CsvBatchRunner runner = new CsvBatchRunner(new ComparisonEngine(new CostsCalculator(), new GainsCalculator(),
+                closedForm), kernel ? new BatchKernel() : null);
+
+        long start = System.nanoTime();
+        long rows = runner.run(Paths.get(options.get(0)), Paths.get(options.get(1)));
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Scored %d rows in %.2f s (%.0f rows/s)%n", rows, seconds, rows / seconds);
+    }
+
+    public long run(Path input, Path output) throws IOException {
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            long size = in.size();
+            write(out, ByteBuffer.wrap(OUTPUT_HEADER.getBytes(StandardCharsets.US_ASCII)));
+            Layout layout = null;
+            long rows = 0;
+            long position = 0;
+            while (position < size) {
+                MappedByteBuffer region = in.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(REGION_SIZE, size - position));
+                boolean lastRegion = position + region.limit() == size;
+                int end = lastRegion ? region.limit() : lastLineEnd(region);
+                if (end == 0) {
+                    throw new IOException("Line at offset " + position + " is longer than " + REGION_SIZE + " bytes");
+                }
+                int from = 0;
+                if (layout == null) {
+                    from = nextLineStart(region, 0, end);
+                    layout = Layout.parse(decode(region, 0, from));
+                }
+                Slice[] slices = score(region, from, end, layout);
+                for (Slice slice : slices) {
+                    rows += slice.rows;
+                    write(out, ByteBuffer.wrap(slice.output.bytes, 0, slice.output.size));
+                }
+                position += end;
+            }
+            return rows;
+        }
+    }
+
+    private Slice[] score(MappedByteBuffer region, int from, int to, Layout layout) {
+        List<Integer> bounds = new ArrayList<>();
+        bounds.add(from);
+        for (int position = from; position < to; ) {
+            position = position + SLICE_SIZE >= to ? to : nextLineStart(region, position + SLICE_SIZE, to);
+            bounds.add(position);
+        }
+        return IntStream.range(0, bounds.size() - 1).parallel()
+                .mapToObj(slice -> scoreSlice(region, bounds.get(slice), bounds.get(slice + 1), layout))
+                .toArray(Slice[]::new);
+    }
+
+    private Slice scoreSlice(ByteBuffer region, int from, int to, Layout layout) {
+        List<ComparisonParameters> parameters = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        int[] fieldBounds = new int[2 * layout.columns];
+        for (int lineStart = from; lineStart < to; ) {
+            int lineEnd = lineStart;
+            while (lineEnd < to && region.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int next = lineEnd + 1;
+            if (lineEnd > lineStart && region.get(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            if (lineEnd > lineStart) {
+                try {
+                    parameters.add(parse(region, lineStart, lineEnd, layout, fieldBounds));
+                    errors.add(null);
+                } catch (IllegalArgumentException e) {
+                    parameters.add(null);
+                    errors.add(e.getMessage());
+                }
+            }
+            lineStart = next;
+        }
+
+        Slice slice = new Slice(parameters.size());
+        if (batchKernel != null) {
+            ComparisonColumns columns = new ComparisonColumns(parameters.size());
+            for (int row = 0; row < parameters.size(); row++) {
+                if (parameters.get(row) != null) {
+                    columns.set(row, parameters.get(row));
+                }
+            }
+            batchKernel.compute(columns, 0, columns.size());
+            for (int row = 0; row < parameters.size(); row++) {
+                if (parameters.get(row) == null) {
+                    slice.output.appendError(errors.get(row));
+                } else if (!isFinite(columns, row)) {
+                    slice.output.appendError(BalanceCalculator.UNDEFINED_COMPARISON_MESSAGE);
+                } else {
+                    slice.output.append(columns.getSumOfAnnuityPayments(row),
+                            columns.getSumOfDifferentiatedPayments(row), columns.getTotalAnnuityCosts(row),
+                            columns.getTotalDifferentiatedCosts(row), columns.getPayedForRent(row),
+                            columns.getPayedForRent(row), columns.getTotalRentGains(row),
+                            columns.getTotalBuyGains(row), columns.getFinalRealEstatePrice(row),
+                            columns.getRentBalance(row), columns.getBuyBalance(row));
+                }
+            }
+            return slice;
+        }
+        for (int row = 0; row < parameters.size(); row++) {
+            if (parameters.get(row) == null) {
+                slice.output.appendError(errors.get(row));
+                continue;
+            }
+            ComparisonResponse comparisonResponse;
+            try {
+                comparisonResponse = comparisonEngine.compare(parameters.get(row));
+            } catch (ArithmeticException e) {
+                slice.output.appendError(e.getMessage());
+                continue;
+            }
+            slice.output.append(comparisonResponse.getSumOfAnnuityPayments(),
+                    comparisonResponse.getSumOfDifferentiatedPayments(), comparisonResponse.getTotalAnnuityCosts(),
+                    comparisonResponse.getTotalDifferentiatedCosts(), comparisonResponse.getPayedForRent(),
+                    comparisonResponse.getTotalRentCosts(), comparisonResponse.getTotalRentGains(),
+                    comparisonResponse.getTotalBuyGains(), comparisonResponse.getFinalRealEstatePrice(),
+                    comparisonResponse.getRentBalance(), comparisonResponse.getBuyBalance());
+        }
+        return slice;
+    }
+
+    // The kernel does not round, so an undefined comparison shows up as NaN or infinite results
+    private static boolean isFinite(ComparisonColumns columns, int row) {
+        return Double.isFinite(columns.getSumOfAnnuityPayments(row))
+                && Double.isFinite(columns.getSumOfDifferentiatedPayments(row))
+                && Double.isFinite(columns.getTotalAnnuityCosts(row))
+                && Double.isFinite(columns.getTotalDifferentiatedCosts(row))
+                && Double.isFinite(columns.getPayedForRent(row))
+                && Double.isFinite(columns.getTotalRentGains(row))
+                && Double.isFinite(columns.getTotalBuyGains(row))
+                && Double.isFinite(columns.getFinalRealEstatePrice(row))
+                && Double.isFinite(columns.getRentBalance(row))
+                && Double.isFinite(columns.getBuyBalance(row));
+    }
+
+    private ComparisonParameters parse(ByteBuffer region, int from, int to, Layout layout, int[] fieldBounds) {
+        int column = 0;
+        fieldBounds[0] = from;
+        for (int position = from; position < to; position++) {
+            if (region.get(position) == layout.delimiter) {
+                if (++column == layout.columns) {
+                    break;
+                }
+                fieldBounds[2 * column - 1] = position;
+                fieldBounds[2 * column] = position + 1;
+            }
+        }
+        if (column != layout.columns - 1) {
+            throw new IllegalArgumentException("Row should have " + layout.columns + " columns");
+        }
+        fieldBounds[2 * column + 1] = to;
+
+        double[] values = new double[FIELDS.length];
+        for (int field = 0; field < FIELDS.length; field++) {
+            int index = layout.fieldColumns[field];
+            try {
+                values[field] = parseDouble(region, fieldBounds[2 * index], fieldBounds[2 * index + 1]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(FIELDS[field].getFieldName() + ": should be a number");
+            }
+            ComparisonRequest.validate(FIELDS[field], values[field], (name, rejectedValue, constraint, message) -> {
+                throw new IllegalArgumentException(name + ": " + message);
+            });
+        }
+        String paymentType = decode(region, fieldBounds[2 * layout.paymentTypeColumn],
+                fieldBounds[2 * layout.paymentTypeColumn + 1]).trim();
+        boolean isDifferentiatedPayment = "true".equalsIgnoreCase(paymentType) || "1".equals(paymentType);
+        if (!isDifferentiatedPayment && !"false".equalsIgnoreCase(paymentType) && !"0".equals(paymentType)) {
+            throw new IllegalArgumentException(PAYMENT_TYPE_COLUMN + ": should be true or false");
+        }
+        return new ComparisonParameters(values[0], values[1], values[2], values[3], values[4], values[5], values[6],
+                values[7], values[8], values[9], isDifferentiatedPayment);
+    }
+
+    // Plain decimals with at most 15 significant digits and 22 fraction digits are exact as a long divided by a
+    // power of ten, which gives the correctly rounded double; anything else goes through Double.parseDouble.
+    static double parseDouble(ByteBuffer buffer, int from, int to) {
+        while (from < to && buffer.get(from) == ' ') {
+            from++;
+        }
+        while (to > from && buffer.get(to - 1) == ' ') {
+            to--;
+        }
+        int position = from;
+        boolean negative = false;
+        if (position < to && (buffer.get(position) == '-' || buffer.get(position) == '+')) {
+            negative = buffer.get(position) == '-';
+            position++;
+        }
+        long mantissa = 0;
+        int scale = 0;
+        boolean digits = false;
+        boolean fraction = false;
+        for (; position < to; position++) {
+            byte character = buffer.get(position);
+            if (character >= '0' && character <= '9' && mantissa < 100_000_000_000_000L) {
+                mantissa = mantissa * 10 + character - '0';
+                digits = true;
+                if (fraction) {
+                    scale++;
+                }
+            } else if (character == '.' && !fraction) {
+                fraction = true;
+            } else {
+                return Double.parseDouble(decode(buffer, from, to));
+            }
+        }
+        if (!digits || scale >= POWERS_OF_TEN.length) {
+            return Double.parseDouble(decode(buffer, from, to));
+        }
+        double value = mantissa / POWERS_OF_TEN[scale];
+        return negative ? -value : value;
+    }
+
+    private static String decode(ByteBuffer buffer, int from, int to) {
+        char[] characters = new char[to - from];
+        for (int i = from; i < to; i++) {
+            characters[i - from] = (char) (buffer.get(i) & 0xff);
+        }
+        return new String(characters);
+    }
+
+    private static int nextLineStart(ByteBuffer buffer, int from, int to) {
+        for (int position = from; position < to; position++) {
+            if (buffer.get(position) == '\n') {
+                return position + 1;
+            }
+        }
+        return to;
+    }
+
+    private static int lastLineEnd(ByteBuffer buffer) {
+        for (int position = buffer.limit() - 1; position >= 0; position--) {
+            if (buffer.get(position) == '\n') {
+                return position + 1;
+            }
+        }
+        return 0;
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static class Layout {
+        private final byte delimiter;
+        private final int columns;
+        private final int[] fieldColumns;
+        private final int paymentTypeColumn;
+
+        private Layout(byte delimiter, int columns, int[] fieldColumns, int paymentTypeColumn) {
+            this.delimiter = delimiter;
+            this.columns = columns;
+            this.fieldColumns = fieldColumns;
+            this.paymentTypeColumn = paymentTypeColumn;
+        }
+
+        private static Layout parse(String header) {
+            byte delimiter = (byte) (header.indexOf('\t') >= 0 ? '\t' : ',');
+            List<String> names = new ArrayList<>();
+            for (String name : header.strip().split(delimiter == '\t' ? "\t" : ",", -1)) {
+                names.add(name.strip());
+            }
+            int[] fieldColumns = new int[FIELDS.length];
+            for (int field = 0; field < FIELDS.length; field++) {
+                fieldColumns[field] = column(names, FIELDS[field].getFieldName());
+            }
+            return new Layout(delimiter, names.size(), fieldColumns, column(names, PAYMENT_TYPE_COLUMN));
+        }
+
+        private static int column(List<String> names, String name) {
+            int column = names.indexOf(name);
+            if (column < 0) {
+                throw new IllegalArgumentException("Input header should contain a " + name + " column");
+            }
+            return column;
+        }
+    }
+
+    private static class Slice {
+        private final long rows;
+        private final OutputBuffer output;
+
+        private Slice(long rows) {
+            this.rows = rows;
+            this.output = new OutputBuffer((int) Math.min(Integer.MAX_VALUE - 8, rows * 160 + 16));
+        }
+    }
+
+    private static class OutputBuffer {
+        private byte[] bytes;
+        private int size;
+
+        private OutputBuffer(int capacity) {
+            this.bytes = new byte[capacity];
+        }
+
+        private void append(double... values) {
+            for (int i = 0; i < values.length; i++) {
+                append(Double.toString(values[i]));
+                append(',');
+            }
+            append('\n');
+        }
+
+        private void appendError(String error) {
+            for (int i = 0; i < 11; i++) {
+                append(',');
+            }
+            append(error.replace(',', ';'));
+            append('\n');
+        }
+
+        private void append(String value) {
+            ensureCapacity(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                bytes[size++] = (byte) value.charAt(i);
+            }
+        }
+
+        private void append(char value) {
+            ensureCapacity(1);
+            bytes[size++] = (byte) value;
+        }
+
+        private void ensureCapacity(int length) {
+            if (size + length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(size + length, bytes.length * 2));
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package rent_vs_buy.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import rent_vs_buy.balancecalculator.ComparisonEngine;
+import rent_vs_buy.controller.ComparisonBinaryHttpMessageConverter;
+import rent_vs_buy.models.ComparisonParameters;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+// Loads and exercises the calculators and the HTTP path so that the AppCDS training run (compare.warm-up.exit)
+// archives every class a request needs. Application runners finish before ApplicationReadyEvent, so when it is
+// enabled on a serving instance readiness waits for it. The in-process comparisons go straight to the engine and
+// record no stage metrics.
+@Component
+@ConditionalOnProperty(name = "compare.warm-up.enabled", havingValue = "true")
+public class WarmUpRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmUpRunner.class);
+
+    private final ComparisonEngine comparisonEngine;
+    private final Environment environment;
+    private final ConfigurableApplicationContext context;
+    private final int comparisons;
+    private final int requests;
+    private final boolean exit;
+
+    public WarmUpRunner(ComparisonEngine comparisonEngine, Environment environment,
+                        ConfigurableApplicationContext context,
+                        @Value("${compare.warm-up.comparisons:2000}") int comparisons,
+                        @Value("${compare.warm-up.requests:20}") int requests,
+                        @Value("${compare.warm-up.exit:false}") boolean exit) {
+        this.comparisonEngine = comparisonEngine;
+        this.environment = environment;
+        this.context = context;
+        this.comparisons = comparisons;
+        this.requests = requests;
+        this.exit = exit;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        long start = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(17);
+        double checksum = 0;
+        for (int i = 0; i < comparisons; i++) {
+            checksum += comparisonEngine.compare(scenario(random), i % 2 == 0).getBuyBalance();
+        }
+        Integer port = environment.getProperty("local.server.port", Integer.class);
+        if (port != null) {
+            for (int i = 0; i < requests; i++) {
+                post(port, scenario(random), i % 2 == 0);
+            }
+        }
+        log.info("Warmed up with {} comparisons and {} requests in {} ms (checksum {})", comparisons,
+                port != null ? requests : 0, (System.nanoTime() - start) / 1_000_000, checksum);
+
+        if (exit) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+
+    private void post(int port, ComparisonParameters comparisonParameters, boolean binary) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + port
+                + "/compare?closedForm=false").openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        byte[] body;
+        if (binary) {
+            ByteBuffer buffer = ByteBuffer.allocate(ComparisonBinaryHttpMessageConverter.REQUEST_LENGTH)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            ComparisonBinaryHttpMessageConverter.encode(comparisonParameters, buffer);
+            body = buffer.array();
+            connection.setRequestProperty("Content-Type", ComparisonBinaryHttpMessageConverter.MEDIA_TYPE_VALUE);
+            connection.setRequestProperty("Accept", ComparisonBinaryHttpMessageConverter.MEDIA_TYPE_VALUE);
+        } else {
+            body = json(comparisonParameters).getBytes(StandardCharsets.UTF_8);
+            connection.setRequestProperty("Content-Type", "application/json");
+        }
+        try (OutputStream output = connection.getOutputStream()) {
+            output.write(body);
+        }
+        try (InputStream input = connection.getInputStream()) {
+            input.readAllBytes();
+        }
+    }
+
+    private String json(ComparisonParameters comparisonParameters) {
+        return "{\"fullPrice\":" + comparisonParameters.getFullPrice()
+                + ",\"loanBody\":" + comparisonParameters.getLoanBody()
+                + ",\"yearsOfLoan\":" + comparisonParameters.getYearsOfLoan()
+                + ",\"creditInterestRate\":" + comparisonParameters.getCreditInterestRate()
+                + ",\"monthlyRent\":" + comparisonParameters.getMonthlyRent()
+                + ",\"rentInflationRate\":" + comparisonParameters.getRentInflationRate()
+                + ",\"renovationCost\":" + comparisonParameters.getRenovationCost()
+                + ",\"debitInterestRate\":" + comparisonParameters.getDebitInterestRate()
+                + ",\"taxRate\":" + comparisonParameters.getTaxRate()
+                + ",\"insuranceRate\":" + comparisonParameters.getInsuranceRate()
+                + ",\"isDifferentiatedPayment\":" + comparisonParameters.getIsDifferentiatedPayment() + "}";
+    }
+
+    private ComparisonParameters scenario(SplittableRandom random) {
+        double fullPrice = Math.floor(random.nextDouble(3000000, 12000000));
+        return new ComparisonParameters(fullPrice,
+                random.nextInt(8) == 0 ? 0 : Math.floor(fullPrice * random.nextDouble(0.5, 0.9)),
+                random.nextInt(1, 61) / 2D,
+                Math.round(random.nextDouble(5, 12) * 100) / 100D,
+                Math.floor(random.nextDouble(15000, 60000)),
+                Math.round(random.nextDouble(2, 8) * 10) / 10D,
+                Math.floor(random.nextDouble(0, 1500000)),
+                Math.round(random.nextDouble(4, 10) * 10) / 10D,
+                Math.round(random.nextDouble(0.1, 0.3) * 100) / 100D,
+                Math.round(random.nextDouble(0.3, 1) * 100) / 100D,
+                random.nextBoolean());
+    }
+}
@@ -3,74 +3,195 @@ package rent_vs_buy.controller;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
-import rent_vs_buy.balancecalculator.BalanceCalculator;
-import rent_vs_buy.balancecalculator.CostsCalculator;
-import rent_vs_buy.balancecalculator.GainsCalculator;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import rent_vs_buy.balancecalculator.ComparisonEngine;
+import rent_vs_buy.balancecalculator.ComparisonGraph;
+import rent_vs_buy.balancecalculator.ComparisonGraph.Quantity;
+import rent_vs_buy.models.BreakEvenRequest;
+import rent_vs_buy.models.BreakEvenResponse;
+import rent_vs_buy.models.ComparisonParameters;
 import rent_vs_buy.models.ComparisonRequest;
 import rent_vs_buy.models.ComparisonResponse;
+import rent_vs_buy.models.ComparisonSessionResponse;
+import rent_vs_buy.models.SimulationRequest;
+import rent_vs_buy.models.SimulationResponse;
+import rent_vs_buy.models.SweepRequest;
+import rent_vs_buy.models.SweepResponse;
+import rent_vs_buy.models.TrajectoryResponse;
+import rent_vs_buy.service.BatchComparisonService;
+import rent_vs_buy.service.BreakEvenService;
+import rent_vs_buy.service.CachedComparisonService;
+import rent_vs_buy.service.ComparisonSessionService;
+import rent_vs_buy.service.InvalidRequestException;
+import rent_vs_buy.service.ScheduleService;
+import rent_vs_buy.service.SimulationService;
+import rent_vs_buy.service.SweepService;
+import rent_vs_buy.service.TrajectoryService;
 
 import javax.validation.Valid;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
 public class CompareController {
 
-    private final BalanceCalculator balanceCalculator;
-    private final CostsCalculator costsCalculator;
-    private final GainsCalculator gainsCalculator;
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
 
-    public CompareController(BalanceCalculator balanceCalculator, CostsCalculator costsCalculator,
-                             GainsCalculator gainsCalculator) {
-        this.balanceCalculator = balanceCalculator;
-        this.costsCalculator = costsCalculator;
-        this.gainsCalculator = gainsCalculator;
+    private final ComparisonEngine comparisonEngine;
+    private final CachedComparisonService cachedComparisonService;
+    private final BatchComparisonService batchComparisonService;
+    private final SweepService sweepService;
+    private final SimulationService simulationService;
+    private final BreakEvenService breakEvenService;
+    private final ScheduleService scheduleService;
+    private final ComparisonSessionService comparisonSessionService;
+    private final TrajectoryService trajectoryService;
+
+    public CompareController(ComparisonEngine comparisonEngine, CachedComparisonService cachedComparisonService,
+                             BatchComparisonService batchComparisonService, SweepService sweepService,
+                             SimulationService simulationService, BreakEvenService breakEvenService,
+                             ScheduleService scheduleService, ComparisonSessionService comparisonSessionService,
+                             TrajectoryService trajectoryService) {
+        this.comparisonEngine = comparisonEngine;
+        this.cachedComparisonService = cachedComparisonService;
+        this.batchComparisonService = batchComparisonService;
+        this.sweepService = sweepService;
+        this.simulationService = simulationService;
+        this.breakEvenService = breakEvenService;
+        this.scheduleService = scheduleService;
+        this.comparisonSessionService = comparisonSessionService;
+        this.trajectoryService = trajectoryService;
     }
 
-    @RequestMapping(method = RequestMethod.POST, produces = "application/json",
+    @RequestMapping(method = RequestMethod.POST,
+            produces = {"application/json", ComparisonBinaryHttpMessageConverter.MEDIA_TYPE_VALUE},
+            value = "/compare")
+    public ComparisonResponse compareRentAndBuy(@Valid @RequestBody ComparisonRequest body,
+                                                @RequestParam(required = false) Boolean closedForm) {
+        return compare(body.toParameters(), closedForm);
+    }
+
+    @RequestMapping(method = RequestMethod.POST, consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = "application/json", params = "fields", value = "/compare")
+    public Map<String, Double> compareRentAndBuyFields(@Valid @RequestBody ComparisonRequest body,
+                                                       @RequestParam List<String> fields,
+                                                       @RequestParam(required = false) Boolean closedForm) {
+        ComparisonParameters comparisonParameters = body.toParameters();
+        ComparisonGraph comparisonGraph = closedForm == null ? comparisonEngine.graph(comparisonParameters)
+                : comparisonEngine.graph(comparisonParameters, closedForm);
+        Map<String, Double> response = new LinkedHashMap<>();
+        for (String field : fields) {
+            Quantity quantity = Quantity.fromOutputName(field).orElseThrow(() ->
+                    new InvalidRequestException("fields", "Unknown comparison field " + field));
+            response.put(field, comparisonGraph.get(quantity));
+        }
+        return response;
+    }
+
+    @RequestMapping(method = RequestMethod.POST, consumes = ComparisonBinaryHttpMessageConverter.MEDIA_TYPE_VALUE,
+            produces = {ComparisonBinaryHttpMessageConverter.MEDIA_TYPE_VALUE, "application/json"},
             value = "/compare")
-    public ComparisonResponse compareRentAndBuy(@Valid @RequestBody ComparisonRequest body) {
-        double payment = costsCalculator.calculateAnnuityPayment(body);
-        double finalRealEstatePrice = gainsCalculator.calculateFinalRealEstatePrice(body);
-        double totalRentCosts = costsCalculator.calculateTotalCostsForRenting(body);
-        double totalRentGains = gainsCalculator
-                .calculateTotalGainsForRenting(body);
-        double totalAnnuityCosts = costsCalculator.calculateTotalLossesWithAnnuityPayment(body, finalRealEstatePrice);
-        double totalBuyGains = gainsCalculator.calculateTotalGainsForBuying(body);
-        double totalDifferentiatedCosts = costsCalculator.calculateTotalLossesWithDifferentiatedPayment(body,
-                finalRealEstatePrice);
-        double buyBalance;
-        if (body.getIsDifferentiatedPayment()) {
-            buyBalance = balanceCalculator.calculateBalance(totalDifferentiatedCosts, totalBuyGains);
-        } else {
-            buyBalance = balanceCalculator.calculateBalance(totalAnnuityCosts, totalBuyGains);
+    public ComparisonResponse compareRentAndBuyBinary(@RequestBody ComparisonParameters body,
+                                                      @RequestParam(required = false) Boolean closedForm) {
+        return compare(body, closedForm);
+    }
+
+    @RequestMapping(method = RequestMethod.POST, produces = MediaType.APPLICATION_NDJSON_VALUE,
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            value = "/compare/batch")
+    public ResponseEntity<StreamingResponseBody> compareRentAndBuyInBatch(InputStream body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(output -> batchComparisonService.compare(body, output));
+    }
+
+    @RequestMapping(method = RequestMethod.POST, produces = "application/json",
+            value = "/compare/sweep")
+    public SweepResponse sweepRentAndBuy(@Valid @RequestBody SweepRequest body) {
+        return sweepService.sweep(body);
+    }
+
+    @RequestMapping(method = RequestMethod.POST, produces = "application/json",
+            value = "/compare/simulation")
+    public SimulationResponse simulateRentAndBuy(@Valid @RequestBody SimulationRequest body) {
+        return simulationService.simulate(body);
+    }
+
+    @RequestMapping(method = RequestMethod.POST, produces = "application/json",
+            value = "/compare/break-even")
+    public BreakEvenResponse solveBreakEven(@Valid @RequestBody BreakEvenRequest body) {
+        return breakEvenService.solve(body);
+    }
+
+    @RequestMapping(method = RequestMethod.POST, produces = "application/json",
+            value = "/compare/trajectory")
+    public TrajectoryResponse trajectoryOfRentAndBuy(@Valid @RequestBody ComparisonRequest body) {
+        return trajectoryService.trajectory(body.toParameters());
+    }
+
+    @RequestMapping(method = RequestMethod.POST, value = "/compare/schedule")
+    public ResponseEntity<StreamingResponseBody> scheduleRentAndBuy(@Valid @RequestBody ComparisonRequest body,
+                                                                    @RequestParam(defaultValue = "json")
+                                                                            String format) {
+        if ("csv".equals(format)) {
+            return ResponseEntity.ok()
+                    .contentType(TEXT_CSV)
+                    .body(output -> scheduleService.writeCsv(body.toParameters(), output));
+        }
+        if (!"json".equals(format)) {
+            throw new InvalidRequestException("format", "Schedule format should be json or csv");
         }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(output -> scheduleService.writeJson(body.toParameters(), output));
+    }
+
+    @RequestMapping(method = RequestMethod.POST, produces = "application/json",
+            value = "/compare/sessions")
+    public ComparisonSessionResponse createSession(@Valid @RequestBody ComparisonRequest body) {
+        return comparisonSessionService.create(body.toParameters());
+    }
+
+    @RequestMapping(method = RequestMethod.GET, produces = "application/json",
+            value = "/compare/sessions/{sessionId}")
+    public ComparisonSessionResponse getSession(@PathVariable String sessionId) {
+        return comparisonSessionService.get(sessionId);
+    }
+
+    @RequestMapping(method = RequestMethod.PATCH, produces = "application/json",
+            value = "/compare/sessions/{sessionId}")
+    public ComparisonSessionResponse updateSession(@PathVariable String sessionId,
+                                                   @RequestBody Map<String, Object> body) {
+        return comparisonSessionService.update(sessionId, body);
+    }
+
+    @RequestMapping(method = RequestMethod.DELETE, value = "/compare/sessions/{sessionId}")
+    public void deleteSession(@PathVariable String sessionId) {
+        comparisonSessionService.delete(sessionId);
+    }
 
-        return new ComparisonResponse(
-                costsCalculator.calculateTotalAnnuityPayments(body, payment),
-                costsCalculator.calculateTotalDifferentiatedPayments(body),
-                totalAnnuityCosts,
-                totalDifferentiatedCosts,
-                costsCalculator.calculateRentForWholePeriod(body),
-                totalRentCosts,
-                totalRentGains,
-                totalBuyGains,
-                gainsCalculator.calculateFinalRealEstatePrice(body),
-                balanceCalculator.calculateBalance(totalRentCosts, totalRentGains),
-                buyBalance
-        );
+    private ComparisonResponse compare(ComparisonParameters comparisonParameters, Boolean closedForm) {
+        return closedForm == null ? cachedComparisonService.compare(comparisonParameters)
+                : cachedComparisonService.compare(comparisonParameters, closedForm);
     }
 
     @ControllerAdvice
@@ -100,5 +221,15 @@ public class CompareController {
             return new ResponseEntity<>(body, headers, status);
 
         }
+
+        @ExceptionHandler(InvalidRequestException.class)
+        protected ResponseEntity<Object> handleInvalidRequest(InvalidRequestException ex) {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("timestamp", new Date());
+            body.put("status", HttpStatus.BAD_REQUEST.value());
+            body.put("errors", ex.getErrors());
+
+            return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+        }
     }
 }
@@ -0,0 +1,148 @@
+package rent_vs_buy.controller;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+import rent_vs_buy.models.ComparisonField;
+import rent_vs_buy.models.ComparisonParameters;
+import rent_vs_buy.models.ComparisonRequest;
+import rent_vs_buy.models.ComparisonRequest.ConstraintViolationConsumer;
+import rent_vs_buy.models.ComparisonResponse;
+import rent_vs_buy.service.InvalidRequestException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Fixed-layout little-endian encoding: a request is the ten doubles of ComparisonParameters in declaration order
+// followed by one byte for isDifferentiatedPayment, a response is the eleven doubles of ComparisonResponse.
+@Component
+public class ComparisonBinaryHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.rent-vs-buy.comparison";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+    public static final int REQUEST_LENGTH = 10 * Double.BYTES + 1;
+    public static final int RESPONSE_LENGTH = 11 * Double.BYTES;
+
+    public ComparisonBinaryHttpMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(@NotNull Class<?> clazz) {
+        return clazz == ComparisonParameters.class || clazz == ComparisonResponse.class;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return mediaType != null && super.canRead(mediaType);
+    }
+
+    @Override
+    public boolean canRead(@NotNull Class<?> clazz, MediaType mediaType) {
+        return clazz == ComparisonParameters.class && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(@NotNull Class<?> clazz, MediaType mediaType) {
+        return clazz == ComparisonResponse.class && canWrite(mediaType);
+    }
+
+    @Override
+    protected Long getContentLength(@NotNull Object object, MediaType contentType) {
+        return (long) RESPONSE_LENGTH;
+    }
+
+    @Override
+    protected @NotNull Object readInternal(@NotNull Class<?> clazz, @NotNull HttpInputMessage inputMessage)
+            throws IOException {
+        byte[] body = inputMessage.getBody().readNBytes(REQUEST_LENGTH + 1);
+        if (body.length != REQUEST_LENGTH) {
+            throw new HttpMessageNotReadableException("Comparison request should be " + REQUEST_LENGTH + " bytes long",
+                    inputMessage);
+        }
+        return decode(ByteBuffer.wrap(body).order(ByteOrder.LITTLE_ENDIAN));
+    }
+
+    @Override
+    protected void writeInternal(@NotNull Object object, @NotNull HttpOutputMessage outputMessage)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(RESPONSE_LENGTH).order(ByteOrder.LITTLE_ENDIAN);
+        encode((ComparisonResponse) object, buffer);
+        outputMessage.getBody().write(buffer.array());
+    }
+
+    // Reports every invalid field at once, checked like the JSON body plus the NaN and infinities only this
+    // encoding can carry
+    public static ComparisonParameters decode(ByteBuffer buffer) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        ConstraintViolationConsumer violations = (field, rejectedValue, constraint, message) ->
+                errors.put(field, message);
+        double fullPrice = decode(ComparisonField.FULL_PRICE, buffer, violations);
+        double loanBody = decode(ComparisonField.LOAN_BODY, buffer, violations);
+        double yearsOfLoan = decode(ComparisonField.YEARS_OF_LOAN, buffer, violations);
+        double creditInterestRate = decode(ComparisonField.CREDIT_INTEREST_RATE, buffer, violations);
+        double monthlyRent = decode(ComparisonField.MONTHLY_RENT, buffer, violations);
+        double rentInflationRate = decode(ComparisonField.RENT_INFLATION_RATE, buffer, violations);
+        double renovationCost = decode(ComparisonField.RENOVATION_COST, buffer, violations);
+        double debitInterestRate = decode(ComparisonField.DEBIT_INTEREST_RATE, buffer, violations);
+        double taxRate = decode(ComparisonField.TAX_RATE, buffer, violations);
+        double insuranceRate = decode(ComparisonField.INSURANCE_RATE, buffer, violations);
+        byte isDifferentiatedPayment = buffer.get();
+        if (isDifferentiatedPayment != 0 && isDifferentiatedPayment != 1) {
+            errors.put("isDifferentiatedPayment", "Payment type should be encoded as 0 or 1");
+        }
+        if (!errors.isEmpty()) {
+            throw new InvalidRequestException(errors);
+        }
+        return new ComparisonParameters(fullPrice, loanBody, yearsOfLoan, creditInterestRate, monthlyRent,
+                rentInflationRate, renovationCost, debitInterestRate, taxRate, insuranceRate,
+                isDifferentiatedPayment == 1);
+    }
+
+    public static void encode(ComparisonParameters comparisonParameters, ByteBuffer buffer) {
+        buffer.putDouble(comparisonParameters.getFullPrice())
+                .putDouble(comparisonParameters.getLoanBody())
+                .putDouble(comparisonParameters.getYearsOfLoan())
+                .putDouble(comparisonParameters.getCreditInterestRate())
+                .putDouble(comparisonParameters.getMonthlyRent())
+                .putDouble(comparisonParameters.getRentInflationRate())
+                .putDouble(comparisonParameters.getRenovationCost())
+                .putDouble(comparisonParameters.getDebitInterestRate())
+                .putDouble(comparisonParameters.getTaxRate())
+                .putDouble(comparisonParameters.getInsuranceRate())
+                .put((byte) (comparisonParameters.getIsDifferentiatedPayment() ? 1 : 0));
+    }
+
+    public static ComparisonResponse decodeResponse(ByteBuffer buffer) {
+        return new ComparisonResponse(buffer.getDouble(), buffer.getDouble(), buffer.getDouble(), buffer.getDouble(),
+                buffer.getDouble(), buffer.getDouble(), buffer.getDouble(), buffer.getDouble(), buffer.getDouble(),
+                buffer.getDouble(), buffer.getDouble());
+    }
+
+    public static void encode(ComparisonResponse comparisonResponse, ByteBuffer buffer) {
+        buffer.putDouble(comparisonResponse.getSumOfAnnuityPayments())
+                .putDouble(comparisonResponse.getSumOfDifferentiatedPayments())
+                .putDouble(comparisonResponse.getTotalAnnuityCosts())
+                .putDouble(comparisonResponse.getTotalDifferentiatedCosts())
+                .putDouble(comparisonResponse.getPayedForRent())
+                .putDouble(comparisonResponse.getTotalRentCosts())
+                .putDouble(comparisonResponse.getTotalRentGains())
+                .putDouble(comparisonResponse.getTotalBuyGains())
+                .putDouble(comparisonResponse.getFinalRealEstatePrice())
+                .putDouble(comparisonResponse.getRentBalance())
+                .putDouble(comparisonResponse.getBuyBalance());
+    }
+
+    private static double decode(ComparisonField field, ByteBuffer buffer, ConstraintViolationConsumer violations) {
+        double value = buffer.getDouble();
+        ComparisonRequest.validate(field, value, violations);
+        return value;
+    }
+}
@@ -0,0 +1,206 @@
+package rent_vs_buy.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+import rent_vs_buy.metrics.ComparisonMetrics;
+import rent_vs_buy.models.ComparisonResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+// Writes a ComparisonResponse as compact JSON without going through Jackson's bean serializer: the field names are
+// pre-encoded and the doubles are formatted straight into a per-thread buffer. The output is byte-identical to the
+// application ObjectMapper's; if that mapper is configured differently (indentation, numbers as strings, property
+// inclusion) the startup self-check fails and responses are left to the Jackson converter.
+@Component
+public class ComparisonJsonHttpMessageConverter extends AbstractHttpMessageConverter<ComparisonResponse> {
+
+    private static final Logger log = LoggerFactory.getLogger(ComparisonJsonHttpMessageConverter.class);
+
+    private static final byte[][] FIELD_PREFIXES = fieldPrefixes("sumOfAnnuityPayments",
+            "sumOfDifferentiatedPayments", "totalAnnuityCosts", "totalDifferentiatedCosts", "payedForRent",
+            "totalRentCosts", "totalRentGains", "totalBuyGains", "finalRealEstatePrice", "rentBalance", "buyBalance");
+    // Double.toString is at most 24 characters long
+    static final int MAX_LENGTH = Arrays.stream(FIELD_PREFIXES).mapToInt(prefix -> prefix.length + 24).sum() + 1;
+    private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[MAX_LENGTH]);
+
+    private final Timer serializationTimer;
+    private final boolean enabled;
+
+    public ComparisonJsonHttpMessageConverter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        super(MediaType.APPLICATION_JSON);
+        this.serializationTimer = ComparisonMetrics.stageTimer(meterRegistry, "serialization");
+        this.enabled = matches(objectMapper);
+        if (!enabled) {
+            log.info("ObjectMapper output differs from the compact comparison format, using Jackson for responses");
+        }
+    }
+
+    @Override
+    protected boolean supports(@NotNull Class<?> clazz) {
+        return clazz == ComparisonResponse.class;
+    }
+
+    @Override
+    public boolean canRead(@NotNull Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canWrite(MediaType mediaType) {
+        return enabled && super.canWrite(mediaType)
+                && (mediaType == null || mediaType.getCharset() == null
+                || StandardCharsets.UTF_8.equals(mediaType.getCharset()));
+    }
+
+    @Override
+    protected @NotNull ComparisonResponse readInternal(@NotNull Class<? extends ComparisonResponse> clazz,
+                                                       @NotNull HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Comparison responses are not read as JSON", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(@NotNull ComparisonResponse comparisonResponse,
+                                 @NotNull HttpOutputMessage outputMessage) throws IOException {
+        long start = System.nanoTime();
+        try {
+            byte[] buffer = BUFFER.get();
+            outputMessage.getBody().write(buffer, 0, write(comparisonResponse, buffer));
+        } finally {
+            serializationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public static byte[] toJson(ComparisonResponse comparisonResponse) {
+        byte[] buffer = new byte[MAX_LENGTH];
+        return Arrays.copyOf(buffer, write(comparisonResponse, buffer));
+    }
+
+    static int write(ComparisonResponse comparisonResponse, byte[] buffer) {
+        int position = 0;
+        position = writeField(buffer, position, 0, comparisonResponse.getSumOfAnnuityPayments());
+        position = writeField(buffer, position, 1, comparisonResponse.getSumOfDifferentiatedPayments());
+        position = writeField(buffer, position, 2, comparisonResponse.getTotalAnnuityCosts());
+        position = writeField(buffer, position, 3, comparisonResponse.getTotalDifferentiatedCosts());
+        position = writeField(buffer, position, 4, comparisonResponse.getPayedForRent());
+        position = writeField(buffer, position, 5, comparisonResponse.getTotalRentCosts());
+        position = writeField(buffer, position, 6, comparisonResponse.getTotalRentGains());
+        position = writeField(buffer, position, 7, comparisonResponse.getTotalBuyGains());
+        position = writeField(buffer, position, 8, comparisonResponse.getFinalRealEstatePrice());
+        position = writeField(buffer, position, 9, comparisonResponse.getRentBalance());
+        position = writeField(buffer, position, 10, comparisonResponse.getBuyBalance());
+        buffer[position++] = '}';
+        return position;
+    }
+
+    private static int writeField(byte[] buffer, int position, int field, double value) {
+        byte[] prefix = FIELD_PREFIXES[field];
+        System.arraycopy(prefix, 0, buffer, position, prefix.length);
+        return writeDouble(buffer, position + prefix.length, value);
+    }
+
+    // Most results are rounded to cents. When the value is the double nearest to a whole number of cents below
+    // 10^13, that decimal has at most 15 significant digits and is therefore its shortest representation, which is
+    // what Double.toString prints: in plain notation below 10^7 and in computerized scientific notation above.
+    // Anything else goes through Double.toString, with non-finite values quoted like Jackson does.
+    private static int writeDouble(byte[] buffer, int position, double value) {
+        double magnitude = Math.abs(value);
+        if (magnitude < 1e13) {
+            long cents = Math.round(magnitude * 100);
+            if (cents != 0 && cents / 100D == magnitude) {
+                if (value < 0) {
+                    buffer[position++] = '-';
+                }
+                return magnitude < 1e7 ? writePlain(buffer, position, cents)
+                        : writeScientific(buffer, position, cents);
+            }
+        }
+        boolean quoted = Double.isNaN(value) || Double.isInfinite(value);
+        if (quoted) {
+            buffer[position++] = '"';
+        }
+        String string = Double.toString(value);
+        for (int i = 0; i < string.length(); i++) {
+            buffer[position++] = (byte) string.charAt(i);
+        }
+        if (quoted) {
+            buffer[position++] = '"';
+        }
+        return position;
+    }
+
+    private static int writePlain(byte[] buffer, int position, long cents) {
+        position = writeLong(buffer, position, cents / 100);
+        buffer[position++] = '.';
+        int fraction = (int) (cents % 100);
+        buffer[position++] = (byte) ('0' + fraction / 10);
+        if (fraction % 10 != 0) {
+            buffer[position++] = (byte) ('0' + fraction % 10);
+        }
+        return position;
+    }
+
+    private static int writeScientific(byte[] buffer, int position, long cents) {
+        int exponent = digits(cents / 100) - 1;
+        long significand = cents;
+        while (significand % 10 == 0) {
+            significand /= 10;
+        }
+        int end = writeLong(buffer, position + 1, significand);
+        buffer[position] = buffer[position + 1];
+        buffer[position + 1] = '.';
+        if (end == position + 2) {
+            buffer[end++] = '0';
+        }
+        buffer[end++] = 'E';
+        return writeLong(buffer, end, exponent);
+    }
+
+    private static int writeLong(byte[] buffer, int position, long value) {
+        int end = position + digits(value);
+        for (int i = end - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return end;
+    }
+
+    private static int digits(long value) {
+        int digits = 1;
+        for (long bound = 10; value >= bound && digits < 19; bound *= 10) {
+            digits++;
+        }
+        return digits;
+    }
+
+    private static byte[][] fieldPrefixes(String... fields) {
+        byte[][] prefixes = new byte[fields.length][];
+        for (int i = 0; i < fields.length; i++) {
+            prefixes[i] = ((i == 0 ? "{\"" : ",\"") + fields[i] + "\":").getBytes(StandardCharsets.US_ASCII);
+        }
+        return prefixes;
+    }
+
+    private static boolean matches(ObjectMapper objectMapper) {
+        ComparisonResponse probe = new ComparisonResponse(4097995.2, 0D, -0D, -1441220.65, 5593685.629999999,
+                1.345509837E7, Double.NaN, Double.NEGATIVE_INFINITY, 1e-5, 0.1, 100D);
+        try {
+            return Arrays.equals(objectMapper.writeValueAsBytes(probe), toJson(probe));
+        } catch (JsonProcessingException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package rent_vs_buy.controller;
+
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.SmartValidator;
+import rent_vs_buy.models.ComparisonRequest;
+
+// Validates a top-level ComparisonRequest body with its hand-written checks, producing the same field errors as
+// Bean Validation; everything else, including requests nested in other bodies, goes to the fallback validator.
+public class ComparisonRequestValidator implements SmartValidator {
+
+    private final SmartValidator fallback;
+
+    public ComparisonRequestValidator(SmartValidator fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return ComparisonRequest.class == clazz || fallback.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        if (target instanceof ComparisonRequest) {
+            validate((ComparisonRequest) target, errors);
+        } else {
+            fallback.validate(target, errors);
+        }
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        if (target instanceof ComparisonRequest && validationHints.length == 0) {
+            validate((ComparisonRequest) target, errors);
+        } else {
+            fallback.validate(target, errors, validationHints);
+        }
+    }
+
+    private void validate(ComparisonRequest comparisonRequest, Errors errors) {
+        comparisonRequest.validate((field, rejectedValue, constraint, message) -> {
+            if (errors instanceof BindingResult) {
+                BindingResult bindingResult = (BindingResult) errors;
+                bindingResult.addError(new FieldError(errors.getObjectName(), field, rejectedValue, false,
+                        bindingResult.resolveMessageCodes(constraint, field), null, message));
+            } else {
+                errors.rejectValue(field, constraint, message);
+            }
+        });
+    }
+}
@@ -0,0 +1,34 @@
+package rent_vs_buy.controller;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import rent_vs_buy.metrics.TimedValidator;
+
+@Configuration
+public class ValidationConfiguration implements WebMvcConfigurer {
+
+    private final ObjectProvider<javax.validation.Validator> validator;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final boolean compiledValidation;
+
+    public ValidationConfiguration(ObjectProvider<javax.validation.Validator> validator,
+                                   ObjectProvider<MeterRegistry> meterRegistry,
+                                   @Value("${compare.validation.compiled:true}") boolean compiledValidation) {
+        this.validator = validator;
+        this.meterRegistry = meterRegistry;
+        this.compiledValidation = compiledValidation;
+    }
+
+    @Override
+    public Validator getValidator() {
+        SmartValidator beanValidator = new SpringValidatorAdapter(validator.getObject());
+        return new TimedValidator(compiledValidation ? new ComparisonRequestValidator(beanValidator) : beanValidator,
+                meterRegistry.getObject());
+    }
+}
@@ -0,0 +1,65 @@
+package rent_vs_buy.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Measures the bytes allocated by the servlet thread between the handler call and the completion of the request.
+// Work done on other threads, such as the body of a StreamingResponseBody, is not seen here, so streaming endpoints
+// are left out of the registration.
+public class AllocationInterceptor implements HandlerInterceptor {
+
+    private static final String ALLOCATED_BYTES_ATTRIBUTE = AllocationInterceptor.class.getName() + ".allocated";
+
+    private final com.sun.management.ThreadMXBean threadMXBean;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public AllocationInterceptor(MeterRegistry meterRegistry) {
+        this.threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        this.meterRegistry = meterRegistry;
+    }
+
+    public static boolean isSupported() {
+        return ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .isThreadAllocatedMemoryEnabled();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(ALLOCATED_BYTES_ATTRIBUTE, threadMXBean.getThreadAllocatedBytes(currentThreadId()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object allocatedBefore = request.getAttribute(ALLOCATED_BYTES_ATTRIBUTE);
+        if (!(allocatedBefore instanceof Long)) {
+            return;
+        }
+        long allocated = threadMXBean.getThreadAllocatedBytes(currentThreadId()) - (Long) allocatedBefore;
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        summaries.computeIfAbsent(uri != null ? uri.toString() : "UNKNOWN", this::summary).record(allocated);
+    }
+
+    private DistributionSummary summary(String uri) {
+        return DistributionSummary.builder("compare.request.allocated")
+                .baseUnit("bytes")
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static long currentThreadId() {
+        return Thread.currentThread().getId();
+    }
+}
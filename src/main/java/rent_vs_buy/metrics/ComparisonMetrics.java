@@ -0,0 +1,17 @@
+package rent_vs_buy.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+public final class ComparisonMetrics {
+
+    private ComparisonMetrics() {
+    }
+
+    public static Timer stageTimer(MeterRegistry meterRegistry, String stage) {
+        return Timer.builder("compare.stage")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
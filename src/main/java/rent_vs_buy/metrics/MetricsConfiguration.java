@@ -0,0 +1,33 @@
+package rent_vs_buy.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class MetricsConfiguration implements WebMvcConfigurer {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public MetricsConfiguration(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public TimedJacksonHttpMessageConverter timedJacksonHttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimedJacksonHttpMessageConverter(objectMapper, meterRegistry.getObject());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (AllocationInterceptor.isSupported()) {
+            registry.addInterceptor(new AllocationInterceptor(meterRegistry.getObject()))
+                    .addPathPatterns("/compare", "/compare/**")
+                    .excludePathPatterns("/compare/batch", "/compare/schedule");
+        }
+    }
+}
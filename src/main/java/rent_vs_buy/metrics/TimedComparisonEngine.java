@@ -0,0 +1,61 @@
+package rent_vs_buy.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import rent_vs_buy.balancecalculator.ComparisonEngine;
+import rent_vs_buy.balancecalculator.ComparisonEngine.LoanTotals;
+import rent_vs_buy.balancecalculator.CostsCalculator;
+import rent_vs_buy.balancecalculator.EvaluationContext;
+import rent_vs_buy.balancecalculator.GainsCalculator;
+import rent_vs_buy.models.ComparisonParameters;
+import rent_vs_buy.models.ComparisonResponse;
+
+import java.util.concurrent.TimeUnit;
+
+// Runs the stages of ComparisonEngine.compare one by one and records each of them. Only the /compare request path
+// goes through here; the solvers, batches, sweeps and the warm-up call the engine directly and record nothing.
+@Component
+public class TimedComparisonEngine {
+
+    private final ComparisonEngine comparisonEngine;
+    private final CostsCalculator costsCalculator;
+    private final Timer annuityTimer;
+    private final Timer insuranceTimer;
+    private final Timer rentCostTimer;
+    private final Timer gainsTimer;
+
+    public TimedComparisonEngine(ComparisonEngine comparisonEngine, CostsCalculator costsCalculator,
+                                 MeterRegistry meterRegistry) {
+        this.comparisonEngine = comparisonEngine;
+        this.costsCalculator = costsCalculator;
+        this.annuityTimer = ComparisonMetrics.stageTimer(meterRegistry, "annuity");
+        this.insuranceTimer = ComparisonMetrics.stageTimer(meterRegistry, "insurance");
+        this.rentCostTimer = ComparisonMetrics.stageTimer(meterRegistry, "rent-cost");
+        this.gainsTimer = ComparisonMetrics.stageTimer(meterRegistry, "gains");
+    }
+
+    public ComparisonResponse compare(ComparisonParameters comparisonParameters) {
+        return compare(comparisonParameters, comparisonEngine.isClosedForm());
+    }
+
+    public ComparisonResponse compare(ComparisonParameters comparisonParameters, boolean closedForm) {
+        long start = System.nanoTime();
+        EvaluationContext context = new EvaluationContext(comparisonParameters);
+        double annuityPayment = comparisonEngine.calculateAnnuityPayment(context);
+        long annuityEnd = System.nanoTime();
+        LoanTotals loanTotals = comparisonEngine.calculateLoanTotals(context, annuityPayment, closedForm);
+        long insuranceEnd = System.nanoTime();
+        double payedForRent = costsCalculator.calculateRentForWholePeriod(comparisonParameters);
+        long rentCostEnd = System.nanoTime();
+        ComparisonResponse comparisonResponse = comparisonEngine.compare(context, annuityPayment, loanTotals,
+                payedForRent, GainsCalculator.DEFAULT_APPRECIATION_RATE);
+        long gainsEnd = System.nanoTime();
+
+        annuityTimer.record(annuityEnd - start, TimeUnit.NANOSECONDS);
+        insuranceTimer.record(insuranceEnd - annuityEnd, TimeUnit.NANOSECONDS);
+        rentCostTimer.record(rentCostEnd - insuranceEnd, TimeUnit.NANOSECONDS);
+        gainsTimer.record(gainsEnd - rentCostEnd, TimeUnit.NANOSECONDS);
+        return comparisonResponse;
+    }
+}
@@ -0,0 +1,38 @@
+package rent_vs_buy.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+
+import java.util.concurrent.TimeUnit;
+
+public class TimedValidator implements SmartValidator {
+
+    private final SmartValidator validator;
+    private final Timer validationTimer;
+
+    public TimedValidator(SmartValidator validator, MeterRegistry meterRegistry) {
+        this.validator = validator;
+        this.validationTimer = ComparisonMetrics.stageTimer(meterRegistry, "validation");
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return validator.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        long start = System.nanoTime();
+        validator.validate(target, errors);
+        validationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        long start = System.nanoTime();
+        validator.validate(target, errors, validationHints);
+        validationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,30 @@
+package rent_vs_buy.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchComparisonResponse {
+    private final long index;
+    private final ComparisonResponse result;
+    private final Map<String, String> errors;
+
+    public BatchComparisonResponse(long index, ComparisonResponse result, Map<String, String> errors) {
+        this.index = index;
+        this.result = result;
+        this.errors = errors;
+    }
+
+    public long getIndex() {
+        return index;
+    }
+
+    public ComparisonResponse getResult() {
+        return result;
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,40 @@
+package rent_vs_buy.models;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+public class BreakEvenRequest {
+    @NotNull(message = "Base request should not be empty")
+    @Valid
+    private ComparisonRequest base;
+    @NotBlank(message = "Unknown field should not be empty")
+    private String unknown;
+    @NotNull(message = "Lower bound should not be empty")
+    private Double lowerBound;
+    @NotNull(message = "Upper bound should not be empty")
+    private Double upperBound;
+
+    public BreakEvenRequest(ComparisonRequest base, String unknown, Double lowerBound, Double upperBound) {
+        this.base = base;
+        this.unknown = unknown;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+    }
+
+    public ComparisonRequest getBase() {
+        return base;
+    }
+
+    public String getUnknown() {
+        return unknown;
+    }
+
+    public double getLowerBound() {
+        return lowerBound;
+    }
+
+    public double getUpperBound() {
+        return upperBound;
+    }
+}
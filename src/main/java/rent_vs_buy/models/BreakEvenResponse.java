@@ -0,0 +1,44 @@
+package rent_vs_buy.models;
+
+public class BreakEvenResponse {
+    private final String unknown;
+    private final double value;
+    private final int iterations;
+    private final boolean converged;
+    private final double rentBalance;
+    private final double buyBalance;
+
+    public BreakEvenResponse(String unknown, double value, int iterations, boolean converged, double rentBalance,
+                             double buyBalance) {
+        this.unknown = unknown;
+        this.value = value;
+        this.iterations = iterations;
+        this.converged = converged;
+        this.rentBalance = rentBalance;
+        this.buyBalance = buyBalance;
+    }
+
+    public String getUnknown() {
+        return unknown;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public boolean isConverged() {
+        return converged;
+    }
+
+    public double getRentBalance() {
+        return rentBalance;
+    }
+
+    public double getBuyBalance() {
+        return buyBalance;
+    }
+}
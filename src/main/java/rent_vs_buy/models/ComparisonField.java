@@ -0,0 +1,81 @@
+package rent_vs_buy.models;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.ToDoubleFunction;
+
+public enum ComparisonField {
+    FULL_PRICE("fullPrice", ComparisonParameters::getFullPrice, true, false, true),
+    LOAN_BODY("loanBody", ComparisonParameters::getLoanBody, true, false, true),
+    YEARS_OF_LOAN("yearsOfLoan", ComparisonParameters::getYearsOfLoan, true, true, true),
+    CREDIT_INTEREST_RATE("creditInterestRate", ComparisonParameters::getCreditInterestRate, true, false, true),
+    MONTHLY_RENT("monthlyRent", ComparisonParameters::getMonthlyRent, false, true, true),
+    RENT_INFLATION_RATE("rentInflationRate", ComparisonParameters::getRentInflationRate, false, true, false),
+    RENOVATION_COST("renovationCost", ComparisonParameters::getRenovationCost, false, false, true),
+    DEBIT_INTEREST_RATE("debitInterestRate", ComparisonParameters::getDebitInterestRate, false, false, false),
+    TAX_RATE("taxRate", ComparisonParameters::getTaxRate, false, false, true),
+    INSURANCE_RATE("insuranceRate", ComparisonParameters::getInsuranceRate, true, false, true);
+
+    private static final ComparisonField[] FIELDS = values();
+
+    private final String fieldName;
+    private final ToDoubleFunction<ComparisonParameters> getter;
+    private final boolean affectsLoanSchedule;
+    private final boolean affectsRent;
+    private final boolean positiveOrZero;
+
+    ComparisonField(String fieldName, ToDoubleFunction<ComparisonParameters> getter, boolean affectsLoanSchedule,
+                    boolean affectsRent, boolean positiveOrZero) {
+        this.fieldName = fieldName;
+        this.getter = getter;
+        this.affectsLoanSchedule = affectsLoanSchedule;
+        this.affectsRent = affectsRent;
+        this.positiveOrZero = positiveOrZero;
+    }
+
+    public static Optional<ComparisonField> fromFieldName(String fieldName) {
+        return Arrays.stream(FIELDS).filter(field -> field.fieldName.equals(fieldName)).findFirst();
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    public boolean affectsLoanSchedule() {
+        return affectsLoanSchedule;
+    }
+
+    public boolean affectsRent() {
+        return affectsRent;
+    }
+
+    public boolean isPositiveOrZero() {
+        return positiveOrZero;
+    }
+
+    // a zero term or credit rate leaves the annuity payment undefined whenever there is a loan
+    public boolean isUndefinedAtZero() {
+        return this == YEARS_OF_LOAN || this == CREDIT_INTEREST_RATE;
+    }
+
+    public double get(ComparisonParameters comparisonParameters) {
+        return getter.applyAsDouble(comparisonParameters);
+    }
+
+    public ComparisonParameters with(ComparisonParameters comparisonParameters, double value) {
+        return with(comparisonParameters, new ComparisonField[]{this}, new double[]{value});
+    }
+
+    public static ComparisonParameters with(ComparisonParameters comparisonParameters, ComparisonField[] fields,
+                                            double[] fieldValues) {
+        double[] values = new double[FIELDS.length];
+        for (ComparisonField field : FIELDS) {
+            values[field.ordinal()] = field.get(comparisonParameters);
+        }
+        for (int i = 0; i < fields.length; i++) {
+            values[fields[i].ordinal()] = fieldValues[i];
+        }
+        return new ComparisonParameters(values[0], values[1], values[2], values[3], values[4], values[5], values[6],
+                values[7], values[8], values[9], comparisonParameters.getIsDifferentiatedPayment());
+    }
+}
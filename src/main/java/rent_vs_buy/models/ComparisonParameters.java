@@ -0,0 +1,122 @@
+package rent_vs_buy.models;
+
+public final class ComparisonParameters {
+    private final double fullPrice;
+    private final double loanBody;
+    private final double yearsOfLoan;
+    private final double creditInterestRate;
+    private final double monthlyRent;
+    private final double rentInflationRate;
+    private final double renovationCost;
+    private final double debitInterestRate;
+    private final double taxRate;
+    private final double insuranceRate;
+    private final boolean isDifferentiatedPayment;
+    private final int hashCode;
+
+    public ComparisonParameters(double fullPrice, double loanBody, double yearsOfLoan, double creditInterestRate,
+                                double monthlyRent, double rentInflationRate, double renovationCost,
+                                double debitInterestRate, double taxRate, double insuranceRate,
+                                boolean isDifferentiatedPayment) {
+        this.fullPrice = fullPrice + 0.0;
+        this.loanBody = loanBody + 0.0;
+        this.yearsOfLoan = yearsOfLoan + 0.0;
+        this.creditInterestRate = creditInterestRate + 0.0;
+        this.monthlyRent = monthlyRent + 0.0;
+        this.rentInflationRate = rentInflationRate + 0.0;
+        this.renovationCost = renovationCost + 0.0;
+        this.debitInterestRate = debitInterestRate + 0.0;
+        this.taxRate = taxRate + 0.0;
+        this.insuranceRate = insuranceRate + 0.0;
+        this.isDifferentiatedPayment = isDifferentiatedPayment;
+        this.hashCode = computeHashCode();
+    }
+
+    public double getFullPrice() {
+        return fullPrice;
+    }
+
+    public double getLoanBody() {
+        return loanBody;
+    }
+
+    public double getYearsOfLoan() {
+        return yearsOfLoan;
+    }
+
+    public double getCreditInterestRate() {
+        return creditInterestRate;
+    }
+
+    public double getMonthlyRent() {
+        return monthlyRent;
+    }
+
+    public double getRentInflationRate() {
+        return rentInflationRate;
+    }
+
+    public double getRenovationCost() {
+        return renovationCost;
+    }
+
+    public double getDebitInterestRate() {
+        return debitInterestRate;
+    }
+
+    public double getTaxRate() {
+        return taxRate;
+    }
+
+    public double getInsuranceRate() {
+        return insuranceRate;
+    }
+
+    public boolean getIsDifferentiatedPayment() {
+        return isDifferentiatedPayment;
+    }
+
+    private int computeHashCode() {
+        long hash = Double.doubleToLongBits(fullPrice);
+        hash = 31 * hash + Double.doubleToLongBits(loanBody);
+        hash = 31 * hash + Double.doubleToLongBits(yearsOfLoan);
+        hash = 31 * hash + Double.doubleToLongBits(creditInterestRate);
+        hash = 31 * hash + Double.doubleToLongBits(monthlyRent);
+        hash = 31 * hash + Double.doubleToLongBits(rentInflationRate);
+        hash = 31 * hash + Double.doubleToLongBits(renovationCost);
+        hash = 31 * hash + Double.doubleToLongBits(debitInterestRate);
+        hash = 31 * hash + Double.doubleToLongBits(taxRate);
+        hash = 31 * hash + Double.doubleToLongBits(insuranceRate);
+        hash = 31 * hash + (isDifferentiatedPayment ? 1 : 0);
+        hash *= 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ComparisonParameters)) {
+            return false;
+        }
+        ComparisonParameters that = (ComparisonParameters) o;
+        return hashCode == that.hashCode
+                && Double.doubleToLongBits(fullPrice) == Double.doubleToLongBits(that.fullPrice)
+                && Double.doubleToLongBits(loanBody) == Double.doubleToLongBits(that.loanBody)
+                && Double.doubleToLongBits(yearsOfLoan) == Double.doubleToLongBits(that.yearsOfLoan)
+                && Double.doubleToLongBits(creditInterestRate) == Double.doubleToLongBits(that.creditInterestRate)
+                && Double.doubleToLongBits(monthlyRent) == Double.doubleToLongBits(that.monthlyRent)
+                && Double.doubleToLongBits(rentInflationRate) == Double.doubleToLongBits(that.rentInflationRate)
+                && Double.doubleToLongBits(renovationCost) == Double.doubleToLongBits(that.renovationCost)
+                && Double.doubleToLongBits(debitInterestRate) == Double.doubleToLongBits(that.debitInterestRate)
+                && Double.doubleToLongBits(taxRate) == Double.doubleToLongBits(that.taxRate)
+                && Double.doubleToLongBits(insuranceRate) == Double.doubleToLongBits(that.insuranceRate)
+                && isDifferentiatedPayment == that.isDifferentiatedPayment;
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+}
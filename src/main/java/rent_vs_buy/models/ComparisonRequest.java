@@ -1,39 +1,52 @@
 package rent_vs_buy.models;
 
-
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.PositiveOrZero;
 
 public class ComparisonRequest {
-    @NotNull(message = "Full price should not be empty")
-    @PositiveOrZero
+    public static final String POSITIVE_OR_ZERO_MESSAGE = "must be greater than or equal to 0";
+    public static final String FINITE_MESSAGE = "must be a finite number";
+    private static final String FULL_PRICE_EMPTY_MESSAGE = "Full price should not be empty";
+    private static final String LOAN_BODY_EMPTY_MESSAGE = "Loan body should not be empty";
+    private static final String YEARS_OF_LOAN_EMPTY_MESSAGE = "Years of loan  should not be empty";
+    private static final String CREDIT_INTEREST_RATE_EMPTY_MESSAGE = "Credit interest rate should not be empty";
+    private static final String MONTHLY_RENT_EMPTY_MESSAGE = "Monthly rent should not be empty";
+    private static final String RENT_INFLATION_RATE_EMPTY_MESSAGE = "Rent inflation rate should not be empty";
+    private static final String RENOVATION_COST_EMPTY_MESSAGE = "Renovation cost should not be empty";
+    private static final String DEBIT_INTEREST_RATE_EMPTY_MESSAGE = "Debit interest rate should not be empty";
+    private static final String TAX_RATE_EMPTY_MESSAGE = "Tax rate should not be empty";
+    private static final String INSURANCE_RATE_EMPTY_MESSAGE = "Insurance rate should not be empty";
+    private static final String PAYMENT_TYPE_EMPTY_MESSAGE = "Should provide information about payment type";
+
+    @NotNull(message = FULL_PRICE_EMPTY_MESSAGE)
+    @PositiveOrZero(message = POSITIVE_OR_ZERO_MESSAGE)
     private Double fullPrice;
-    @NotNull(message = "Loan body should not be empty")
-    @PositiveOrZero
+    @NotNull(message = LOAN_BODY_EMPTY_MESSAGE)
+    @PositiveOrZero(message = POSITIVE_OR_ZERO_MESSAGE)
     private Double loanBody;
-    @NotNull(message = "Years of loan  should not be empty")
-    @PositiveOrZero
+    @NotNull(message = YEARS_OF_LOAN_EMPTY_MESSAGE)
+    @PositiveOrZero(message = POSITIVE_OR_ZERO_MESSAGE)
     private Double yearsOfLoan;
-    @NotNull(message = "Credit interest rate should not be empty")
-    @PositiveOrZero
+    @NotNull(message = CREDIT_INTEREST_RATE_EMPTY_MESSAGE)
+    @PositiveOrZero(message = POSITIVE_OR_ZERO_MESSAGE)
     private Double creditInterestRate;
-    @NotNull(message = "Monthly rent should not be empty")
-    @PositiveOrZero
+    @NotNull(message = MONTHLY_RENT_EMPTY_MESSAGE)
+    @PositiveOrZero(message = POSITIVE_OR_ZERO_MESSAGE)
     private Double monthlyRent;
-    @NotNull(message = "Rent inflation rate should not be empty")
+    @NotNull(message = RENT_INFLATION_RATE_EMPTY_MESSAGE)
     private Double rentInflationRate;
-    @NotNull(message = "Renovation cost should not be empty")
-    @PositiveOrZero
+    @NotNull(message = RENOVATION_COST_EMPTY_MESSAGE)
+    @PositiveOrZero(message = POSITIVE_OR_ZERO_MESSAGE)
     private Double renovationCost;
-    @NotNull(message = "Debit interest rate should not be empty")
+    @NotNull(message = DEBIT_INTEREST_RATE_EMPTY_MESSAGE)
     private Double debitInterestRate;
-    @NotNull(message = "Tax rate should not be empty")
-    @PositiveOrZero
+    @NotNull(message = TAX_RATE_EMPTY_MESSAGE)
+    @PositiveOrZero(message = POSITIVE_OR_ZERO_MESSAGE)
     private Double taxRate;
-    @NotNull(message = "Insurance rate should not be empty")
-    @PositiveOrZero
+    @NotNull(message = INSURANCE_RATE_EMPTY_MESSAGE)
+    @PositiveOrZero(message = POSITIVE_OR_ZERO_MESSAGE)
     private Double insuranceRate;
-    @NotNull(message = "Should provide information about payment type")
+    @NotNull(message = PAYMENT_TYPE_EMPTY_MESSAGE)
     private Boolean isDifferentiatedPayment;
 
     public ComparisonRequest(Double fullPrice, Double loanBody, Double yearsOfLoan, Double creditInterestRate, Double monthlyRent, Double rentInflationRate, Double renovationCost, Double debitInterestRate, Double taxRate, Double insuranceRate, Boolean isDifferentiatedPayment) {
@@ -89,4 +102,60 @@ public class ComparisonRequest {
     public boolean getIsDifferentiatedPayment() {
         return isDifferentiatedPayment;
     }
+
+    public ComparisonParameters toParameters() {
+        return new ComparisonParameters(fullPrice, loanBody, yearsOfLoan, creditInterestRate, monthlyRent,
+                rentInflationRate, renovationCost, debitInterestRate, taxRate, insuranceRate, isDifferentiatedPayment);
+    }
+
+    // The constraints declared above, checked without reflection. Reports the violations Hibernate Validator would,
+    // with the messages the annotations share: a missing value is only reported as empty, and -0.0 and NaN are
+    // negative.
+    public void validate(ConstraintViolationConsumer violations) {
+        positiveOrZero("fullPrice", fullPrice, FULL_PRICE_EMPTY_MESSAGE, violations);
+        positiveOrZero("loanBody", loanBody, LOAN_BODY_EMPTY_MESSAGE, violations);
+        positiveOrZero("yearsOfLoan", yearsOfLoan, YEARS_OF_LOAN_EMPTY_MESSAGE, violations);
+        positiveOrZero("creditInterestRate", creditInterestRate, CREDIT_INTEREST_RATE_EMPTY_MESSAGE, violations);
+        positiveOrZero("monthlyRent", monthlyRent, MONTHLY_RENT_EMPTY_MESSAGE, violations);
+        notNull("rentInflationRate", rentInflationRate, RENT_INFLATION_RATE_EMPTY_MESSAGE, violations);
+        positiveOrZero("renovationCost", renovationCost, RENOVATION_COST_EMPTY_MESSAGE, violations);
+        notNull("debitInterestRate", debitInterestRate, DEBIT_INTEREST_RATE_EMPTY_MESSAGE, violations);
+        positiveOrZero("taxRate", taxRate, TAX_RATE_EMPTY_MESSAGE, violations);
+        positiveOrZero("insuranceRate", insuranceRate, INSURANCE_RATE_EMPTY_MESSAGE, violations);
+        notNull("isDifferentiatedPayment", isDifferentiatedPayment, PAYMENT_TYPE_EMPTY_MESSAGE, violations);
+    }
+
+    // The value check of validate() for a field decoded from a format that has no missing values but can carry NaN
+    // and infinities, which are rejected on the fields that take any sign as well
+    public static void validate(ComparisonField field, double value, ConstraintViolationConsumer violations) {
+        if (field.isPositiveOrZero() && !isPositiveOrZero(value)) {
+            violations.accept(field.getFieldName(), value, "PositiveOrZero", POSITIVE_OR_ZERO_MESSAGE);
+        } else if (!Double.isFinite(value)) {
+            violations.accept(field.getFieldName(), value, "Finite", FINITE_MESSAGE);
+        }
+    }
+
+    private static void notNull(String field, Object value, String message, ConstraintViolationConsumer violations) {
+        if (value == null) {
+            violations.accept(field, null, "NotNull", message);
+        }
+    }
+
+    private static void positiveOrZero(String field, Double value, String notNullMessage,
+                                       ConstraintViolationConsumer violations) {
+        if (value == null) {
+            violations.accept(field, null, "NotNull", notNullMessage);
+        } else if (!isPositiveOrZero(value)) {
+            violations.accept(field, value, "PositiveOrZero", POSITIVE_OR_ZERO_MESSAGE);
+        }
+    }
+
+    private static boolean isPositiveOrZero(double value) {
+        return value > 0 || Double.doubleToRawLongBits(value) == 0;
+    }
+
+    @FunctionalInterface
+    public interface ConstraintViolationConsumer {
+        void accept(String field, Object rejectedValue, String constraint, String message);
+    }
 }
@@ -1,8 +1,5 @@
 package rent_vs_buy.models;
 
-import com.fasterxml.jackson.annotation.JsonInclude;
-
-@JsonInclude(JsonInclude.Include.NON_NULL)
 public class ComparisonResponse {
     private double sumOfAnnuityPayments;
     private double sumOfDifferentiatedPayments;
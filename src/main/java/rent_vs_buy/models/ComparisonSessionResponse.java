@@ -0,0 +1,19 @@
+package rent_vs_buy.models;
+
+public class ComparisonSessionResponse {
+    private final String sessionId;
+    private final ComparisonResponse comparison;
+
+    public ComparisonSessionResponse(String sessionId, ComparisonResponse comparison) {
+        this.sessionId = sessionId;
+        this.comparison = comparison;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public ComparisonResponse getComparison() {
+        return comparison;
+    }
+}
@@ -0,0 +1,19 @@
+package rent_vs_buy.models;
+
+public class SimulationPercentile {
+    private final double percentile;
+    private final double value;
+
+    public SimulationPercentile(double percentile, double value) {
+        this.percentile = percentile;
+        this.value = value;
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public double getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,71 @@
+package rent_vs_buy.models;
+
+import javax.validation.Valid;
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.util.List;
+
+public class SimulationRequest {
+    @NotNull(message = "Base request should not be empty")
+    @Valid
+    private ComparisonRequest base;
+    @NotNull(message = "Number of paths should not be empty")
+    @Positive
+    private Integer paths;
+    private Long seed;
+    @PositiveOrZero
+    private Double debitInterestRateVolatility;
+    @PositiveOrZero
+    private Double rentInflationRateVolatility;
+    private Double appreciationRate;
+    @PositiveOrZero
+    private Double appreciationRateVolatility;
+    private List<@NotNull @PositiveOrZero @DecimalMax("100") Double> percentiles;
+
+    public SimulationRequest(ComparisonRequest base, Integer paths, Long seed, Double debitInterestRateVolatility,
+                             Double rentInflationRateVolatility, Double appreciationRate,
+                             Double appreciationRateVolatility, List<Double> percentiles) {
+        this.base = base;
+        this.paths = paths;
+        this.seed = seed;
+        this.debitInterestRateVolatility = debitInterestRateVolatility;
+        this.rentInflationRateVolatility = rentInflationRateVolatility;
+        this.appreciationRate = appreciationRate;
+        this.appreciationRateVolatility = appreciationRateVolatility;
+        this.percentiles = percentiles;
+    }
+
+    public ComparisonRequest getBase() {
+        return base;
+    }
+
+    public int getPaths() {
+        return paths;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public double getDebitInterestRateVolatility() {
+        return debitInterestRateVolatility == null ? 0 : debitInterestRateVolatility;
+    }
+
+    public double getRentInflationRateVolatility() {
+        return rentInflationRateVolatility == null ? 0 : rentInflationRateVolatility;
+    }
+
+    public Double getAppreciationRate() {
+        return appreciationRate;
+    }
+
+    public double getAppreciationRateVolatility() {
+        return appreciationRateVolatility == null ? 0 : appreciationRateVolatility;
+    }
+
+    public List<Double> getPercentiles() {
+        return percentiles;
+    }
+}
@@ -0,0 +1,46 @@
+package rent_vs_buy.models;
+
+import java.util.List;
+
+public class SimulationResponse {
+    private final long seed;
+    private final long paths;
+    private final double mean;
+    private final double standardDeviation;
+    private final double probabilityBuyingWins;
+    private final List<SimulationPercentile> percentiles;
+
+    public SimulationResponse(long seed, long paths, double mean, double standardDeviation,
+                              double probabilityBuyingWins, List<SimulationPercentile> percentiles) {
+        this.seed = seed;
+        this.paths = paths;
+        this.mean = mean;
+        this.standardDeviation = standardDeviation;
+        this.probabilityBuyingWins = probabilityBuyingWins;
+        this.percentiles = percentiles;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getPaths() {
+        return paths;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getStandardDeviation() {
+        return standardDeviation;
+    }
+
+    public double getProbabilityBuyingWins() {
+        return probabilityBuyingWins;
+    }
+
+    public List<SimulationPercentile> getPercentiles() {
+        return percentiles;
+    }
+}
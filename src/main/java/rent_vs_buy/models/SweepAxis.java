@@ -0,0 +1,19 @@
+package rent_vs_buy.models;
+
+public class SweepAxis {
+    private final String field;
+    private final double[] values;
+
+    public SweepAxis(String field, double[] values) {
+        this.field = field;
+        this.values = values;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public double[] getValues() {
+        return values;
+    }
+}
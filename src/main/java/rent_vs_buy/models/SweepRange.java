@@ -0,0 +1,32 @@
+package rent_vs_buy.models;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+
+public class SweepRange {
+    @NotNull(message = "Range start should not be empty")
+    private Double from;
+    @NotNull(message = "Range end should not be empty")
+    private Double to;
+    @NotNull(message = "Range step should not be empty")
+    @Positive
+    private Double step;
+
+    public SweepRange(Double from, Double to, Double step) {
+        this.from = from;
+        this.to = to;
+        this.step = step;
+    }
+
+    public double getFrom() {
+        return from;
+    }
+
+    public double getTo() {
+        return to;
+    }
+
+    public double getStep() {
+        return step;
+    }
+}
@@ -0,0 +1,28 @@
+package rent_vs_buy.models;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class SweepRequest {
+    @NotNull(message = "Base request should not be empty")
+    @Valid
+    private ComparisonRequest base;
+    @NotEmpty(message = "At least one range should be provided")
+    private LinkedHashMap<String, @Valid SweepRange> ranges;
+
+    public SweepRequest(ComparisonRequest base, LinkedHashMap<String, SweepRange> ranges) {
+        this.base = base;
+        this.ranges = ranges;
+    }
+
+    public ComparisonRequest getBase() {
+        return base;
+    }
+
+    public Map<String, SweepRange> getRanges() {
+        return ranges;
+    }
+}
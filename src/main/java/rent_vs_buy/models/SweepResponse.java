@@ -0,0 +1,27 @@
+package rent_vs_buy.models;
+
+import java.util.List;
+
+public class SweepResponse {
+    private final List<SweepAxis> axes;
+    private final double[] rentBalance;
+    private final double[] buyBalance;
+
+    public SweepResponse(List<SweepAxis> axes, double[] rentBalance, double[] buyBalance) {
+        this.axes = axes;
+        this.rentBalance = rentBalance;
+        this.buyBalance = buyBalance;
+    }
+
+    public List<SweepAxis> getAxes() {
+        return axes;
+    }
+
+    public double[] getRentBalance() {
+        return rentBalance;
+    }
+
+    public double[] getBuyBalance() {
+        return buyBalance;
+    }
+}
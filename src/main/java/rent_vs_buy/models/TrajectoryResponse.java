@@ -0,0 +1,62 @@
+package rent_vs_buy.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// One entry per whole year of the term in every array; crossoverYear is the first year in which buying and renting
+// swap places, omitted when the better option never changes.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TrajectoryResponse {
+    private final long[] year;
+    private final double[] rentCosts;
+    private final double[] rentInvestment;
+    private final double[] loanLeft;
+    private final double[] propertyValue;
+    private final double[] rentBalance;
+    private final double[] buyBalance;
+    private final Long crossoverYear;
+
+    public TrajectoryResponse(long[] year, double[] rentCosts, double[] rentInvestment, double[] loanLeft,
+                              double[] propertyValue, double[] rentBalance, double[] buyBalance,
+                              Long crossoverYear) {
+        this.year = year;
+        this.rentCosts = rentCosts;
+        this.rentInvestment = rentInvestment;
+        this.loanLeft = loanLeft;
+        this.propertyValue = propertyValue;
+        this.rentBalance = rentBalance;
+        this.buyBalance = buyBalance;
+        this.crossoverYear = crossoverYear;
+    }
+
+    public long[] getYear() {
+        return year;
+    }
+
+    public double[] getRentCosts() {
+        return rentCosts;
+    }
+
+    public double[] getRentInvestment() {
+        return rentInvestment;
+    }
+
+    public double[] getLoanLeft() {
+        return loanLeft;
+    }
+
+    public double[] getPropertyValue() {
+        return propertyValue;
+    }
+
+    public double[] getRentBalance() {
+        return rentBalance;
+    }
+
+    public double[] getBuyBalance() {
+        return buyBalance;
+    }
+
+    public Long getCrossoverYear() {
+        return crossoverYear;
+    }
+}
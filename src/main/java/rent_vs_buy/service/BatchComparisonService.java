@@ -0,0 +1,125 @@
+package rent_vs_buy.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import rent_vs_buy.balancecalculator.ComparisonEngine;
+import rent_vs_buy.models.BatchComparisonResponse;
+import rent_vs_buy.models.ComparisonRequest;
+
+import javax.annotation.PreDestroy;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@Service
+public class BatchComparisonService {
+
+    private final ComparisonEngine comparisonEngine;
+    private final Validator validator;
+    private final ObjectReader requestReader;
+    private final ObjectWriter responseWriter;
+    private final ExecutorService workers;
+    private final int window;
+    private final boolean compiledValidation;
+
+    public BatchComparisonService(ComparisonEngine comparisonEngine, Validator validator, ObjectMapper objectMapper,
+                                  @Value("${compare.batch.threads:0}") int threads,
+                                  @Value("${compare.batch.window:256}") int window,
+                                  @Value("${compare.validation.compiled:true}") boolean compiledValidation) {
+        this.comparisonEngine = comparisonEngine;
+        this.validator = validator;
+        this.requestReader = objectMapper.readerFor(ComparisonRequest.class);
+        this.responseWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.workers = Executors.newFixedThreadPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+        this.window = window;
+        this.compiledValidation = compiledValidation;
+    }
+
+    public void compare(InputStream input, OutputStream output) throws IOException {
+        Deque<Future<BatchComparisonResponse>> pending = new ArrayDeque<>();
+        try (MappingIterator<ComparisonRequest> requests = requestReader.readValues(input);
+             JsonGenerator generator = responseWriter.getFactory().createGenerator(output)) {
+            generator.setRootValueSeparator(null);
+            long index = 0;
+            try {
+                while (requests.hasNextValue()) {
+                    ComparisonRequest comparisonRequest = requests.nextValue();
+                    long requestIndex = index++;
+                    pending.add(workers.submit(() -> evaluate(requestIndex, comparisonRequest)));
+                    if (pending.size() >= window) {
+                        write(generator, await(pending.poll()));
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                while (!pending.isEmpty()) {
+                    write(generator, await(pending.poll()));
+                }
+                write(generator, new BatchComparisonResponse(index, null,
+                        Map.of("request", e.getOriginalMessage())));
+            }
+            while (!pending.isEmpty()) {
+                write(generator, await(pending.poll()));
+            }
+        } finally {
+            pending.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private BatchComparisonResponse evaluate(long index, ComparisonRequest comparisonRequest) {
+        Map<String, String> errors = new HashMap<>();
+        if (compiledValidation) {
+            comparisonRequest.validate((field, rejectedValue, constraint, message) -> errors.put(field, message));
+        } else {
+            Set<ConstraintViolation<ComparisonRequest>> violations = validator.validate(comparisonRequest);
+            violations.forEach(violation -> errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+        }
+        if (!errors.isEmpty()) {
+            return new BatchComparisonResponse(index, null, errors);
+        }
+        try {
+            return new BatchComparisonResponse(index, comparisonEngine.compare(comparisonRequest.toParameters()),
+                    null);
+        } catch (ArithmeticException e) {
+            return new BatchComparisonResponse(index, null, Map.of("request", e.getMessage()));
+        }
+    }
+
+    private void write(JsonGenerator generator, BatchComparisonResponse response) throws IOException {
+        responseWriter.writeValue(generator, response);
+        generator.writeRaw('\n');
+    }
+
+    private BatchComparisonResponse await(Future<BatchComparisonResponse> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+}
@@ -0,0 +1,130 @@
+package rent_vs_buy.service;
+
+import org.springframework.stereotype.Service;
+import rent_vs_buy.balancecalculator.ComparisonEngine;
+import rent_vs_buy.models.BreakEvenRequest;
+import rent_vs_buy.models.BreakEvenResponse;
+import rent_vs_buy.models.ComparisonField;
+import rent_vs_buy.models.ComparisonParameters;
+import rent_vs_buy.models.ComparisonResponse;
+
+@Service
+public class BreakEvenService {
+
+    private static final int MAX_ITERATIONS = 200;
+    private static final double RELATIVE_TOLERANCE = 1e-10;
+    // The balances carry cent rounding from every month of the term, so at the root of a continuous unknown they
+    // still differ by a few units. A jump of the balances, like the one yearsOfLoan makes at every whole year, leaves
+    // the bracket collapsed around a much larger difference.
+    private static final double RELATIVE_RESIDUAL_TOLERANCE = 1e-6;
+
+    private final ComparisonEngine comparisonEngine;
+
+    public BreakEvenService(ComparisonEngine comparisonEngine) {
+        this.comparisonEngine = comparisonEngine;
+    }
+
+    public BreakEvenResponse solve(BreakEvenRequest breakEvenRequest) {
+        ComparisonField unknown = ComparisonField.fromFieldName(breakEvenRequest.getUnknown()).orElseThrow(() ->
+                new InvalidRequestException("unknown", "Unknown comparison field"));
+        if (breakEvenRequest.getUpperBound() <= breakEvenRequest.getLowerBound()) {
+            throw new InvalidRequestException("upperBound", "Upper bound should be greater than lower bound");
+        }
+        if (unknown.isPositiveOrZero() && !(breakEvenRequest.getLowerBound() >= 0)) {
+            throw new InvalidRequestException("lowerBound", "Lower bound should not be below 0");
+        }
+        ComparisonParameters base = breakEvenRequest.getBase().toParameters();
+
+        double a = breakEvenRequest.getLowerBound();
+        double b = breakEvenRequest.getUpperBound();
+        double fa = balanceDifference(unknown, base, a);
+        double fb = balanceDifference(unknown, base, b);
+        if (Double.isNaN(fa) || Double.isNaN(fb) || (fa > 0 && fb > 0) || (fa < 0 && fb < 0)) {
+            throw new InvalidRequestException("unknown", "Buying and renting do not break even within the bounds");
+        }
+        double tolerance = RELATIVE_TOLERANCE * Math.max(1, Math.max(Math.abs(a), Math.abs(b)));
+
+        double c = b;
+        double fc = fb;
+        double d = b - a;
+        double e = d;
+        int iteration = 0;
+        boolean converged = false;
+        while (iteration < MAX_ITERATIONS) {
+            iteration++;
+            if ((fb > 0 && fc > 0) || (fb < 0 && fc < 0)) {
+                c = a;
+                fc = fa;
+                d = b - a;
+                e = d;
+            }
+            if (Math.abs(fc) < Math.abs(fb)) {
+                a = b;
+                b = c;
+                c = a;
+                fa = fb;
+                fb = fc;
+                fc = fa;
+            }
+            double tolerance1 = 2 * Math.ulp(b) + 0.5 * tolerance;
+            double middle = 0.5 * (c - b);
+            if (Math.abs(middle) <= tolerance1 || fb == 0) {
+                converged = true;
+                break;
+            }
+            if (Math.abs(e) >= tolerance1 && Math.abs(fa) > Math.abs(fb)) {
+                double s = fb / fa;
+                double p;
+                double q;
+                if (a == c) {
+                    p = 2 * middle * s;
+                    q = 1 - s;
+                } else {
+                    double r = fb / fc;
+                    q = fa / fc;
+                    p = s * (2 * middle * q * (q - r) - (b - a) * (r - 1));
+                    q = (q - 1) * (r - 1) * (s - 1);
+                }
+                if (p > 0) {
+                    q = -q;
+                }
+                p = Math.abs(p);
+                if (2 * p < Math.min(3 * middle * q - Math.abs(tolerance1 * q), Math.abs(e * q))) {
+                    e = d;
+                    d = p / q;
+                } else {
+                    d = middle;
+                    e = d;
+                }
+            } else {
+                d = middle;
+                e = d;
+            }
+            a = b;
+            fa = fb;
+            b += Math.abs(d) > tolerance1 ? d : Math.copySign(tolerance1, middle);
+            fb = balanceDifference(unknown, base, b);
+        }
+
+        ComparisonResponse comparisonResponse = comparisonEngine.compare(unknown.with(base, b));
+        double rentBalance = comparisonResponse.getRentBalance();
+        double buyBalance = comparisonResponse.getBuyBalance();
+        double residualTolerance = RELATIVE_RESIDUAL_TOLERANCE *
+                Math.max(1, Math.max(Math.abs(rentBalance), Math.abs(buyBalance)));
+        if (!(Math.abs(buyBalance - rentBalance) <= residualTolerance)) {
+            converged = false;
+        }
+        return new BreakEvenResponse(unknown.getFieldName(), b, iteration, converged,
+                comparisonResponse.getRentBalance(), comparisonResponse.getBuyBalance());
+    }
+
+    // NaN where the comparison is undefined, which the bracket check rejects
+    private double balanceDifference(ComparisonField unknown, ComparisonParameters base, double value) {
+        try {
+            ComparisonResponse comparisonResponse = comparisonEngine.compare(unknown.with(base, value));
+            return comparisonResponse.getBuyBalance() - comparisonResponse.getRentBalance();
+        } catch (ArithmeticException e) {
+            return Double.NaN;
+        }
+    }
+}
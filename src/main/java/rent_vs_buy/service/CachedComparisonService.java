@@ -0,0 +1,107 @@
+package rent_vs_buy.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import rent_vs_buy.metrics.TimedComparisonEngine;
+import rent_vs_buy.models.ComparisonParameters;
+import rent_vs_buy.models.ComparisonResponse;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+// Concurrent requests with equal canonical parameters are coalesced: the first one computes the comparison and
+// publishes it through a future registered in an in-flight map, the others wait for that future instead of
+// computing it again. Cached lookups never block; a computed response is cached before its future completes.
+@Service
+public class CachedComparisonService {
+
+    private final TimedComparisonEngine comparisonEngine;
+    private final Cache<ComparisonParameters, ComparisonResponse> cache;
+    private final ConcurrentMap<ComparisonParameters, CompletableFuture<ComparisonResponse>> inFlight =
+            new ConcurrentHashMap<>();
+    // requests that pick the calculation mode explicitly are not cached, but are coalesced per mode
+    private final ConcurrentMap<ComparisonParameters, CompletableFuture<ComparisonResponse>> closedFormInFlight =
+            new ConcurrentHashMap<>();
+    private final ConcurrentMap<ComparisonParameters, CompletableFuture<ComparisonResponse>> iterativeInFlight =
+            new ConcurrentHashMap<>();
+    private final Counter coalesced;
+
+    public CachedComparisonService(TimedComparisonEngine comparisonEngine, MeterRegistry meterRegistry,
+                                   @Value("${compare.cache.maximum-size:10000}") long maximumSize,
+                                   @Value("${compare.cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.comparisonEngine = comparisonEngine;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "comparisons");
+        this.coalesced = Counter.builder("compare.coalesced")
+                .description("Requests that waited for an equal comparison already in flight")
+                .register(meterRegistry);
+        Gauge.builder("compare.in-flight", this,
+                        service -> service.inFlight.size() + service.closedFormInFlight.size()
+                                + service.iterativeInFlight.size())
+                .description("Distinct comparisons being computed")
+                .register(meterRegistry);
+    }
+
+    public ComparisonResponse compare(ComparisonParameters comparisonParameters) {
+        ComparisonResponse comparisonResponse = cache.getIfPresent(comparisonParameters);
+        if (comparisonResponse != null) {
+            return comparisonResponse;
+        }
+        return coalesce(inFlight, comparisonParameters, parameters -> {
+            ComparisonResponse computed = comparisonEngine.compare(parameters);
+            cache.put(parameters, computed);
+            return computed;
+        });
+    }
+
+    public ComparisonResponse compare(ComparisonParameters comparisonParameters, boolean closedForm) {
+        return coalesce(closedForm ? closedFormInFlight : iterativeInFlight, comparisonParameters,
+                parameters -> comparisonEngine.compare(parameters, closedForm));
+    }
+
+    private ComparisonResponse coalesce(Map<ComparisonParameters, CompletableFuture<ComparisonResponse>> calls,
+                                        ComparisonParameters comparisonParameters,
+                                        Function<ComparisonParameters, ComparisonResponse> computation) {
+        CompletableFuture<ComparisonResponse> call = new CompletableFuture<>();
+        CompletableFuture<ComparisonResponse> leader = calls.putIfAbsent(comparisonParameters, call);
+        if (leader != null) {
+            coalesced.increment();
+            try {
+                return leader.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw e;
+            }
+        }
+        try {
+            ComparisonResponse comparisonResponse = computation.apply(comparisonParameters);
+            call.complete(comparisonResponse);
+            return comparisonResponse;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(comparisonParameters, call);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package rent_vs_buy.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import rent_vs_buy.balancecalculator.ComparisonEngine;
+import rent_vs_buy.balancecalculator.ComparisonEngine.LoanTotals;
+import rent_vs_buy.balancecalculator.CostsCalculator;
+import rent_vs_buy.balancecalculator.EvaluationContext;
+import rent_vs_buy.balancecalculator.GainsCalculator;
+import rent_vs_buy.models.ComparisonField;
+import rent_vs_buy.models.ComparisonParameters;
+import rent_vs_buy.models.ComparisonRequest;
+import rent_vs_buy.models.ComparisonResponse;
+import rent_vs_buy.models.ComparisonSessionResponse;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+// Keeps the intermediate results of a comparison so that a change to a few fields only recomputes the stages
+// depending on them: the loan schedule for loan fields, the rent total for rent fields, and the gains, which
+// reuse the growth factors whose inputs did not change.
+@Service
+public class ComparisonSessionService {
+
+    private static final String PAYMENT_TYPE_FIELD = "isDifferentiatedPayment";
+
+    private final ComparisonEngine comparisonEngine;
+    private final CostsCalculator costsCalculator;
+    private final Cache<String, Session> sessions;
+
+    public ComparisonSessionService(ComparisonEngine comparisonEngine, CostsCalculator costsCalculator,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${compare.sessions.maximum-size:10000}") long maximumSize,
+                                    @Value("${compare.sessions.expire-after-access:30m}")
+                                            Duration expireAfterAccess) {
+        this.comparisonEngine = comparisonEngine;
+        this.costsCalculator = costsCalculator;
+        this.sessions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, sessions, "comparison-sessions");
+    }
+
+    public ComparisonSessionResponse create(ComparisonParameters comparisonParameters) {
+        EvaluationContext context = new EvaluationContext(comparisonParameters);
+        double annuityPayment = comparisonEngine.calculateAnnuityPayment(context);
+        Session session = new Session(context, annuityPayment,
+                comparisonEngine.calculateLoanTotals(context, annuityPayment),
+                costsCalculator.calculateRentForWholePeriod(comparisonParameters));
+        String sessionId = UUID.randomUUID().toString();
+        sessions.put(sessionId, session);
+        return new ComparisonSessionResponse(sessionId, session.comparisonResponse);
+    }
+
+    public ComparisonSessionResponse get(String sessionId) {
+        Session session = sessions.getIfPresent(sessionId);
+        if (session == null) {
+            throw notFound(sessionId);
+        }
+        return new ComparisonSessionResponse(sessionId, session.comparisonResponse);
+    }
+
+    public ComparisonSessionResponse update(String sessionId, Map<String, ?> changes) {
+        ComparisonField[] fields = new ComparisonField[changes.size()];
+        double[] values = new double[changes.size()];
+        int i = 0;
+        for (Map.Entry<String, ?> change : changes.entrySet()) {
+            if (PAYMENT_TYPE_FIELD.equals(change.getKey())) {
+                throw new InvalidRequestException(PAYMENT_TYPE_FIELD, "Payment type cannot be changed in a session");
+            }
+            ComparisonField field = ComparisonField.fromFieldName(change.getKey()).orElseThrow(() ->
+                    new InvalidRequestException(change.getKey(), "Unknown comparison field"));
+            if (change.getValue() == null) {
+                throw new InvalidRequestException(change.getKey(), "should not be empty");
+            }
+            if (!(change.getValue() instanceof Number)) {
+                throw new InvalidRequestException(change.getKey(), "should be a number");
+            }
+            double value = ((Number) change.getValue()).doubleValue();
+            ComparisonRequest.validate(field, value, (name, rejectedValue, constraint, message) -> {
+                throw new InvalidRequestException(name, message);
+            });
+            fields[i] = field;
+            values[i++] = value;
+        }
+
+        Session session = sessions.asMap().computeIfPresent(sessionId, (key, current) ->
+                update(current, fields, values));
+        if (session == null) {
+            throw notFound(sessionId);
+        }
+        return new ComparisonSessionResponse(sessionId, session.comparisonResponse);
+    }
+
+    public void delete(String sessionId) {
+        sessions.invalidate(sessionId);
+    }
+
+    private Session update(Session session, ComparisonField[] fields, double[] values) {
+        ComparisonParameters previous = session.context.getComparisonParameters();
+        boolean loanChanged = false;
+        boolean rentChanged = false;
+        boolean changed = false;
+        for (int i = 0; i < fields.length; i++) {
+            if (Double.compare(fields[i].get(previous), values[i]) != 0) {
+                changed = true;
+                loanChanged |= fields[i].affectsLoanSchedule();
+                rentChanged |= fields[i].affectsRent();
+            }
+        }
+        if (!changed) {
+            return session;
+        }
+
+        ComparisonParameters comparisonParameters = ComparisonField.with(previous, fields, values);
+        EvaluationContext context = session.context.update(comparisonParameters);
+        // a fully payed price makes the monthly rent stand in for the annuity payment
+        double annuityPayment = loanChanged || context.fullPriceWasPayed()
+                ? comparisonEngine.calculateAnnuityPayment(context) : session.annuityPayment;
+        LoanTotals loanTotals = loanChanged
+                ? comparisonEngine.calculateLoanTotals(context, annuityPayment) : session.loanTotals;
+        double payedForRent = rentChanged
+                ? costsCalculator.calculateRentForWholePeriod(comparisonParameters) : session.payedForRent;
+        return new Session(context, annuityPayment, loanTotals, payedForRent);
+    }
+
+    private ResponseStatusException notFound(String sessionId) {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "Comparison session " + sessionId + " not found");
+    }
+
+    private class Session {
+        private final EvaluationContext context;
+        private final double annuityPayment;
+        private final LoanTotals loanTotals;
+        private final double payedForRent;
+        private final ComparisonResponse comparisonResponse;
+
+        private Session(EvaluationContext context, double annuityPayment, LoanTotals loanTotals,
+                        double payedForRent) {
+            this.context = context;
+            this.annuityPayment = annuityPayment;
+            this.loanTotals = loanTotals;
+            this.payedForRent = payedForRent;
+            this.comparisonResponse = comparisonEngine.compare(context, annuityPayment, loanTotals, payedForRent,
+                    GainsCalculator.DEFAULT_APPRECIATION_RATE);
+        }
+    }
+}
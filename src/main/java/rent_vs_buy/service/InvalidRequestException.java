@@ -0,0 +1,31 @@
+package rent_vs_buy.service;
+
+import java.util.Map;
+
+public class InvalidRequestException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final String field;
+    private final Map<String, String> errors;
+
+    public InvalidRequestException(String field, String message) {
+        super(message);
+        this.field = field;
+        this.errors = Map.of(field, message);
+    }
+
+    // Several field errors at once, in the order they should be reported; the first one is the field and message
+    public InvalidRequestException(Map<String, String> errors) {
+        super(errors.values().iterator().next());
+        this.field = errors.keySet().iterator().next();
+        this.errors = errors;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,73 @@
+package rent_vs_buy.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import rent_vs_buy.balancecalculator.AmortizationSchedule;
+import rent_vs_buy.balancecalculator.ComparisonEngine;
+import rent_vs_buy.models.ComparisonParameters;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+@Service
+public class ScheduleService {
+
+    private static final String CSV_HEADER = "month,payment,interest,principal,loanLeft,insurance,rent,rentInvestment\n";
+
+    private final ComparisonEngine comparisonEngine;
+    private final JsonFactory jsonFactory;
+
+    public ScheduleService(ComparisonEngine comparisonEngine, ObjectMapper objectMapper) {
+        this.comparisonEngine = comparisonEngine;
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    public void writeJson(ComparisonParameters comparisonParameters, OutputStream output) throws IOException {
+        AmortizationSchedule schedule = comparisonEngine.schedule(comparisonParameters);
+        try (JsonGenerator generator = jsonFactory.createGenerator(output)) {
+            generator.writeStartArray();
+            while (schedule.next()) {
+                generator.writeStartObject();
+                generator.writeNumberField("month", schedule.getMonth());
+                generator.writeNumberField("payment", schedule.getPayment());
+                generator.writeNumberField("interest", schedule.getInterest());
+                generator.writeNumberField("principal", schedule.getPrincipal());
+                generator.writeNumberField("loanLeft", schedule.getLoanLeft());
+                generator.writeNumberField("insurance", schedule.getInsurance());
+                generator.writeNumberField("rent", schedule.getRent());
+                generator.writeNumberField("rentInvestment", schedule.getRentInvestment());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    public void writeCsv(ComparisonParameters comparisonParameters, OutputStream output) throws IOException {
+        AmortizationSchedule schedule = comparisonEngine.schedule(comparisonParameters);
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+            writer.write(CSV_HEADER);
+            while (schedule.next()) {
+                writer.write(Long.toString(schedule.getMonth()));
+                writeCsvValue(writer, schedule.getPayment());
+                writeCsvValue(writer, schedule.getInterest());
+                writeCsvValue(writer, schedule.getPrincipal());
+                writeCsvValue(writer, schedule.getLoanLeft());
+                writeCsvValue(writer, schedule.getInsurance());
+                writeCsvValue(writer, schedule.getRent());
+                writeCsvValue(writer, schedule.getRentInvestment());
+                writer.write('\n');
+            }
+        }
+    }
+
+    private void writeCsvValue(Writer writer, double value) throws IOException {
+        writer.write(',');
+        writer.write(Double.toString(value));
+    }
+}
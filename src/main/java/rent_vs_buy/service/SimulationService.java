@@ -0,0 +1,221 @@
+package rent_vs_buy.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import rent_vs_buy.balancecalculator.ComparisonEngine;
+import rent_vs_buy.balancecalculator.ComparisonEngine.LoanTotals;
+import rent_vs_buy.balancecalculator.CostsCalculator;
+import rent_vs_buy.balancecalculator.GainsCalculator;
+import rent_vs_buy.models.ComparisonParameters;
+import rent_vs_buy.models.SimulationPercentile;
+import rent_vs_buy.models.SimulationRequest;
+import rent_vs_buy.models.SimulationResponse;
+import rent_vs_buy.utils.QuantileSketch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+@Service
+public class SimulationService {
+
+    private static final int CHUNKS = 64;
+    private static final double RELATIVE_ACCURACY = 0.005;
+    private static final List<Double> DEFAULT_PERCENTILES = List.of(5D, 25D, 50D, 75D, 95D);
+
+    private final ComparisonEngine comparisonEngine;
+    private final CostsCalculator costsCalculator;
+    private final GainsCalculator gainsCalculator;
+    private final int maxPaths;
+
+    public SimulationService(ComparisonEngine comparisonEngine, CostsCalculator costsCalculator,
+                             GainsCalculator gainsCalculator,
+                             @Value("${compare.simulation.max-paths:1000000}") int maxPaths) {
+        this.comparisonEngine = comparisonEngine;
+        this.costsCalculator = costsCalculator;
+        this.gainsCalculator = gainsCalculator;
+        this.maxPaths = maxPaths;
+    }
+
+    public SimulationResponse simulate(SimulationRequest simulationRequest) {
+        if (simulationRequest.getPaths() > maxPaths) {
+            throw new InvalidRequestException("paths", "Number of paths should not exceed " + maxPaths);
+        }
+        PathModel pathModel = new PathModel(simulationRequest);
+        long seed = simulationRequest.getSeed() != null ? simulationRequest.getSeed()
+                : new SplittableRandom().nextLong();
+        int paths = simulationRequest.getPaths();
+        int chunks = Math.min(CHUNKS, paths);
+
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[chunks];
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            randoms[chunk] = root.split();
+        }
+        PathStatistics[] chunkStatistics = IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> pathModel.simulate(randoms[chunk], paths / chunks + (chunk < paths % chunks ? 1 : 0)))
+                .toArray(PathStatistics[]::new);
+
+        PathStatistics statistics = new PathStatistics();
+        for (PathStatistics chunkStatistic : chunkStatistics) {
+            statistics.merge(chunkStatistic);
+        }
+
+        List<Double> requestedPercentiles = simulationRequest.getPercentiles() != null
+                ? simulationRequest.getPercentiles() : DEFAULT_PERCENTILES;
+        List<SimulationPercentile> percentiles = new ArrayList<>();
+        for (double percentile : requestedPercentiles) {
+            percentiles.add(new SimulationPercentile(percentile, statistics.sketch.quantile(percentile / 100)));
+        }
+        return new SimulationResponse(seed, statistics.count, statistics.mean,
+                Math.sqrt(statistics.squaredDeviations / statistics.count),
+                (double) statistics.buyingWins / statistics.count, percentiles);
+    }
+
+    private class PathModel {
+        private final double yearsOfLoan;
+        private final double monthlyRent;
+        private final double rentInflationRate;
+        private final double debitInterestRate;
+        private final double appreciationRate;
+        private final double rentInflationRateVolatility;
+        private final double debitInterestRateVolatility;
+        private final double appreciationRateVolatility;
+        private final double fullPrice;
+        private final double initialInvestment;
+        private final double replenishmentPayment;
+        private final boolean rentingReplenishes;
+        private final boolean buyingReplenishes;
+        private final double taxDeduction;
+        private final double buyingCostsWithoutFinalPrice;
+
+        private PathModel(SimulationRequest simulationRequest) {
+            ComparisonParameters comparisonParameters = simulationRequest.getBase().toParameters();
+            double annuityPayment = comparisonEngine.calculateAnnuityPayment(comparisonParameters);
+            LoanTotals loanTotals = comparisonEngine.calculateLoanTotals(comparisonParameters, annuityPayment);
+            double firstPayment = comparisonParameters.getFullPrice() - comparisonParameters.getLoanBody();
+            boolean fullPriceWasPayed = comparisonParameters.getFullPrice() - firstPayment <= 0;
+
+            yearsOfLoan = comparisonParameters.getYearsOfLoan();
+            monthlyRent = comparisonParameters.getMonthlyRent();
+            rentInflationRate = comparisonParameters.getRentInflationRate();
+            debitInterestRate = comparisonParameters.getDebitInterestRate();
+            appreciationRate = simulationRequest.getAppreciationRate() != null
+                    ? simulationRequest.getAppreciationRate() : GainsCalculator.DEFAULT_APPRECIATION_RATE;
+            rentInflationRateVolatility = simulationRequest.getRentInflationRateVolatility();
+            debitInterestRateVolatility = simulationRequest.getDebitInterestRateVolatility();
+            appreciationRateVolatility = simulationRequest.getAppreciationRateVolatility();
+            fullPrice = comparisonParameters.getFullPrice();
+            initialInvestment = firstPayment + comparisonParameters.getRenovationCost();
+
+            replenishmentPayment = GainsCalculator.replenishmentPayment(fullPriceWasPayed, annuityPayment,
+                    monthlyRent);
+            rentingReplenishes = GainsCalculator.rentingReplenishes(annuityPayment, monthlyRent);
+            buyingReplenishes = GainsCalculator.buyingReplenishes(fullPriceWasPayed, annuityPayment, monthlyRent);
+            taxDeduction = gainsCalculator.calculateTaxDeduction(fullPrice);
+
+            double loanCosts = comparisonParameters.getIsDifferentiatedPayment()
+                    ? loanTotals.getSumOfDifferentiatedPayments() + loanTotals.getDifferentiatedInsurance()
+                    : loanTotals.getSumOfAnnuityPayments() + loanTotals.getAnnuityInsurance();
+            buyingCostsWithoutFinalPrice = loanCosts
+                    + costsCalculator.calculateTaxForWholePeriod(comparisonParameters,
+                    comparisonParameters.getTaxRate())
+                    + comparisonParameters.getRenovationCost() + firstPayment;
+        }
+
+        private PathStatistics simulate(SplittableRandom random, int paths) {
+            GaussianSource gaussian = new GaussianSource(random);
+            PathStatistics statistics = new PathStatistics();
+            for (int path = 0; path < paths; path++) {
+                statistics.add(simulatePath(gaussian));
+            }
+            return statistics;
+        }
+
+        private double simulatePath(GaussianSource gaussian) {
+            double adjustedMonthlyRent = monthlyRent;
+            double payedForRent = 0;
+            double initialInvestmentValue = initialInvestment;
+            double replenishmentValue = 0;
+            double realEstatePrice = fullPrice;
+
+            for (int year = 0; year < yearsOfLoan; year++) {
+                double yearFraction = Math.min(1, yearsOfLoan - year);
+                double monthlyDebitRate = (debitInterestRate + debitInterestRateVolatility * gaussian.next()) / 100 / 12;
+                double debitGrowth = Math.pow(1 + monthlyDebitRate, 12 * yearFraction);
+                initialInvestmentValue *= debitGrowth;
+                replenishmentValue = replenishmentValue * debitGrowth + replenishmentPayment *
+                        (Math.abs(monthlyDebitRate) > 1e-12 ? (debitGrowth - 1) / monthlyDebitRate : 12 * yearFraction);
+                realEstatePrice *= Math.pow(1 + (appreciationRate + appreciationRateVolatility * gaussian.next()) / 100,
+                        yearFraction);
+                if (yearFraction == 1) {
+                    payedForRent += adjustedMonthlyRent * 12;
+                    adjustedMonthlyRent = costsCalculator.calculateNextYearMonthlyRent(adjustedMonthlyRent,
+                            rentInflationRate + rentInflationRateVolatility * gaussian.next());
+                }
+            }
+
+            double rentBalance = (rentingReplenishes ? replenishmentValue + initialInvestmentValue
+                    : initialInvestmentValue) - payedForRent;
+            double buyGains = buyingReplenishes ? taxDeduction + replenishmentValue + realEstatePrice
+                    : taxDeduction + realEstatePrice;
+            double buyBalance = buyGains - (buyingCostsWithoutFinalPrice - realEstatePrice);
+            return buyBalance - rentBalance;
+        }
+    }
+
+    private static class PathStatistics {
+        private final QuantileSketch sketch = new QuantileSketch(RELATIVE_ACCURACY);
+        private long count;
+        private double mean;
+        private double squaredDeviations;
+        private long buyingWins;
+
+        private void add(double balanceDifference) {
+            count++;
+            double delta = balanceDifference - mean;
+            mean += delta / count;
+            squaredDeviations += delta * (balanceDifference - mean);
+            if (balanceDifference > 0) {
+                buyingWins++;
+            }
+            sketch.add(balanceDifference);
+        }
+
+        private void merge(PathStatistics other) {
+            if (other.count == 0) {
+                return;
+            }
+            long mergedCount = count + other.count;
+            double delta = other.mean - mean;
+            mean += delta * other.count / mergedCount;
+            squaredDeviations += other.squaredDeviations + delta * delta * count * other.count / mergedCount;
+            count = mergedCount;
+            buyingWins += other.buyingWins;
+            sketch.merge(other.sketch);
+        }
+    }
+
+    private static class GaussianSource {
+        private final SplittableRandom random;
+        private double spare;
+        private boolean hasSpare;
+
+        private GaussianSource(SplittableRandom random) {
+            this.random = random;
+        }
+
+        private double next() {
+            if (hasSpare) {
+                hasSpare = false;
+                return spare;
+            }
+            double radius = Math.sqrt(-2 * Math.log(1 - random.nextDouble()));
+            double angle = 2 * Math.PI * random.nextDouble();
+            spare = radius * Math.sin(angle);
+            hasSpare = true;
+            return radius * Math.cos(angle);
+        }
+    }
+}
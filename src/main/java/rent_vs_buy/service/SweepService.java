@@ -0,0 +1,204 @@
+package rent_vs_buy.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import rent_vs_buy.balancecalculator.ComparisonEngine;
+import rent_vs_buy.balancecalculator.ComparisonEngine.LoanTotals;
+import rent_vs_buy.balancecalculator.CostsCalculator;
+import rent_vs_buy.balancecalculator.EvaluationContext;
+import rent_vs_buy.balancecalculator.GainsCalculator;
+import rent_vs_buy.models.ComparisonField;
+import rent_vs_buy.models.ComparisonParameters;
+import rent_vs_buy.models.ComparisonResponse;
+import rent_vs_buy.models.SweepAxis;
+import rent_vs_buy.models.SweepRange;
+import rent_vs_buy.models.SweepRequest;
+import rent_vs_buy.models.SweepResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+
+@Service
+public class SweepService {
+
+    private static final int CELLS_PER_TASK = 256;
+
+    private final ComparisonEngine comparisonEngine;
+    private final CostsCalculator costsCalculator;
+    private final long maxCells;
+
+    public SweepService(ComparisonEngine comparisonEngine, CostsCalculator costsCalculator,
+                        @Value("${compare.sweep.max-cells:1000000}") long maxCells) {
+        this.comparisonEngine = comparisonEngine;
+        this.costsCalculator = costsCalculator;
+        this.maxCells = maxCells;
+    }
+
+    public SweepResponse sweep(SweepRequest sweepRequest) {
+        Grid grid = createGrid(sweepRequest.getRanges());
+        ComparisonParameters base = sweepRequest.getBase().toParameters();
+
+        Grid loanGrid = grid.project(ComparisonField::affectsLoanSchedule);
+        LoanTotals[] loanTotals = new LoanTotals[loanGrid.size];
+        forEachCell(loanGrid.size, cell -> {
+            EvaluationContext context = new EvaluationContext(loanGrid.apply(base, cell));
+            loanTotals[cell] = comparisonEngine.calculateLoanTotals(context,
+                    comparisonEngine.calculateAnnuityPayment(context));
+        });
+
+        Grid rentGrid = grid.project(ComparisonField::affectsRent);
+        double[] payedForRent = new double[rentGrid.size];
+        forEachCell(rentGrid.size, cell -> payedForRent[cell] = costsCalculator
+                .calculateRentForWholePeriod(rentGrid.apply(base, cell)));
+
+        double[] rentBalance = new double[grid.size];
+        double[] buyBalance = new double[grid.size];
+        forEachCell(grid.size, cell -> {
+            EvaluationContext context = new EvaluationContext(grid.apply(base, cell));
+            ComparisonResponse comparisonResponse = comparisonEngine.compare(context,
+                    comparisonEngine.calculateAnnuityPayment(context),
+                    loanTotals[grid.indexIn(loanGrid, cell)],
+                    payedForRent[grid.indexIn(rentGrid, cell)],
+                    GainsCalculator.DEFAULT_APPRECIATION_RATE);
+            rentBalance[cell] = comparisonResponse.getRentBalance();
+            buyBalance[cell] = comparisonResponse.getBuyBalance();
+        });
+
+        List<SweepAxis> axes = new ArrayList<>();
+        for (int axis = 0; axis < grid.fields.length; axis++) {
+            axes.add(new SweepAxis(grid.fields[axis].getFieldName(), grid.values[axis]));
+        }
+        return new SweepResponse(axes, rentBalance, buyBalance);
+    }
+
+    private Grid createGrid(Map<String, SweepRange> ranges) {
+        ComparisonField[] fields = new ComparisonField[ranges.size()];
+        double[][] values = new double[ranges.size()][];
+        int axis = 0;
+        for (Map.Entry<String, SweepRange> range : ranges.entrySet()) {
+            fields[axis] = ComparisonField.fromFieldName(range.getKey()).orElseThrow(() ->
+                    new InvalidRequestException(range.getKey(), "Unknown comparison field"));
+            values[axis] = expand(fields[axis], range.getValue());
+            axis++;
+        }
+        return new Grid(fields, values);
+    }
+
+    private double[] expand(ComparisonField field, SweepRange range) {
+        if (range.getTo() < range.getFrom()) {
+            throw new InvalidRequestException(field.getFieldName(), "Range end should not be less than range start");
+        }
+        if (field.isPositiveOrZero() && !(range.getFrom() >= 0 && range.getTo() >= 0)) {
+            throw new InvalidRequestException(field.getFieldName(), "Range should not go below 0");
+        }
+        if (field.isUndefinedAtZero() && !(range.getFrom() > 0)) {
+            throw new InvalidRequestException(field.getFieldName(), "Range should be above 0");
+        }
+        long count = (long) Math.floor((range.getTo() - range.getFrom()) / range.getStep() + 1e-9) + 1;
+        if (count > maxCells) {
+            throw new InvalidRequestException("ranges", "Sweep grid should not exceed " + maxCells + " cells");
+        }
+        double[] axisValues = new double[(int) count];
+        for (int i = 0; i < axisValues.length; i++) {
+            axisValues[i] = range.getFrom() + i * range.getStep();
+        }
+        return axisValues;
+    }
+
+    private void forEachCell(int size, IntConsumer action) {
+        ForkJoinPool.commonPool().invoke(new CellRangeTask(0, size, action));
+    }
+
+    private class Grid {
+        private final ComparisonField[] fields;
+        private final double[][] values;
+        private final int[] strides;
+        private final int size;
+
+        private Grid(ComparisonField[] fields, double[][] values) {
+            this.fields = fields;
+            this.values = values;
+            this.strides = new int[fields.length];
+            this.size = (int) cellCount(values);
+            for (int i = fields.length - 1, stride = 1; i >= 0; stride *= values[i].length, i--) {
+                strides[i] = stride;
+            }
+        }
+
+        private Grid project(Predicate<ComparisonField> dependsOn) {
+            List<Integer> axes = new ArrayList<>();
+            for (int axis = 0; axis < fields.length; axis++) {
+                if (dependsOn.test(fields[axis])) {
+                    axes.add(axis);
+                }
+            }
+            ComparisonField[] projectedFields = new ComparisonField[axes.size()];
+            double[][] projectedValues = new double[axes.size()][];
+            for (int i = 0; i < axes.size(); i++) {
+                projectedFields[i] = fields[axes.get(i)];
+                projectedValues[i] = values[axes.get(i)];
+            }
+            return new Grid(projectedFields, projectedValues);
+        }
+
+        private ComparisonParameters apply(ComparisonParameters base, int cell) {
+            double[] cellValues = new double[fields.length];
+            for (int axis = 0; axis < fields.length; axis++) {
+                cellValues[axis] = values[axis][cell / strides[axis] % values[axis].length];
+            }
+            return ComparisonField.with(base, fields, cellValues);
+        }
+
+        private int indexIn(Grid projection, int cell) {
+            int index = 0;
+            for (int axis = 0, projected = 0; axis < fields.length && projected < projection.fields.length; axis++) {
+                if (fields[axis] == projection.fields[projected]) {
+                    index += cell / strides[axis] % values[axis].length * projection.strides[projected++];
+                }
+            }
+            return index;
+        }
+
+        private long cellCount(double[][] axisValues) {
+            long cells = 1;
+            for (double[] axisValue : axisValues) {
+                cells *= axisValue.length;
+                if (cells > maxCells) {
+                    throw new InvalidRequestException("ranges", "Sweep grid should not exceed " + maxCells + " cells");
+                }
+            }
+            return cells;
+        }
+    }
+
+    private static class CellRangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final IntConsumer action;
+
+        private CellRangeTask(int from, int to, IntConsumer action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CELLS_PER_TASK) {
+                for (int cell = from; cell < to; cell++) {
+                    action.accept(cell);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new CellRangeTask(from, middle, action), new CellRangeTask(middle, to, action));
+        }
+    }
+}
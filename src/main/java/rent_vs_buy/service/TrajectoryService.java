@@ -0,0 +1,51 @@
+package rent_vs_buy.service;
+
+import org.springframework.stereotype.Service;
+import rent_vs_buy.balancecalculator.BalanceTrajectory;
+import rent_vs_buy.balancecalculator.ComparisonEngine;
+import rent_vs_buy.models.ComparisonParameters;
+import rent_vs_buy.models.TrajectoryResponse;
+
+@Service
+public class TrajectoryService {
+
+    private static final int MAX_YEARS = 1000;
+
+    private final ComparisonEngine comparisonEngine;
+
+    public TrajectoryService(ComparisonEngine comparisonEngine) {
+        this.comparisonEngine = comparisonEngine;
+    }
+
+    public TrajectoryResponse trajectory(ComparisonParameters comparisonParameters) {
+        BalanceTrajectory trajectory = comparisonEngine.trajectory(comparisonParameters);
+        if (trajectory.getYears() > MAX_YEARS) {
+            throw new InvalidRequestException("yearsOfLoan", "Trajectory should have at most " + MAX_YEARS + " years");
+        }
+        int years = (int) trajectory.getYears();
+        long[] year = new long[years];
+        double[] rentCosts = new double[years];
+        double[] rentInvestment = new double[years];
+        double[] loanLeft = new double[years];
+        double[] propertyValue = new double[years];
+        double[] rentBalance = new double[years];
+        double[] buyBalance = new double[years];
+        Long crossoverYear = null;
+
+        for (int i = 0; trajectory.next(); i++) {
+            year[i] = trajectory.getYear();
+            rentCosts[i] = trajectory.getRentCosts();
+            rentInvestment[i] = trajectory.getRentInvestment();
+            loanLeft[i] = trajectory.getLoanLeft();
+            propertyValue[i] = trajectory.getPropertyValue();
+            rentBalance[i] = trajectory.getRentBalance();
+            buyBalance[i] = trajectory.getBuyBalance();
+            if (crossoverYear == null && i > 0
+                    && buyBalance[i] > rentBalance[i] != buyBalance[i - 1] > rentBalance[i - 1]) {
+                crossoverYear = year[i];
+            }
+        }
+        return new TrajectoryResponse(year, rentCosts, rentInvestment, loanLeft, propertyValue, rentBalance,
+                buyBalance, crossoverYear);
+    }
+}
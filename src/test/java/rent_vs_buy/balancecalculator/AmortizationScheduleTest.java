@@ -0,0 +1,108 @@
+package rent_vs_buy.balancecalculator;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import rent_vs_buy.models.ComparisonParameters;
+import rent_vs_buy.models.ComparisonResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+@ActiveProfiles("testing")
+class AmortizationScheduleTest {
+
+    @Autowired
+    private ComparisonEngine comparisonEngine;
+    @Autowired
+    private GainsCalculator gainsCalculator;
+
+    @Test
+    void shouldAddUpToAnnuityTotals() {
+        // given
+        ComparisonParameters comparisonParameters = new ComparisonParameters(4200000D, 1969000D, 20D, 8.49D, 22000D, 4D,
+                500000D, 8D, 0.1, 0.5, false);
+        ComparisonResponse comparisonResponse = comparisonEngine.compare(comparisonParameters);
+        double annuityPayment = comparisonEngine.calculateAnnuityPayment(comparisonParameters);
+
+        // when
+        AmortizationSchedule schedule = comparisonEngine.schedule(comparisonParameters);
+        Totals totals = sum(schedule);
+
+        // then
+        assertThat(totals.rows).isEqualTo(240);
+        assertThat(totals.payments).isCloseTo(comparisonResponse.getSumOfAnnuityPayments(), within(0.01));
+        assertThat(totals.payments).isCloseTo(totals.principal + totals.interest, within(0.01 * totals.rows));
+        assertThat(totals.principal).isCloseTo(comparisonParameters.getLoanBody(), within(1D));
+        assertThat(totals.insurance).isCloseTo(comparisonEngine.calculateLoanTotals(comparisonParameters,
+                annuityPayment).getAnnuityInsurance(), within(0.01 * 20));
+        assertThat(totals.rent).isCloseTo(comparisonResponse.getPayedForRent(), within(0.01 * totals.rows));
+        assertThat(schedule.getLoanLeft()).isCloseTo(0, within(1D));
+        assertThat(schedule.getRentInvestment()).isCloseTo(
+                gainsCalculator.calculateCompoundingEffectWithoutPayments(comparisonParameters), within(0.01));
+    }
+
+    @Test
+    void shouldAddUpToDifferentiatedTotals() {
+        // given
+        ComparisonParameters comparisonParameters = new ComparisonParameters(6000000D, 5400000D, 25D, 6.49D, 25000D, 4D,
+                1500000D, 8D, 0.1, 0.5, true);
+        ComparisonResponse comparisonResponse = comparisonEngine.compare(comparisonParameters);
+        double annuityPayment = comparisonEngine.calculateAnnuityPayment(comparisonParameters);
+
+        // when
+        AmortizationSchedule schedule = comparisonEngine.schedule(comparisonParameters);
+        Totals totals = sum(schedule);
+
+        // then
+        assertThat(totals.rows).isEqualTo(300);
+        assertThat(totals.payments).isCloseTo(comparisonResponse.getSumOfDifferentiatedPayments(), within(0.01));
+        assertThat(totals.principal).isCloseTo(comparisonParameters.getLoanBody(), within(0.01 * totals.rows));
+        assertThat(totals.insurance).isCloseTo(comparisonEngine.calculateLoanTotals(comparisonParameters,
+                annuityPayment).getDifferentiatedInsurance(), within(0.01 * 25));
+        assertThat(schedule.getLoanLeft()).isCloseTo(0, within(0.01));
+        assertThat(schedule.getRentInvestment()).isCloseTo(gainsCalculator.calculateTotalGainsForRenting(
+                comparisonParameters), within(0.02));
+    }
+
+    @Test
+    void shouldOnlyScheduleRentWhenPayedFullPrice() {
+        // given
+        ComparisonParameters comparisonParameters = new ComparisonParameters(6000000D, 0D, 2D, 6.49D, 25000D, 4D,
+                1500000D, 8D, 0.1, 0.5, false);
+
+        // when
+        AmortizationSchedule schedule = comparisonEngine.schedule(comparisonParameters);
+        Totals totals = sum(schedule);
+
+        // then
+        assertThat(totals.rows).isEqualTo(24);
+        assertThat(totals.payments).isZero();
+        assertThat(totals.insurance).isZero();
+        assertThat(totals.rent).isCloseTo(25000 * 12 + 26000 * 12, within(0.01));
+    }
+
+    private Totals sum(AmortizationSchedule schedule) {
+        Totals totals = new Totals();
+        while (schedule.next()) {
+            totals.rows++;
+            totals.payments += schedule.getPayment();
+            totals.interest += schedule.getInterest();
+            totals.principal += schedule.getPrincipal();
+            totals.insurance += schedule.getInsurance();
+            totals.rent += schedule.getRent();
+        }
+        return totals;
+    }
+
+    private static class Totals {
+        private long rows;
+        private double payments;
+        private double interest;
+        private double principal;
+        private double insurance;
+        private double rent;
+    }
+}
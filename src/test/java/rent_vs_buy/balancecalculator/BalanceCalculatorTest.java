@@ -5,7 +5,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
-import rent_vs_buy.models.ComparisonRequest;
+import rent_vs_buy.models.ComparisonParameters;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
@@ -15,12 +19,12 @@ class BalanceCalculatorTest {
 
     @Autowired
     private BalanceCalculator balanceCalculator;
-    private ComparisonRequest comparisonRequest;
-    private ComparisonRequest comparisonRequestWithPayedFullPrice;
+    private ComparisonParameters comparisonParameters;
+    private ComparisonParameters comparisonParametersWithPayedFullPrice;
 
     @BeforeEach
     void setUp() {
-        comparisonRequest = new ComparisonRequest(6000000D,
+        comparisonParameters = new ComparisonParameters(6000000D,
                 5400000D,
                 25D,
                 6.49D,
@@ -32,9 +36,9 @@ class BalanceCalculatorTest {
                 0.5,
                 false);
 
-        assertThat(comparisonRequest.getLoanBody()).isEqualTo(5400000.0);
+        assertThat(comparisonParameters.getLoanBody()).isEqualTo(5400000.0);
 
-        comparisonRequestWithPayedFullPrice = new ComparisonRequest(6000000D,
+        comparisonParametersWithPayedFullPrice = new ComparisonParameters(6000000D,
                 0D,
                 25D,
                 6.49D,
@@ -46,8 +50,8 @@ class BalanceCalculatorTest {
                 0.5,
                 false);
 
-        assertThat(comparisonRequest.getLoanBody())
-                .isNotEqualTo(comparisonRequestWithPayedFullPrice.getLoanBody());
+        assertThat(comparisonParameters.getLoanBody())
+                .isNotEqualTo(comparisonParametersWithPayedFullPrice.getLoanBody());
     }
 
     @Test
@@ -61,6 +65,56 @@ class BalanceCalculatorTest {
         assertThat(expected).isEqualTo(actual);
     }
 
+    @Test
+    void shouldRoundHalfUpLikeDecimalRepresentation() {
+        // given
+        double[] values = {1.005, 2.675, 1.115, -1.005, -2.675, 0.005, -0.005, 0.0049999, -0.001, 0.0, -0.0,
+                1e-9, 9_999_999_999_999.995, 1e13, 123456789012.345, 4.35, 8.345, 1.0E22, Double.MAX_VALUE};
+
+        for (double value : values) {
+            // when
+            double actual = balanceCalculator.round(value);
+
+            // then
+            assertThat(Double.doubleToLongBits(actual)).isEqualTo(Double.doubleToLongBits(roundDecimal(value)));
+        }
+    }
+
+    @Test
+    void shouldRoundHalfUpLikeDecimalRepresentationAroundEveryHalfCent() {
+        for (long thousandths = -2_000_005; thousandths <= 2_000_005; thousandths += 10) {
+            double tie = thousandths / 1000D;
+            for (double value : new double[]{Math.nextDown(Math.nextDown(tie)), Math.nextDown(tie), tie,
+                    Math.nextUp(tie), Math.nextUp(Math.nextUp(tie))}) {
+                // when
+                double actual = balanceCalculator.round(value);
+
+                // then
+                assertThat(Double.doubleToLongBits(actual)).isEqualTo(Double.doubleToLongBits(roundDecimal(value)));
+            }
+        }
+    }
+
+    @Test
+    void shouldRoundHalfUpLikeDecimalRepresentationForRandomValues() {
+        // given
+        SplittableRandom random = new SplittableRandom(20210301);
+
+        for (int i = 0; i < 2_000_000; i++) {
+            double magnitude = Math.pow(10, random.nextInt(-3, 13));
+            double value = (random.nextDouble() * 2 - 1) * magnitude;
+            if (i % 2 == 0) {
+                value = Math.floor(value * 1000) / 1000 + (random.nextBoolean() ? 0.005 : -0.005);
+            }
+
+            // when
+            double actual = balanceCalculator.round(value);
+
+            // then
+            assertThat(Double.doubleToLongBits(actual)).isEqualTo(Double.doubleToLongBits(roundDecimal(value)));
+        }
+    }
+
     @Test
     void shouldGetMonthlyInterestRate() {
         // given
@@ -81,7 +135,7 @@ class BalanceCalculatorTest {
         double expectedAnnuityPayment = 36427.45;
 
         // when
-        double actualAnnuityPayment = balanceCalculator.calculateAnnuityPayment(comparisonRequest);
+        double actualAnnuityPayment = balanceCalculator.calculateAnnuityPayment(comparisonParameters);
 
         // then
         assertThat(expectedAnnuityPayment).isEqualTo(actualAnnuityPayment);
@@ -94,7 +148,7 @@ class BalanceCalculatorTest {
         double monthlyRent = 25000;
 
         // when
-        double annuityPayment = balanceCalculator.calculateAnnuityPayment(comparisonRequestWithPayedFullPrice);
+        double annuityPayment = balanceCalculator.calculateAnnuityPayment(comparisonParametersWithPayedFullPrice);
 
         // then
         assertThat(monthlyRent).isEqualTo(annuityPayment);
@@ -107,8 +161,8 @@ class BalanceCalculatorTest {
         double loanLeft = 1969000.0;
 
         // when
-        double actualDifferentiatedPayment = balanceCalculator.calculateMonthlyDifferentiatedPayment(comparisonRequest,
-                loanLeft);
+        double actualDifferentiatedPayment = balanceCalculator.calculateMonthlyDifferentiatedPayment(
+                comparisonParameters, loanLeft);
 
         // then
         assertThat(expectedDifferentiatedPayment).isEqualTo(actualDifferentiatedPayment);
@@ -155,4 +209,8 @@ class BalanceCalculatorTest {
         // then
         assertThat(expectedBalance).isEqualTo(actualBalance);
     }
-}
\ No newline at end of file
+
+    private double roundDecimal(double value) {
+        return new BigDecimal(Double.toString(value)).setScale(2, RoundingMode.HALF_UP).doubleValue();
+    }
+}
@@ -0,0 +1,130 @@
+package rent_vs_buy.balancecalculator;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import rent_vs_buy.balancecalculator.ComparisonEngine.LoanTotals;
+import rent_vs_buy.models.ComparisonField;
+import rent_vs_buy.models.ComparisonParameters;
+import rent_vs_buy.models.ComparisonResponse;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("testing")
+class BalanceTrajectoryTest {
+
+    @Autowired
+    private ComparisonEngine comparisonEngine;
+    @Autowired
+    private CostsCalculator costsCalculator;
+
+    @Test
+    void shouldMatchComparisonForEveryHorizon() {
+        // given
+        SplittableRandom random = new SplittableRandom(25);
+        for (int i = 0; i < 300; i++) {
+            double fullPrice = Math.floor(random.nextDouble(1000000, 12000000));
+            ComparisonParameters comparisonParameters = new ComparisonParameters(fullPrice,
+                    i % 10 == 0 ? 0 : Math.floor(fullPrice * random.nextDouble(0.1, 0.9)),
+                    random.nextInt(1, 61) / 2D,
+                    Math.round(random.nextDouble(1, 15) * 100) / 100D,
+                    Math.floor(random.nextDouble(10000, 80000)),
+                    Math.round(random.nextDouble(-2, 10) * 10) / 10D,
+                    Math.floor(random.nextDouble(0, 1500000)),
+                    Math.round(random.nextDouble(1, 12) * 10) / 10D,
+                    Math.round(random.nextDouble(0, 0.3) * 100) / 100D,
+                    Math.round(random.nextDouble(0, 1) * 100) / 100D,
+                    random.nextBoolean());
+            double annuityPayment = comparisonEngine.calculateAnnuityPayment(comparisonParameters);
+
+            // when
+            BalanceTrajectory trajectory = comparisonEngine.trajectory(comparisonParameters);
+
+            // then
+            long years = 0;
+            while (trajectory.next()) {
+                years++;
+                assertThat(trajectory.getYear()).isEqualTo(years);
+                ComparisonResponse expected = horizon(comparisonParameters, annuityPayment, years);
+                assertThat(trajectory.getRentCosts()).isEqualTo(expected.getTotalRentCosts());
+                assertThat(trajectory.getRentInvestment()).isEqualTo(expected.getTotalRentGains());
+                assertThat(trajectory.getPropertyValue()).isEqualTo(expected.getFinalRealEstatePrice());
+                assertThat(trajectory.getRentBalance()).isEqualTo(expected.getRentBalance());
+                assertThat(trajectory.getBuyBalance()).isEqualTo(expected.getBuyBalance());
+            }
+            assertThat(years).isEqualTo((long) Math.floor(comparisonParameters.getYearsOfLoan()));
+            if (years == comparisonParameters.getYearsOfLoan()) {
+                ComparisonResponse expected = comparisonEngine.compare(comparisonParameters, false);
+                assertThat(trajectory.getRentBalance()).isEqualTo(expected.getRentBalance());
+                assertThat(trajectory.getBuyBalance()).isEqualTo(expected.getBuyBalance());
+                // the rounded annuity payment leaves a residue of well under one month's principal
+                assertThat(Math.abs(trajectory.getLoanLeft()))
+                        .isLessThan(comparisonParameters.getLoanBody() / (12 * years) + 0.01);
+            }
+        }
+    }
+
+    @Test
+    void shouldAmortizeLoanLikeSchedule() {
+        // given
+        ComparisonParameters comparisonParameters = new ComparisonParameters(4200000D, 1969000D, 20D, 8.49D,
+                22000D, 4D, 500000D, 8D, 0.1, 0.5, false);
+        AmortizationSchedule schedule = comparisonEngine.schedule(comparisonParameters);
+
+        // when
+        BalanceTrajectory trajectory = comparisonEngine.trajectory(comparisonParameters);
+
+        // then
+        while (trajectory.next()) {
+            for (int month = 0; month < 12; month++) {
+                schedule.next();
+            }
+            assertThat(trajectory.getLoanLeft()).isEqualTo(schedule.getLoanLeft());
+        }
+    }
+
+    // Re-runs the monthly loan loops from the first month for every horizon
+    private ComparisonResponse horizon(ComparisonParameters comparisonParameters, double annuityPayment,
+                                       long years) {
+        ComparisonParameters horizonParameters = ComparisonField.YEARS_OF_LOAN.with(comparisonParameters, years);
+        EvaluationContext full = new EvaluationContext(comparisonParameters);
+        EvaluationContext horizon = new EvaluationContext(horizonParameters);
+        LoanTotals loanTotals = new LoanTotals();
+        if (!full.fullPriceWasPayed()) {
+            double monthlyInterestRate = full.getMonthlyCreditInterestRate();
+            double monthlyLoanBodyPart = comparisonParameters.getLoanBody() / full.getPeriodInMonths();
+            double insurancePercent = comparisonParameters.getInsuranceRate();
+            double differentiatedLoanLeft = comparisonParameters.getLoanBody();
+            double differentiatedPayments = 0;
+            double annuityLoanLeft = comparisonParameters.getLoanBody();
+            double annuityInsurance = 0;
+            double differentiatedInsuredLoanLeft = comparisonParameters.getLoanBody();
+            double differentiatedInsurance = 0;
+            for (long month = 0; month < 12 * years; month++) {
+                differentiatedPayments += comparisonEngine.round(monthlyLoanBodyPart +
+                        differentiatedLoanLeft * monthlyInterestRate);
+                differentiatedLoanLeft = differentiatedLoanLeft - monthlyLoanBodyPart;
+                if (month % 12 == 0) {
+                    annuityInsurance += annuityLoanLeft * insurancePercent / 100;
+                    differentiatedInsurance += differentiatedInsuredLoanLeft * insurancePercent / 100;
+                }
+                annuityLoanLeft = annuityLoanLeft - (annuityPayment - annuityLoanLeft * monthlyInterestRate);
+                double differentiatedPayment = comparisonEngine.round(monthlyLoanBodyPart +
+                        differentiatedInsuredLoanLeft * monthlyInterestRate);
+                differentiatedInsuredLoanLeft = differentiatedInsuredLoanLeft -
+                        (differentiatedPayment - differentiatedInsuredLoanLeft * monthlyInterestRate);
+            }
+            loanTotals.sumOfAnnuityPayments = comparisonEngine.round(annuityPayment * horizon.getPeriodInMonths());
+            loanTotals.sumOfDifferentiatedPayments = comparisonEngine.round(differentiatedPayments);
+            loanTotals.annuityInsurance = comparisonEngine.round(annuityInsurance);
+            loanTotals.differentiatedInsurance = comparisonEngine.round(differentiatedInsurance);
+        }
+        return comparisonEngine.compare(horizon, annuityPayment, loanTotals,
+                costsCalculator.calculateRentForWholePeriod(horizonParameters),
+                GainsCalculator.DEFAULT_APPRECIATION_RATE);
+    }
+}
@@ -0,0 +1,103 @@
+package rent_vs_buy.balancecalculator;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import rent_vs_buy.models.ComparisonParameters;
+import rent_vs_buy.models.ComparisonResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+@ActiveProfiles("testing")
+class BatchKernelTest {
+
+    @Autowired
+    private BatchKernel batchKernel;
+    @Autowired
+    private ComparisonEngine comparisonEngine;
+
+    @Test
+    void shouldMatchClosedFormComparisons() {
+        // given
+        List<ComparisonParameters> comparisonParameters = randomParameters(5000);
+        ComparisonColumns columns = ComparisonColumns.of(comparisonParameters);
+
+        // when
+        batchKernel.compute(columns);
+
+        // then
+        // rounded like the engine, so only the differently arranged closed forms of the differentiated insurance
+        // and the rent can land a cent apart
+        for (int i = 0; i < columns.size(); i++) {
+            ComparisonResponse expected = comparisonEngine.compare(comparisonParameters.get(i), true);
+            assertThat(columns.getSumOfAnnuityPayments(i)).isEqualTo(expected.getSumOfAnnuityPayments());
+            assertThat(columns.getSumOfDifferentiatedPayments(i)).isEqualTo(expected.getSumOfDifferentiatedPayments());
+            assertThat(columns.getTotalAnnuityCosts(i)).isEqualTo(expected.getTotalAnnuityCosts());
+            assertThat(columns.getTotalDifferentiatedCosts(i))
+                    .isCloseTo(expected.getTotalDifferentiatedCosts(), within(0.011));
+            assertThat(columns.getPayedForRent(i)).isCloseTo(expected.getPayedForRent(), within(0.011));
+            assertThat(columns.getTotalRentGains(i)).isEqualTo(expected.getTotalRentGains());
+            assertThat(columns.getTotalBuyGains(i)).isEqualTo(expected.getTotalBuyGains());
+            assertThat(columns.getFinalRealEstatePrice(i)).isEqualTo(expected.getFinalRealEstatePrice());
+            assertThat(columns.getRentBalance(i)).isCloseTo(expected.getRentBalance(), within(0.011));
+            assertThat(columns.getBuyBalance(i)).isCloseTo(expected.getBuyBalance(), within(0.011));
+        }
+    }
+
+    @Test
+    void shouldStayWithinToleranceOfIterativeComparisons() {
+        // given
+        List<ComparisonParameters> comparisonParameters = List.of(
+                new ComparisonParameters(4200000D, 1969000D, 20D, 8.49D, 22000D, 4D, 500000D, 8D, 0.1, 0.5, true),
+                new ComparisonParameters(6000000D, 5400000D, 25D, 6.49D, 25000D, 4D, 1500000D, 8D, 0.1, 0.5, false),
+                new ComparisonParameters(6000000D, 0D, 25D, 6.49D, 25000D, 4D, 1500000D, 8D, 0.1, 0.5, false),
+                new ComparisonParameters(3000000D, 2500000D, 2.5D, 12D, 40000D, 7D, 0D, 5D, 0.2, 1D, true),
+                new ComparisonParameters(9000000D, 8000000D, 30D, 3D, 15000D, 0D, 200000D, 11D, 0D, 0.3, false),
+                new ComparisonParameters(1500000D, 100000D, 7.3D, 9.9D, 60000D, 2.5D, 100000D, 4D, 0.3, 0.7, true));
+        ComparisonColumns columns = ComparisonColumns.of(comparisonParameters);
+
+        // when
+        batchKernel.compute(columns);
+
+        // then
+        for (int i = 0; i < columns.size(); i++) {
+            ComparisonParameters parameters = comparisonParameters.get(i);
+            double months = Math.floor(parameters.getYearsOfLoan() * 12);
+            double years = Math.floor(parameters.getYearsOfLoan());
+            double tolerance = 0.005 * months + 0.0003 * parameters.getInsuranceRate() * years * years + 0.05;
+            ComparisonResponse expected = comparisonEngine.compare(parameters, false);
+            assertThat(columns.getAnnuityPayment(i)).isEqualTo(comparisonEngine.calculateAnnuityPayment(parameters));
+            assertThat(columns.getPayedForRent(i)).isCloseTo(expected.getPayedForRent(), within(0.05));
+            assertThat(columns.getTotalRentGains(i)).isCloseTo(expected.getTotalRentGains(), within(0.05));
+            assertThat(columns.getRentBalance(i)).isCloseTo(expected.getRentBalance(), within(0.1));
+            assertThat(columns.getBuyBalance(i)).isCloseTo(expected.getBuyBalance(), within(tolerance));
+        }
+    }
+
+    private List<ComparisonParameters> randomParameters(int count) {
+        SplittableRandom random = new SplittableRandom(14);
+        List<ComparisonParameters> comparisonParameters = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            double fullPrice = Math.floor(random.nextDouble(1000000, 12000000));
+            comparisonParameters.add(new ComparisonParameters(fullPrice,
+                    i % 10 == 0 ? 0 : Math.floor(fullPrice * random.nextDouble(0.1, 0.9)),
+                    random.nextInt(1, 61) / 2D,
+                    Math.round(random.nextDouble(1, 15) * 100) / 100D,
+                    Math.floor(random.nextDouble(10000, 80000)),
+                    Math.round(random.nextDouble(-2, 10) * 10) / 10D,
+                    Math.floor(random.nextDouble(0, 1500000)),
+                    Math.round(random.nextDouble(1, 12) * 10) / 10D,
+                    Math.round(random.nextDouble(0, 0.3) * 100) / 100D,
+                    Math.round(random.nextDouble(0, 1) * 100) / 100D,
+                    random.nextBoolean()));
+        }
+        return comparisonParameters;
+    }
+}
@@ -0,0 +1,170 @@
+package rent_vs_buy.balancecalculator;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import rent_vs_buy.models.ComparisonParameters;
+import rent_vs_buy.models.ComparisonResponse;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+@ActiveProfiles("testing")
+class ComparisonEngineTest {
+
+    @Autowired
+    private ComparisonEngine comparisonEngine;
+    @Autowired
+    private CostsCalculator costsCalculator;
+    @Autowired
+    private GainsCalculator gainsCalculator;
+
+    @Test
+    void shouldMatchCalculatorsForAnnuityPayment() {
+        // given
+        ComparisonParameters comparisonParameters = new ComparisonParameters(4200000D,
+                1969000D,
+                20D,
+                8.49D,
+                22000D,
+                4D,
+                500000D,
+                8D,
+                0.1,
+                0.5,
+                false);
+
+        // when
+        ComparisonResponse actual = comparisonEngine.compare(comparisonParameters);
+
+        // then
+        assertThat(actual).usingRecursiveComparison().isEqualTo(compareWithCalculators(comparisonParameters));
+        assertThat(actual.getBuyBalance()).isEqualTo(6367712.6);
+    }
+
+    @Test
+    void shouldMatchCalculatorsForDifferentiatedPayment() {
+        // given
+        ComparisonParameters comparisonParameters = new ComparisonParameters(4200000D,
+                1969000D,
+                20D,
+                8.49D,
+                22000D,
+                4D,
+                500000D,
+                8D,
+                0.1,
+                0.5,
+                true);
+
+        // when
+        ComparisonResponse actual = comparisonEngine.compare(comparisonParameters);
+
+        // then
+        assertThat(actual).usingRecursiveComparison().isEqualTo(compareWithCalculators(comparisonParameters));
+        assertThat(actual.getBuyBalance()).isEqualTo(6844514.85);
+    }
+
+    @Test
+    void shouldMatchCalculatorsWhenPayedFullPrice() {
+        // given
+        ComparisonParameters comparisonParameters = new ComparisonParameters(6000000D,
+                0D,
+                25D,
+                6.49D,
+                25000D,
+                4D,
+                1500000D,
+                8D,
+                0.1,
+                0.5,
+                false);
+
+        // when
+        ComparisonResponse actual = comparisonEngine.compare(comparisonParameters);
+
+        // then
+        assertThat(actual).usingRecursiveComparison().isEqualTo(compareWithCalculators(comparisonParameters));
+    }
+
+    @Test
+    void shouldMatchCalculatorsForVariousTerms() {
+        // given
+        List<ComparisonParameters> comparisonParameterss = List.of(
+                new ComparisonParameters(6000000D, 5400000D, 25D, 6.49D, 25000D, 4D, 1500000D, 8D, 0.1, 0.5, true),
+                new ComparisonParameters(3000000D, 2500000D, 2.5D, 12D, 40000D, 7D, 0D, 5D, 0.2, 1D, false),
+                new ComparisonParameters(3000000D, 2500000D, 0.5D, 12D, 40000D, 7D, 0D, 5D, 0.2, 1D, true),
+                new ComparisonParameters(9000000D, 8000000D, 30D, 3D, 15000D, -1D, 200000D, 11D, 0D, 0D, false),
+                new ComparisonParameters(1500000D, 100000D, 7.3D, 9.9D, 60000D, 2.5D, 100000D, 4D, 0.3, 0.7, true));
+
+        for (ComparisonParameters comparisonParameters : comparisonParameterss) {
+            // when
+            ComparisonResponse actual = comparisonEngine.compare(comparisonParameters);
+
+            // then
+            assertThat(actual).usingRecursiveComparison().isEqualTo(compareWithCalculators(comparisonParameters));
+        }
+    }
+
+    @Test
+    void shouldStayWithinToleranceInClosedForm() {
+        // given
+        List<ComparisonParameters> comparisonParameterss = List.of(
+                new ComparisonParameters(4200000D, 1969000D, 20D, 8.49D, 22000D, 4D, 500000D, 8D, 0.1, 0.5, true),
+                new ComparisonParameters(6000000D, 5400000D, 25D, 6.49D, 25000D, 4D, 1500000D, 8D, 0.1, 0.5, false),
+                new ComparisonParameters(3000000D, 2500000D, 2.5D, 12D, 40000D, 7D, 0D, 5D, 0.2, 1D, true),
+                new ComparisonParameters(9000000D, 8000000D, 30D, 3D, 15000D, -1D, 200000D, 11D, 0D, 0.3, false),
+                new ComparisonParameters(1500000D, 100000D, 7.3D, 9.9D, 60000D, 2.5D, 100000D, 4D, 0.3, 0.7, true));
+
+        for (ComparisonParameters comparisonParameters : comparisonParameterss) {
+            double months = Math.floor(comparisonParameters.getYearsOfLoan() * 12);
+            double years = Math.floor(comparisonParameters.getYearsOfLoan());
+            double tolerance = 0.005 * months + 0.0003 * comparisonParameters.getInsuranceRate() * years * years + 0.05;
+
+            // when
+            ComparisonResponse iterative = comparisonEngine.compare(comparisonParameters, false);
+            ComparisonResponse closedForm = comparisonEngine.compare(comparisonParameters, true);
+
+            // then
+            assertThat(closedForm.getSumOfAnnuityPayments()).isEqualTo(iterative.getSumOfAnnuityPayments());
+            assertThat(closedForm.getTotalAnnuityCosts()).isCloseTo(iterative.getTotalAnnuityCosts(), within(0.05));
+            assertThat(closedForm.getSumOfDifferentiatedPayments())
+                    .isCloseTo(iterative.getSumOfDifferentiatedPayments(), within(tolerance));
+            assertThat(closedForm.getTotalDifferentiatedCosts())
+                    .isCloseTo(iterative.getTotalDifferentiatedCosts(), within(tolerance));
+            assertThat(closedForm.getBuyBalance()).isCloseTo(iterative.getBuyBalance(), within(tolerance));
+        }
+    }
+
+    private ComparisonResponse compareWithCalculators(ComparisonParameters body) {
+        double payment = costsCalculator.calculateAnnuityPayment(body);
+        double finalRealEstatePrice = gainsCalculator.calculateFinalRealEstatePrice(body);
+        double totalRentCosts = costsCalculator.calculateTotalCostsForRenting(body);
+        double totalRentGains = gainsCalculator.calculateTotalGainsForRenting(body);
+        double totalAnnuityCosts = costsCalculator.calculateTotalLossesWithAnnuityPayment(body, finalRealEstatePrice);
+        double totalBuyGains = gainsCalculator.calculateTotalGainsForBuying(body);
+        double totalDifferentiatedCosts = costsCalculator.calculateTotalLossesWithDifferentiatedPayment(body,
+                finalRealEstatePrice);
+        double buyBalance = body.getIsDifferentiatedPayment()
+                ? costsCalculator.calculateBalance(totalDifferentiatedCosts, totalBuyGains)
+                : costsCalculator.calculateBalance(totalAnnuityCosts, totalBuyGains);
+
+        return new ComparisonResponse(
+                costsCalculator.calculateTotalAnnuityPayments(body, payment),
+                costsCalculator.calculateTotalDifferentiatedPayments(body),
+                totalAnnuityCosts,
+                totalDifferentiatedCosts,
+                costsCalculator.calculateRentForWholePeriod(body),
+                totalRentCosts,
+                totalRentGains,
+                totalBuyGains,
+                gainsCalculator.calculateFinalRealEstatePrice(body),
+                costsCalculator.calculateBalance(totalRentCosts, totalRentGains),
+                buyBalance
+        );
+    }
+}
@@ -0,0 +1,89 @@
+package rent_vs_buy.balancecalculator;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import rent_vs_buy.balancecalculator.ComparisonGraph.Quantity;
+import rent_vs_buy.models.ComparisonParameters;
+import rent_vs_buy.models.ComparisonResponse;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("testing")
+class ComparisonGraphTest {
+
+    @Autowired
+    private ComparisonEngine comparisonEngine;
+
+    @Test
+    void shouldMatchEngineForEveryOutput() {
+        // given
+        SplittableRandom random = new SplittableRandom(20);
+        for (int i = 0; i < 2000; i++) {
+            double fullPrice = Math.floor(random.nextDouble(1000000, 12000000));
+            ComparisonParameters comparisonParameters = new ComparisonParameters(fullPrice,
+                    i % 10 == 0 ? 0 : Math.floor(fullPrice * random.nextDouble(0.1, 0.9)),
+                    random.nextInt(1, 61) / 2D,
+                    Math.round(random.nextDouble(1, 15) * 100) / 100D,
+                    Math.floor(random.nextDouble(10000, 80000)),
+                    Math.round(random.nextDouble(-2, 10) * 10) / 10D,
+                    Math.floor(random.nextDouble(0, 1500000)),
+                    Math.round(random.nextDouble(1, 12) * 10) / 10D,
+                    Math.round(random.nextDouble(0, 0.3) * 100) / 100D,
+                    Math.round(random.nextDouble(0, 1) * 100) / 100D,
+                    random.nextBoolean());
+            boolean closedForm = i % 2 == 0;
+
+            // when
+            ComparisonGraph comparisonGraph = comparisonEngine.graph(comparisonParameters, closedForm);
+            ComparisonResponse expected = comparisonEngine.compare(comparisonParameters, closedForm);
+
+            // then
+            assertThat(comparisonGraph.get(Quantity.SUM_OF_ANNUITY_PAYMENTS))
+                    .isEqualTo(expected.getSumOfAnnuityPayments());
+            assertThat(comparisonGraph.get(Quantity.SUM_OF_DIFFERENTIATED_PAYMENTS))
+                    .isEqualTo(expected.getSumOfDifferentiatedPayments());
+            assertThat(comparisonGraph.get(Quantity.TOTAL_ANNUITY_COSTS)).isEqualTo(expected.getTotalAnnuityCosts());
+            assertThat(comparisonGraph.get(Quantity.TOTAL_DIFFERENTIATED_COSTS))
+                    .isEqualTo(expected.getTotalDifferentiatedCosts());
+            assertThat(comparisonGraph.get(Quantity.PAYED_FOR_RENT)).isEqualTo(expected.getPayedForRent());
+            assertThat(comparisonGraph.get(Quantity.TOTAL_RENT_COSTS)).isEqualTo(expected.getTotalRentCosts());
+            assertThat(comparisonGraph.get(Quantity.TOTAL_RENT_GAINS)).isEqualTo(expected.getTotalRentGains());
+            assertThat(comparisonGraph.get(Quantity.TOTAL_BUY_GAINS)).isEqualTo(expected.getTotalBuyGains());
+            assertThat(comparisonGraph.get(Quantity.FINAL_REAL_ESTATE_PRICE))
+                    .isEqualTo(expected.getFinalRealEstatePrice());
+            assertThat(comparisonGraph.get(Quantity.RENT_BALANCE)).isEqualTo(expected.getRentBalance());
+            assertThat(comparisonGraph.get(Quantity.BUY_BALANCE)).isEqualTo(expected.getBuyBalance());
+        }
+    }
+
+    @Test
+    void shouldEvaluateOnlyRequiredQuantities() {
+        // given
+        ComparisonParameters comparisonParameters = new ComparisonParameters(4200000D, 1969000D, 20D, 8.49D,
+                22000D, 4D, 500000D, 8D, 0.1, 0.5, false);
+        ComparisonGraph comparisonGraph = comparisonEngine.graph(comparisonParameters, false);
+
+        // when
+        double rentBalance = comparisonGraph.get(Quantity.RENT_BALANCE);
+
+        // then
+        assertThat(rentBalance).isEqualTo(5593685.629999999);
+        assertThat(comparisonGraph.isEvaluated(Quantity.TOTAL_RENT_GAINS)).isTrue();
+        assertThat(comparisonGraph.isEvaluated(Quantity.FINAL_REAL_ESTATE_PRICE)).isFalse();
+        assertThat(comparisonGraph.isEvaluated(Quantity.ANNUITY_INSURANCE)).isFalse();
+
+        // when
+        double buyBalance = comparisonGraph.get(Quantity.BUY_BALANCE);
+
+        // then
+        assertThat(buyBalance).isEqualTo(6367712.6);
+        assertThat(comparisonGraph.isEvaluated(Quantity.ANNUITY_INSURANCE)).isTrue();
+        assertThat(comparisonGraph.isEvaluated(Quantity.SUM_OF_DIFFERENTIATED_PAYMENTS)).isFalse();
+        assertThat(comparisonGraph.isEvaluated(Quantity.DIFFERENTIATED_INSURANCE)).isFalse();
+    }
+}
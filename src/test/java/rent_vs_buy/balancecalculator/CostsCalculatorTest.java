@@ -4,9 +4,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
-import rent_vs_buy.models.ComparisonRequest;
+import rent_vs_buy.models.ComparisonParameters;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.within;
 
 @SpringBootTest
 @ActiveProfiles("testing")
@@ -18,7 +19,7 @@ class CostsCalculatorTest {
     @Test
     void shouldCalculateTotalDifferentiatedPayments() {
         // given
-        ComparisonRequest comparisonRequest = new ComparisonRequest(6000000D,
+        ComparisonParameters comparisonParameters = new ComparisonParameters(6000000D,
                 5400000D,
                 25D,
                 6.49D,
@@ -34,7 +35,7 @@ class CostsCalculatorTest {
 
         //when
         double actualTotalDifferentiatedPayments =
-                costsCalculator.calculateTotalDifferentiatedPayments(comparisonRequest);
+                costsCalculator.calculateTotalDifferentiatedPayments(comparisonParameters);
 
         // then
         assertThat(expectedTotalDifferentiatedPayments).isEqualTo(actualTotalDifferentiatedPayments);
@@ -43,7 +44,7 @@ class CostsCalculatorTest {
     @Test
     void shouldCalculateTotalDifferentiatedPaymentsWhenPayedFullPrice() {
         // given
-        ComparisonRequest comparisonRequest = new ComparisonRequest(6000000D,
+        ComparisonParameters comparisonParameters = new ComparisonParameters(6000000D,
                 0D,
                 25D,
                 6.49D,
@@ -59,7 +60,7 @@ class CostsCalculatorTest {
 
         //when
         double actualTotalDifferentiatedPayments =
-                costsCalculator.calculateTotalDifferentiatedPayments(comparisonRequest);
+                costsCalculator.calculateTotalDifferentiatedPayments(comparisonParameters);
 
         // then
         assertThat(expectedTotalDifferentiatedPayments).isEqualTo(actualTotalDifferentiatedPayments);
@@ -68,7 +69,7 @@ class CostsCalculatorTest {
     @Test
     void shouldCalculateTotalAnnuityPayments() {
         // given
-        ComparisonRequest comparisonRequest = new ComparisonRequest(4200000D,
+        ComparisonParameters comparisonParameters = new ComparisonParameters(4200000D,
                 1969000D,
                 20D,
                 8.49D,
@@ -85,7 +86,7 @@ class CostsCalculatorTest {
 
         // when
         double actualTotalAnnuityPayments =
-                costsCalculator.calculateTotalAnnuityPayments(comparisonRequest, annuityPayment);
+                costsCalculator.calculateTotalAnnuityPayments(comparisonParameters, annuityPayment);
 
         // then
         assertThat(expectedTotalAnnuityPayments).isEqualTo(actualTotalAnnuityPayments);
@@ -94,7 +95,7 @@ class CostsCalculatorTest {
     @Test
     void shouldCalculateTotalAnnuityPaymentsWhenPayedFullPrice() {
         // given
-        ComparisonRequest comparisonRequest = new ComparisonRequest(4200000D,
+        ComparisonParameters comparisonParameters = new ComparisonParameters(4200000D,
                 0D,
                 20D,
                 8.49D,
@@ -111,7 +112,7 @@ class CostsCalculatorTest {
 
         // when
         double actualTotalAnnuityPayments =
-                costsCalculator.calculateTotalAnnuityPayments(comparisonRequest, annuityPayment);
+                costsCalculator.calculateTotalAnnuityPayments(comparisonParameters, annuityPayment);
 
         // then
         assertThat(expectedTotalAnnuityPayments).isEqualTo(actualTotalAnnuityPayments);
@@ -120,7 +121,7 @@ class CostsCalculatorTest {
     @Test
     void shouldCalculateRentForWholePeriod() {
         // given
-        ComparisonRequest comparisonRequest = new ComparisonRequest(4200000D,
+        ComparisonParameters comparisonParameters = new ComparisonParameters(4200000D,
                 0D,
                 20D,
                 8.49D,
@@ -135,7 +136,7 @@ class CostsCalculatorTest {
         double expectedRentForWholePeriod = 7861412.74;
 
         // when
-        double actualRentForWholePeriod = costsCalculator.calculateRentForWholePeriod(comparisonRequest);
+        double actualRentForWholePeriod = costsCalculator.calculateRentForWholePeriod(comparisonParameters);
 
         // then
         assertThat(expectedRentForWholePeriod).isEqualTo(actualRentForWholePeriod);
@@ -144,7 +145,7 @@ class CostsCalculatorTest {
     @Test
     void shouldCalculateAbsoluteMonthlyPercent() {
         // given
-        ComparisonRequest comparisonRequest = new ComparisonRequest(4200000D,
+        ComparisonParameters comparisonParameters = new ComparisonParameters(4200000D,
                 1969000D,
                 20D,
                 8.49D,
@@ -160,7 +161,7 @@ class CostsCalculatorTest {
         double expectedAbsoluteMonthlyPercent = 11320.0;
 
         //when
-        double actualAbsoluteMonthlyPercent = costsCalculator.calculateAbsoluteMonthlyPercent(comparisonRequest,
+        double actualAbsoluteMonthlyPercent = costsCalculator.calculateAbsoluteMonthlyPercent(comparisonParameters,
                 loanLeft, costsCalculator.getMonthlyInterestRate(8.49));
 
         // then
@@ -170,7 +171,7 @@ class CostsCalculatorTest {
     @Test
     void shouldCalculateAbsoluteMonthlyPercentWhenPayedFullPrice() {
         // given
-        ComparisonRequest comparisonRequest = new ComparisonRequest(4200000D,
+        ComparisonParameters comparisonParameters = new ComparisonParameters(4200000D,
                 0D,
                 20D,
                 8.49D,
@@ -186,7 +187,7 @@ class CostsCalculatorTest {
         double expectedAbsoluteMonthlyPercent = 0;
 
         //when
-        double actualAbsoluteMonthlyPercent = costsCalculator.calculateAbsoluteMonthlyPercent(comparisonRequest,
+        double actualAbsoluteMonthlyPercent = costsCalculator.calculateAbsoluteMonthlyPercent(comparisonParameters,
                 loanLeft, costsCalculator.getMonthlyInterestRate(8.49));
 
         // then
@@ -196,7 +197,7 @@ class CostsCalculatorTest {
     @Test
     void shouldCalculateLoanBodyPayedPerMonth() {
         // given
-        ComparisonRequest comparisonRequest = new ComparisonRequest(4200000D,
+        ComparisonParameters comparisonParameters = new ComparisonParameters(4200000D,
                 1969000D,
                 20D,
                 8.49D,
@@ -213,7 +214,7 @@ class CostsCalculatorTest {
         double expectedLoanBodyPayedPerMonth = 5755.0;
 
         // when
-        double actualLoanBodyPayedPerMonth = costsCalculator.calculateLoanBodyPayedPerMonth(comparisonRequest,
+        double actualLoanBodyPayedPerMonth = costsCalculator.calculateLoanBodyPayedPerMonth(comparisonParameters,
                 annuityPayment, absoluteMonthlyPercent);
 
         // then
@@ -223,7 +224,7 @@ class CostsCalculatorTest {
     @Test
     void shouldCalculateLoanBodyPayedPerMonthWhenPayedFullPrice() {
         // given
-        ComparisonRequest comparisonRequest = new ComparisonRequest(4200000D,
+        ComparisonParameters comparisonParameters = new ComparisonParameters(4200000D,
                 0D,
                 20D,
                 8.49D,
@@ -240,7 +241,7 @@ class CostsCalculatorTest {
         double expectedLoanBodyPayedPerMonth = 0;
 
         // when
-        double actualLoanBodyPayedPerMonth = costsCalculator.calculateLoanBodyPayedPerMonth(comparisonRequest,
+        double actualLoanBodyPayedPerMonth = costsCalculator.calculateLoanBodyPayedPerMonth(comparisonParameters,
                 annuityPayment, absoluteMonthlyPercent);
 
         // then
@@ -250,7 +251,7 @@ class CostsCalculatorTest {
     @Test
     void shouldCalculateInsurancePaymentForWholePeriodWithAnnuityPayment() {
         // given
-        ComparisonRequest comparisonRequest = new ComparisonRequest(4200000D,
+        ComparisonParameters comparisonParameters = new ComparisonParameters(4200000D,
                 3500000D,
                 20D,
                 8.49D,
@@ -267,8 +268,8 @@ class CostsCalculatorTest {
         double expectedInsurancePaymentForWholePeriod = 451593.37;
 
         // when
-        double actualInsurancePaymentForWholePeriod = costsCalculator.calculateInsurancePaymentForWholePeriod(comparisonRequest,
-                annuityPayment, insurancePercent, false);
+        double actualInsurancePaymentForWholePeriod = costsCalculator.calculateInsurancePaymentForWholePeriod(
+                comparisonParameters, annuityPayment, insurancePercent, false);
 
         // then
         assertThat(expectedInsurancePaymentForWholePeriod).isEqualTo(actualInsurancePaymentForWholePeriod);
@@ -277,7 +278,7 @@ class CostsCalculatorTest {
     @Test
     void shouldCalculateInsurancePaymentForWholePeriodWithDifferentiatedPayment() {
         // given
-        ComparisonRequest comparisonRequest = new ComparisonRequest(4200000D,
+        ComparisonParameters comparisonParameters = new ComparisonParameters(4200000D,
                 3500000D,
                 20D,
                 8.49D,
@@ -295,7 +296,7 @@ class CostsCalculatorTest {
 
         // when
         double actualInsurancePaymentForWholePeriod =
-                costsCalculator.calculateInsurancePaymentForWholePeriod(comparisonRequest, annuityPayment,
+                costsCalculator.calculateInsurancePaymentForWholePeriod(comparisonParameters, annuityPayment,
                 insurancePercent, true);
 
         // then
@@ -305,7 +306,7 @@ class CostsCalculatorTest {
     @Test
     void shouldCalculateInsurancePaymentForWholePeriodWhenPayedFullPrice() {
         // given
-        ComparisonRequest comparisonRequest = new ComparisonRequest(4200000D,
+        ComparisonParameters comparisonParameters = new ComparisonParameters(4200000D,
                 0D,
                 20D,
                 8.49D,
@@ -323,7 +324,7 @@ class CostsCalculatorTest {
 
         // when
         double actualInsurancePaymentForWholePeriod =
-                costsCalculator.calculateInsurancePaymentForWholePeriod(comparisonRequest,
+                costsCalculator.calculateInsurancePaymentForWholePeriod(comparisonParameters,
                 annuityPayment, insurancePercent, false);
 
         // then
@@ -333,7 +334,7 @@ class CostsCalculatorTest {
     @Test
     void shouldCalculateTaxForWholePeriod() {
         // given
-        ComparisonRequest comparisonRequest = new ComparisonRequest(4200000D,
+        ComparisonParameters comparisonParameters = new ComparisonParameters(4200000D,
                 0D,
                 20D,
                 8.49D,
@@ -348,7 +349,7 @@ class CostsCalculatorTest {
         double expectedTaxForWholePeriod = 84000;
 
         // when
-        double actualTaxForWholePeriod = costsCalculator.calculateTaxForWholePeriod(comparisonRequest, 0.1);
+        double actualTaxForWholePeriod = costsCalculator.calculateTaxForWholePeriod(comparisonParameters, 0.1);
 
         // then
         assertThat(expectedTaxForWholePeriod).isEqualTo(actualTaxForWholePeriod);
@@ -357,7 +358,7 @@ class CostsCalculatorTest {
     @Test
     void shouldCalculateTotalLossesWithAnnuityPayment() {
         // given
-        ComparisonRequest comparisonRequest = new ComparisonRequest(4200000D,
+        ComparisonParameters comparisonParameters = new ComparisonParameters(4200000D,
                 1969000D,
                 20D,
                 8.49D,
@@ -373,7 +374,7 @@ class CostsCalculatorTest {
         double finalRealEstatePrice = 5124798.17;
 
         // when
-        double actualTotalLosses = costsCalculator.calculateTotalLossesWithAnnuityPayment(comparisonRequest,
+        double actualTotalLosses = costsCalculator.calculateTotalLossesWithAnnuityPayment(comparisonParameters,
                 finalRealEstatePrice);
 
         // then
@@ -383,7 +384,7 @@ class CostsCalculatorTest {
     @Test
     void shouldCalculateTotalLossesWithDifferentiatedPayment() {
         // given
-        ComparisonRequest comparisonRequest = new ComparisonRequest(4200000D,
+        ComparisonParameters comparisonParameters = new ComparisonParameters(4200000D,
                 1969000D,
                 20D,
                 8.49D,
@@ -399,7 +400,7 @@ class CostsCalculatorTest {
         double finalRealEstatePrice = 5124798.17;
 
         // when
-        double actualTotalLosses = costsCalculator.calculateTotalLossesWithDifferentiatedPayment(comparisonRequest,
+        double actualTotalLosses = costsCalculator.calculateTotalLossesWithDifferentiatedPayment(comparisonParameters,
                 finalRealEstatePrice);
 
         // then
@@ -409,7 +410,7 @@ class CostsCalculatorTest {
     @Test
     void shouldCalculateTotalCostsForRenting() {
         // given
-        ComparisonRequest comparisonRequest = new ComparisonRequest(4200000D,
+        ComparisonParameters comparisonParameters = new ComparisonParameters(4200000D,
                 1969000D,
                 20D,
                 8.49D,
@@ -424,9 +425,91 @@ class CostsCalculatorTest {
         double expectedTotalCostsForRenting = 7861412.74;
 
         // when
-        double actualTotalCostsForRenting = costsCalculator.calculateTotalCostsForRenting(comparisonRequest);
+        double actualTotalCostsForRenting = costsCalculator.calculateTotalCostsForRenting(comparisonParameters);
 
         // then
         assertThat(expectedTotalCostsForRenting).isEqualTo(actualTotalCostsForRenting);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldCalculateTotalDifferentiatedPaymentsClosedForm() {
+        // given
+        ComparisonParameters comparisonParameters = new ComparisonParameters(6000000D,
+                5400000D,
+                25D,
+                6.49D,
+                25000D,
+                4D,
+                1500000D,
+                8D,
+                0.1,
+                0.5,
+                false);
+
+        double expectedTotalDifferentiatedPayments = 9795352.5;
+
+        //when
+        double actualTotalDifferentiatedPayments =
+                costsCalculator.calculateTotalDifferentiatedPaymentsClosedForm(comparisonParameters);
+
+        // then
+        assertThat(actualTotalDifferentiatedPayments).isCloseTo(expectedTotalDifferentiatedPayments,
+                within(0.005 * 300));
+    }
+
+    @Test
+    void shouldCalculateInsurancePaymentForWholePeriodClosedForm() {
+        // given
+        ComparisonParameters comparisonParameters = new ComparisonParameters(4200000D,
+                1969000D,
+                20D,
+                8.49D,
+                22000D,
+                4D,
+                500000D,
+                8D,
+                0.1,
+                0.5,
+                false);
+
+        double monthlyPayment = costsCalculator.calculateAnnuityPayment(comparisonParameters);
+        double expectedAnnuityInsurance = costsCalculator.calculateInsurancePaymentForWholePeriod(comparisonParameters,
+                monthlyPayment, 0.5);
+        double expectedDifferentiatedInsurance = costsCalculator
+                .calculateInsurancePaymentForWholePeriod(comparisonParameters, 0.5);
+
+        // when
+        double actualAnnuityInsurance = costsCalculator.calculateInsurancePaymentForWholePeriodClosedForm(
+                comparisonParameters, monthlyPayment, 0.5, false);
+        double actualDifferentiatedInsurance = costsCalculator.calculateInsurancePaymentForWholePeriodClosedForm(
+                comparisonParameters, 0, 0.5, true);
+
+        // then
+        assertThat(actualAnnuityInsurance).isCloseTo(expectedAnnuityInsurance, within(0.01));
+        assertThat(actualDifferentiatedInsurance).isCloseTo(expectedDifferentiatedInsurance,
+                within(0.01 + 0.0003 * 0.5 * 20 * 20));
+    }
+
+    @Test
+    void shouldCalculateInsurancePaymentForWholePeriodClosedFormWhenPayedFullPrice() {
+        // given
+        ComparisonParameters comparisonParameters = new ComparisonParameters(4200000D,
+                0D,
+                20D,
+                8.49D,
+                22000D,
+                4D,
+                500000D,
+                8D,
+                0.1,
+                0.5,
+                false);
+
+        // when
+        double actualInsurance = costsCalculator.calculateInsurancePaymentForWholePeriodClosedForm(
+                comparisonParameters, 17075.0, 0.5, false);
+
+        // then
+        assertThat(actualInsurance).isEqualTo(0);
+    }
+}
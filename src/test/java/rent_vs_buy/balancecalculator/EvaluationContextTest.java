@@ -0,0 +1,61 @@
+package rent_vs_buy.balancecalculator;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import rent_vs_buy.models.ComparisonParameters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("testing")
+class EvaluationContextTest {
+
+    @Autowired
+    private CostsCalculator costsCalculator;
+    @Autowired
+    private GainsCalculator gainsCalculator;
+
+    @Test
+    void shouldDeriveFactorsOnce() {
+        // given
+        ComparisonParameters comparisonParameters = new ComparisonParameters(4200000D, 1969000D, 20D, 8.49D,
+                22000D, 4D, 500000D, 8D, 0.1, 0.5, false);
+
+        // when
+        EvaluationContext context = new EvaluationContext(comparisonParameters);
+
+        // then
+        assertThat(context.getPeriodInMonths()).isEqualTo(240);
+        assertThat(context.getFirstPayment()).isEqualTo(2231000);
+        assertThat(context.fullPriceWasPayed()).isFalse();
+        assertThat(context.getCreditGrowth()).isEqualTo(Math.pow(1 + 8.49 / 100 / 12, 240));
+        assertThat(context.getDebitGrowth()).isEqualTo(Math.pow(1 + 8D / 100 / 12, 240));
+        assertThat(context.getAppreciationGrowth(1)).isEqualTo(Math.pow(1.01, 20));
+        assertThat(context.getAppreciationGrowth(3)).isEqualTo(Math.pow(1.03, 20));
+    }
+
+    @Test
+    void shouldMatchCalculatorsWhenShared() {
+        // given
+        ComparisonParameters comparisonParameters = new ComparisonParameters(6000000D, 5400000D, 25D, 6.49D,
+                25000D, 4D, 1500000D, 8D, 0.1, 0.5, false);
+        EvaluationContext context = new EvaluationContext(comparisonParameters);
+
+        // when
+        double annuityPayment = costsCalculator.calculateAnnuityPayment(context);
+        double rentGains = gainsCalculator.calculateTotalGainsForRenting(context);
+        double buyGains = gainsCalculator.calculateTotalGainsForBuying(context);
+        double finalRealEstatePrice = gainsCalculator.calculateFinalRealEstatePrice(context,
+                GainsCalculator.DEFAULT_APPRECIATION_RATE);
+        double annuityLosses = costsCalculator.calculateTotalLossesWithAnnuityPayment(context, finalRealEstatePrice);
+
+        // then
+        assertThat(annuityPayment).isEqualTo(costsCalculator.calculateAnnuityPayment(comparisonParameters));
+        assertThat(rentGains).isEqualTo(gainsCalculator.calculateTotalGainsForRenting(comparisonParameters));
+        assertThat(buyGains).isEqualTo(gainsCalculator.calculateTotalGainsForBuying(comparisonParameters));
+        assertThat(annuityLosses).isEqualTo(costsCalculator.calculateTotalLossesWithAnnuityPayment(
+                comparisonParameters, gainsCalculator.calculateFinalRealEstatePrice(comparisonParameters)));
+    }
+}
@@ -4,7 +4,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
-import rent_vs_buy.models.ComparisonRequest;
+import rent_vs_buy.models.ComparisonParameters;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
@@ -17,7 +17,7 @@ class GainsCalculatorTest {
 
     @Test
     void maxTaxDeductionTest() {
-        ComparisonRequest comparisonRequest = new ComparisonRequest(6000000D,
+        ComparisonParameters comparisonParameters = new ComparisonParameters(6000000D,
                 5400000D,
                 25D,
                 6.49D,
@@ -43,7 +43,7 @@ class GainsCalculatorTest {
     @Test
     void taxDeductionTest() {
         // given
-        ComparisonRequest comparisonRequest = new ComparisonRequest(6000000D,
+        ComparisonParameters comparisonParameters = new ComparisonParameters(6000000D,
                 5400000D,
                 25D,
                 6.49D,
@@ -68,7 +68,7 @@ class GainsCalculatorTest {
     @Test
     void shouldCalculateCompoundingEffectWithAnnuityPayments() {
         // given
-        ComparisonRequest comparisonRequest = new ComparisonRequest(6000000D,
+        ComparisonParameters comparisonParameters = new ComparisonParameters(6000000D,
                 5400000D,
                 25D,
                 6.49D,
@@ -84,7 +84,7 @@ class GainsCalculatorTest {
         double expectedCompoundedSum = 50057835.96;
 
         // when
-        double actualCompoundedSum = gainsCalculator.calculateCompoundingEffectWithAnnuityPayments(comparisonRequest,
+        double actualCompoundedSum = gainsCalculator.calculateCompoundingEffectWithAnnuityPayments(comparisonParameters,
                 annuityPayment);
 
         // then
@@ -94,7 +94,7 @@ class GainsCalculatorTest {
     @Test
     void shouldCalculateCompoundingEffectWithoutPayments() {
         // given
-        ComparisonRequest comparisonRequest = new ComparisonRequest(4200000D,
+        ComparisonParameters comparisonParameters = new ComparisonParameters(4200000D,
                 1969000D,
                 20D,
                 8.49D,
@@ -109,7 +109,7 @@ class GainsCalculatorTest {
         double expectedCompoundedSum = 13455098.37;
 
         // when
-        double actualCompoundedSum = gainsCalculator.calculateCompoundingEffectWithoutPayments(comparisonRequest);
+        double actualCompoundedSum = gainsCalculator.calculateCompoundingEffectWithoutPayments(comparisonParameters);
 
         // then
         assertThat(expectedCompoundedSum).isEqualTo(actualCompoundedSum);
@@ -118,7 +118,7 @@ class GainsCalculatorTest {
     @Test
     void calculateCompoundingEffectWithoutFirstPayment() {
         // given
-        ComparisonRequest comparisonRequest = new ComparisonRequest(4200000D,
+        ComparisonParameters comparisonParameters = new ComparisonParameters(4200000D,
                 1969000D,
                 20D,
                 8.49D,
@@ -134,7 +134,7 @@ class GainsCalculatorTest {
         double expectedCompoundedSum = 2900925.55;
 
         // when
-        double actualCompoundedSum = gainsCalculator.calculateCompoundingEffectWithoutFirstPayment(comparisonRequest,
+        double actualCompoundedSum = gainsCalculator.calculateCompoundingEffectWithoutFirstPayment(comparisonParameters,
                 annuityPayment);
 
         //then
@@ -144,7 +144,7 @@ class GainsCalculatorTest {
     @Test
     void calculateCompoundingEffectWithoutFirstPaymentWhenRentIsLowerThanAnnuityPayment() {
         // given
-        ComparisonRequest comparisonRequest = new ComparisonRequest(4200000D,
+        ComparisonParameters comparisonParameters = new ComparisonParameters(4200000D,
                 3700000D,
                 20D,
                 8.49D,
@@ -160,7 +160,7 @@ class GainsCalculatorTest {
         double expectedCompoundedSum = 5940889.36;
 
         // when
-        double actualCompoundedSum = gainsCalculator.calculateCompoundingEffectWithoutFirstPayment(comparisonRequest,
+        double actualCompoundedSum = gainsCalculator.calculateCompoundingEffectWithoutFirstPayment(comparisonParameters,
                 annuityPayment);
 
         //then
@@ -170,7 +170,7 @@ class GainsCalculatorTest {
     @Test
     void calculateCompoundingEffectWithoutFirstPaymentWhenPayedFullPrice() {
         // given
-        ComparisonRequest comparisonRequest = new ComparisonRequest(4200000D,
+        ComparisonParameters comparisonParameters = new ComparisonParameters(4200000D,
                 0D,
                 20D,
                 8.49D,
@@ -186,7 +186,7 @@ class GainsCalculatorTest {
         double expectedCompoundedSum = 12958449.14;
 
         // when
-        double actualCompoundedSum = gainsCalculator.calculateCompoundingEffectWithoutFirstPayment(comparisonRequest,
+        double actualCompoundedSum = gainsCalculator.calculateCompoundingEffectWithoutFirstPayment(comparisonParameters,
                 annuityPayment);
 
         //then
@@ -196,7 +196,7 @@ class GainsCalculatorTest {
     @Test
     void shouldCalculateTotalGainsForRentingWhenPaymentIsMoreThanRent() {
         // given
-        ComparisonRequest comparisonRequest = new ComparisonRequest(12000000D,
+        ComparisonParameters comparisonParameters = new ComparisonParameters(12000000D,
                 7000000D,
                 20D,
                 8.49D,
@@ -211,7 +211,7 @@ class GainsCalculatorTest {
         double expectedTotalGainsForRenting = 49894466.76;
 
         // when
-        double actualTotalGainsForRenting = gainsCalculator.calculateTotalGainsForRenting(comparisonRequest);
+        double actualTotalGainsForRenting = gainsCalculator.calculateTotalGainsForRenting(comparisonParameters);
 
         // then
         assertThat(expectedTotalGainsForRenting).isEqualTo(actualTotalGainsForRenting);
@@ -220,7 +220,7 @@ class GainsCalculatorTest {
     @Test
     void shouldCalculateTotalGainsForRentingWhenPaymentIsLessThanRent() {
         // given
-        ComparisonRequest comparisonRequest = new ComparisonRequest(12000000D,
+        ComparisonParameters comparisonParameters = new ComparisonParameters(12000000D,
                 2000000D,
                 20D,
                 8.49D,
@@ -235,7 +235,7 @@ class GainsCalculatorTest {
         double expectedTotalGainsForRenting = 51731429.09;
 
         // when
-        double actualTotalGainsForRenting = gainsCalculator.calculateTotalGainsForRenting(comparisonRequest);
+        double actualTotalGainsForRenting = gainsCalculator.calculateTotalGainsForRenting(comparisonParameters);
 
         // then
         assertThat(expectedTotalGainsForRenting).isEqualTo(actualTotalGainsForRenting);
@@ -244,7 +244,7 @@ class GainsCalculatorTest {
     @Test
     void shouldCalculateFinalRealEstatePrice() {
         // given
-        ComparisonRequest comparisonRequest = new ComparisonRequest(12000000D,
+        ComparisonParameters comparisonParameters = new ComparisonParameters(12000000D,
                 0D,
                 20D,
                 8.49D,
@@ -259,7 +259,7 @@ class GainsCalculatorTest {
         double expectedFinalPrice = 14642280.48;
 
         // when
-        double actualFinalPrice = gainsCalculator.calculateFinalRealEstatePrice(comparisonRequest);
+        double actualFinalPrice = gainsCalculator.calculateFinalRealEstatePrice(comparisonParameters);
 
         // then
         assertThat(expectedFinalPrice).isEqualTo(actualFinalPrice);
@@ -268,7 +268,7 @@ class GainsCalculatorTest {
     @Test
     void shouldCalculateTotalGainsForBuyingWhenPayedFullPrice() {
         // given
-        ComparisonRequest comparisonRequest = new ComparisonRequest(12000000D,
+        ComparisonParameters comparisonParameters = new ComparisonParameters(12000000D,
                 0D,
                 20D,
                 8.49D,
@@ -283,7 +283,7 @@ class GainsCalculatorTest {
         double expectedTotalGainsForBuying = 27860729.62;
 
         //when
-        double actualTotalGainsForBuying = gainsCalculator.calculateTotalGainsForBuying(comparisonRequest);
+        double actualTotalGainsForBuying = gainsCalculator.calculateTotalGainsForBuying(comparisonParameters);
 
         // then
         assertThat(expectedTotalGainsForBuying).isEqualTo(actualTotalGainsForBuying);
@@ -292,7 +292,7 @@ class GainsCalculatorTest {
     @Test
     void shouldCalculateTotalGainsForBuyingWhenPaymentIsMoreThanRent() {
         // given
-        ComparisonRequest comparisonRequest = new ComparisonRequest(12000000D,
+        ComparisonParameters comparisonParameters = new ComparisonParameters(12000000D,
                 3500000D,
                 20D,
                 8.49D,
@@ -307,7 +307,7 @@ class GainsCalculatorTest {
         double expectedTotalGainsForBuying = 14902280.48;
 
         //when
-        double actualTotalGainsForBuying = gainsCalculator.calculateTotalGainsForBuying(comparisonRequest);
+        double actualTotalGainsForBuying = gainsCalculator.calculateTotalGainsForBuying(comparisonParameters);
 
         // then
         assertThat(expectedTotalGainsForBuying).isEqualTo(actualTotalGainsForBuying);
@@ -316,7 +316,7 @@ class GainsCalculatorTest {
     @Test
     void shouldCalculateTotalGainsForBuying() {
         // given
-        ComparisonRequest comparisonRequest = new ComparisonRequest(12000000D,
+        ComparisonParameters comparisonParameters = new ComparisonParameters(12000000D,
                 10000000D,
                 20D,
                 8.49D,
@@ -332,7 +332,7 @@ class GainsCalculatorTest {
         double expectedTotalGainsForBuying = 14902280.48;
 
         //when
-        double actualTotalGainsForBuying = gainsCalculator.calculateTotalGainsForBuying(comparisonRequest);
+        double actualTotalGainsForBuying = gainsCalculator.calculateTotalGainsForBuying(comparisonParameters);
 
         // then
         assertThat(expectedTotalGainsForBuying).isEqualTo(actualTotalGainsForBuying);
@@ -0,0 +1,191 @@
+package rent_vs_buy.batch;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import rent_vs_buy.balancecalculator.BatchKernel;
+import rent_vs_buy.balancecalculator.ComparisonEngine;
+import rent_vs_buy.balancecalculator.CostsCalculator;
+import rent_vs_buy.balancecalculator.GainsCalculator;
+import rent_vs_buy.models.ComparisonParameters;
+import rent_vs_buy.models.ComparisonResponse;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class CsvBatchRunnerTest {
+
+    private final ComparisonEngine comparisonEngine = new ComparisonEngine(new CostsCalculator(),
+            new GainsCalculator(), false);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldScoreEveryRowInInputOrder() throws IOException {
+        // given
+        List<ComparisonParameters> comparisonParameters = randomParameters(20000);
+        StringBuilder input = new StringBuilder("isDifferentiatedPayment,taxRate,insuranceRate,fullPrice,loanBody,"
+                + "yearsOfLoan,creditInterestRate,monthlyRent,rentInflationRate,renovationCost,debitInterestRate\r\n");
+        for (ComparisonParameters parameters : comparisonParameters) {
+            input.append(parameters.getIsDifferentiatedPayment()).append(',')
+                    .append(parameters.getTaxRate()).append(',')
+                    .append(parameters.getInsuranceRate()).append(',')
+                    .append(parameters.getFullPrice()).append(',')
+                    .append(parameters.getLoanBody()).append(',')
+                    .append(parameters.getYearsOfLoan()).append(',')
+                    .append(parameters.getCreditInterestRate()).append(',')
+                    .append(parameters.getMonthlyRent()).append(',')
+                    .append(parameters.getRentInflationRate()).append(',')
+                    .append(parameters.getRenovationCost()).append(',')
+                    .append(parameters.getDebitInterestRate()).append("\r\n");
+        }
+        Path inputFile = Files.writeString(directory.resolve("scenarios.csv"), input);
+        Path outputFile = directory.resolve("results.csv");
+
+        // when
+        long rows = new CsvBatchRunner(comparisonEngine, null).run(inputFile, outputFile);
+
+        // then
+        List<String> lines = Files.readAllLines(outputFile);
+        assertThat(rows).isEqualTo(comparisonParameters.size());
+        assertThat(lines).hasSize(comparisonParameters.size() + 1);
+        assertThat(lines.get(0)).startsWith("sumOfAnnuityPayments,").endsWith(",buyBalance,error");
+        for (int row = 0; row < comparisonParameters.size(); row++) {
+            ComparisonResponse expected = comparisonEngine.compare(comparisonParameters.get(row));
+            String[] values = lines.get(row + 1).split(",", -1);
+            assertThat(values).hasSize(12);
+            assertThat(Double.parseDouble(values[0])).isEqualTo(expected.getSumOfAnnuityPayments());
+            assertThat(Double.parseDouble(values[3])).isEqualTo(expected.getTotalDifferentiatedCosts());
+            assertThat(Double.parseDouble(values[9])).isEqualTo(expected.getRentBalance());
+            assertThat(Double.parseDouble(values[10])).isEqualTo(expected.getBuyBalance());
+            assertThat(values[11]).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldReportInvalidRowsAndScoreTsvWithKernel() throws IOException {
+        // given
+        String input = "fullPrice\tloanBody\tyearsOfLoan\tcreditInterestRate\tmonthlyRent\trentInflationRate\t"
+                + "renovationCost\tdebitInterestRate\ttaxRate\tinsuranceRate\tisDifferentiatedPayment\tlisting\n"
+                + "4200000\t1969000\t20\t8.49\t22000\t4\t500000\t8\t0.1\t0.5\tfalse\tfirst\n"
+                + "4200000\t1969000\t20\t8.49\t-22000\t4\t500000\t8\t0.1\t0.5\tfalse\tsecond\n"
+                + "4200000\t1969000\t20\tabc\t22000\t4\t500000\t8\t0.1\t0.5\tfalse\tthird\n"
+                + "4200000\t1969000\t20\t8.49\t22000\t4\t500000\t8\t0.1\t0.5\n"
+                + "\n"
+                + "4200000\t1969000\t20\t8.49\t22000\t4\t500000\t8\t0.1\t0.5\t1\tlast";
+        Path inputFile = Files.writeString(directory.resolve("scenarios.tsv"), input);
+        Path outputFile = directory.resolve("results.csv");
+
+        // when
+        long rows = new CsvBatchRunner(comparisonEngine, new BatchKernel()).run(inputFile, outputFile);
+
+        // then
+        List<String> lines = Files.readAllLines(outputFile);
+        assertThat(rows).isEqualTo(5);
+        assertThat(lines).hasSize(6);
+        assertThat(Double.parseDouble(lines.get(1).split(",")[10])).isCloseTo(6367712.6, within(0.05));
+        assertThat(lines.get(2)).isEqualTo(",,,,,,,,,,,monthlyRent: must be greater than or equal to 0");
+        assertThat(lines.get(3)).isEqualTo(",,,,,,,,,,,creditInterestRate: should be a number");
+        assertThat(lines.get(4)).isEqualTo(",,,,,,,,,,,Row should have 12 columns");
+        assertThat(Double.parseDouble(lines.get(5).split(",")[10])).isCloseTo(6844514.85, within(1.0));
+    }
+
+    @Test
+    void shouldReportNonFiniteValues() throws IOException {
+        // given
+        String input = "fullPrice,loanBody,yearsOfLoan,creditInterestRate,monthlyRent,rentInflationRate,"
+                + "renovationCost,debitInterestRate,taxRate,insuranceRate,isDifferentiatedPayment\n"
+                + "4200000,1969000,20,8.49,22000,NaN,500000,8,0.1,0.5,false\n"
+                + "4200000,1969000,20,8.49,22000,4,500000,-Infinity,0.1,0.5,false\n"
+                + "Infinity,1969000,20,8.49,22000,4,500000,8,0.1,0.5,false\n";
+        Path inputFile = Files.writeString(directory.resolve("scenarios.csv"), input);
+        Path outputFile = directory.resolve("results.csv");
+
+        // when
+        long rows = new CsvBatchRunner(comparisonEngine, null).run(inputFile, outputFile);
+
+        // then
+        List<String> lines = Files.readAllLines(outputFile);
+        assertThat(rows).isEqualTo(3);
+        assertThat(lines.get(1)).isEqualTo(",,,,,,,,,,,rentInflationRate: must be a finite number");
+        assertThat(lines.get(2)).isEqualTo(",,,,,,,,,,,debitInterestRate: must be a finite number");
+        assertThat(lines.get(3)).isEqualTo(",,,,,,,,,,,fullPrice: must be a finite number");
+    }
+
+    @Test
+    void shouldReportUndefinedComparisonsAndKeepOtherRows() throws IOException {
+        // given
+        String input = "fullPrice,loanBody,yearsOfLoan,creditInterestRate,monthlyRent,rentInflationRate,"
+                + "renovationCost,debitInterestRate,taxRate,insuranceRate,isDifferentiatedPayment\n"
+                + "4200000,1969000,20,8.49,22000,4,500000,8,0.1,0.5,false\n"
+                + "4200000,1969000,20,0,22000,4,500000,8,0.1,0.5,false\n"
+                + "4200000,1969000,20,8.49,22000,4,500000,8,0.1,0.5,true\n";
+        Path inputFile = Files.writeString(directory.resolve("scenarios.csv"), input);
+
+        for (BatchKernel batchKernel : new BatchKernel[]{null, new BatchKernel()}) {
+            Path outputFile = directory.resolve("results.csv");
+
+            // when
+            long rows = new CsvBatchRunner(comparisonEngine, batchKernel).run(inputFile, outputFile);
+
+            // then
+            List<String> lines = Files.readAllLines(outputFile);
+            assertThat(rows).isEqualTo(3);
+            assertThat(lines).hasSize(4);
+            assertThat(Double.parseDouble(lines.get(1).split(",")[10])).isCloseTo(6367712.6, within(0.05));
+            assertThat(lines.get(2)).isEqualTo(",,,,,,,,,,,Comparison is undefined for these parameters");
+            assertThat(Double.parseDouble(lines.get(3).split(",")[10])).isCloseTo(6844514.85, within(1.0));
+        }
+    }
+
+    @Test
+    void shouldParseDoublesLikeDoubleParseDouble() {
+        // given
+        SplittableRandom random = new SplittableRandom(16);
+        List<String> values = new ArrayList<>(List.of("0", "-0", "+1", "0.1", "1.", ".5", "007", " 12.5 ",
+                "123456789012345678", "0.0000000000000000000000001", "1e5", "-2.5E-3", "4.9E-324", "NaN"));
+        for (int i = 0; i < 10000; i++) {
+            values.add(Double.toString(Math.round(random.nextDouble(-1e7, 1e7) * 100) / 100D));
+            values.add(Double.toString(random.nextDouble(0, 20)));
+        }
+
+        for (String value : values) {
+            // when
+            ByteBuffer buffer = ByteBuffer.wrap(value.getBytes(StandardCharsets.US_ASCII));
+            double actual = CsvBatchRunner.parseDouble(buffer, 0, buffer.limit());
+
+            // then
+            assertThat(Double.doubleToLongBits(actual)).as(value)
+                    .isEqualTo(Double.doubleToLongBits(Double.parseDouble(value)));
+        }
+    }
+
+    private List<ComparisonParameters> randomParameters(int count) {
+        SplittableRandom random = new SplittableRandom(16);
+        List<ComparisonParameters> comparisonParameters = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            double fullPrice = Math.floor(random.nextDouble(1000000, 12000000));
+            comparisonParameters.add(new ComparisonParameters(fullPrice,
+                    i % 10 == 0 ? 0 : Math.floor(fullPrice * random.nextDouble(0.1, 0.9)),
+                    random.nextInt(1, 61) / 2D,
+                    Math.round(random.nextDouble(1, 15) * 100) / 100D,
+                    Math.floor(random.nextDouble(10000, 80000)),
+                    Math.round(random.nextDouble(-2, 10) * 10) / 10D,
+                    Math.floor(random.nextDouble(0, 1500000)),
+                    Math.round(random.nextDouble(1, 12) * 10) / 10D,
+                    Math.round(random.nextDouble(0, 0.3) * 100) / 100D,
+                    Math.round(random.nextDouble(0, 1) * 100) / 100D,
+                    random.nextBoolean()));
+        }
+        return comparisonParameters;
+    }
+}
@@ -0,0 +1,42 @@
+package rent_vs_buy.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import rent_vs_buy.utils.Utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "compare.http.virtual-threads=true")
+@ActiveProfiles("test")
+class VirtualThreadsConfigurationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+    @Autowired
+    private VirtualThreadsConfiguration virtualThreadsConfiguration;
+
+    @Test
+    void shouldServeCompareWithVirtualThreadsWhenAvailable() throws Exception {
+        // given
+        String requestBody = Utils.getFileContent("/ControllerTests/compareRentAndBuy/compareRentAndBuyRequest.json");
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        // when
+        ResponseEntity<String> response = restTemplate.postForEntity("/compare",
+                new HttpEntity<>(requestBody, headers), String.class);
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(virtualThreadsConfiguration.isEnabled()).isEqualTo(Runtime.version().feature() >= 21);
+    }
+}
@@ -0,0 +1,42 @@
+package rent_vs_buy.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"compare.warm-up.enabled=true", "compare.warm-up.comparisons=100",
+                "compare.warm-up.requests=10"})
+@ActiveProfiles({"test", "fast-startup"})
+class WarmUpRunnerTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+    @Autowired
+    private ApplicationAvailability applicationAvailability;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldWarmUpBeforeReportingReadiness() {
+        // when
+        ResponseEntity<String> response = restTemplate.getForEntity("/actuator/health/readiness", String.class);
+
+        // then
+        assertThat(applicationAvailability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        // the in-process comparisons do not record stage timers, the loopback requests do
+        assertThat(meterRegistry.get("compare.stage").tag("stage", "annuity").timer().count()).isEqualTo(10);
+        assertThat(meterRegistry.get("compare.stage").tag("stage", "deserialization").timer().count())
+                .isGreaterThanOrEqualTo(5);
+    }
+}
@@ -1,23 +1,46 @@
 package rent_vs_buy.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import rent_vs_buy.balancecalculator.ComparisonEngine;
 import rent_vs_buy.balancecalculator.CostsCalculator;
 import rent_vs_buy.balancecalculator.GainsCalculator;
+import rent_vs_buy.models.ComparisonField;
+import rent_vs_buy.models.ComparisonParameters;
+import rent_vs_buy.models.ComparisonRequest;
+import rent_vs_buy.models.ComparisonResponse;
 import rent_vs_buy.utils.Utils;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
+@AutoConfigureMetrics
 @AutoConfigureMockMvc(addFilters = false)
 @ActiveProfiles("test")
 public class CompareControllerTests {
@@ -28,6 +51,10 @@ public class CompareControllerTests {
     private CostsCalculator costsCalculator;
     @Autowired
     private GainsCalculator gainsCalculator;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private ObjectMapper objectMapper;
 
     @Test
     void compareRentAndBuy() throws Exception {
@@ -57,6 +84,21 @@ public class CompareControllerTests {
                 .andExpect(content().json(responseBody, false));
     }
 
+    @Test
+    void compareRentAndBuyWritesSameJsonAsJackson() throws Exception {
+        String requestFilePath = "/ControllerTests/compareRentAndBuy/compareRentAndBuyRequest.json";
+        String requestBody = Utils.getFileContent(requestFilePath);
+        ComparisonResponse comparisonResponse = new ComparisonEngine(costsCalculator, gainsCalculator, false)
+                .compare(objectMapper.readValue(requestBody, ComparisonRequest.class).toParameters());
+
+        mockMvc.perform(post("/compare")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().bytes(objectMapper.writeValueAsBytes(comparisonResponse)));
+    }
+
     @Test
     void compareRentAndBuyWithEmptyJsonObject() throws Exception {
         String errorsPrefix = "$.errors.";
@@ -97,4 +139,414 @@ public class CompareControllerTests {
                 .content(""))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void compareRentAndBuyWithFieldProjection() throws Exception {
+        String requestFilePath = "/ControllerTests/compareRentAndBuy/compareRentAndBuyRequest.json";
+        String requestBody = Utils.getFileContent(requestFilePath);
+
+        mockMvc.perform(post("/compare?fields=buyBalance,rentBalance")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"buyBalance\": 6367712.6, \"rentBalance\": 5593685.629999999}", true));
+
+        mockMvc.perform(post("/compare?fields=buyBalance,annuityPayment")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.fields", is("Unknown comparison field annuityPayment")));
+    }
+
+    @Test
+    void compareRentAndBuyInBinaryFormat() throws Exception {
+        String responseFilePath = "/ControllerTests/compareRentAndBuy/compareRentAndBuyResponse.json";
+        String responseBody = Utils.getFileContent(responseFilePath);
+        byte[] requestBody = encode(new ComparisonParameters(4200000D, 1969000D, 20D, 8.49D, 22000D, 4D, 500000D,
+                8D, 0.1, 0.5, false));
+
+        MvcResult mvcResult = mockMvc.perform(post("/compare")
+                .contentType(ComparisonBinaryHttpMessageConverter.MEDIA_TYPE)
+                .accept(ComparisonBinaryHttpMessageConverter.MEDIA_TYPE)
+                .content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ComparisonBinaryHttpMessageConverter.MEDIA_TYPE))
+                .andReturn();
+
+        byte[] response = mvcResult.getResponse().getContentAsByteArray();
+        assertThat(response).hasSize(ComparisonBinaryHttpMessageConverter.RESPONSE_LENGTH);
+        ComparisonResponse comparisonResponse = ComparisonBinaryHttpMessageConverter
+                .decodeResponse(ByteBuffer.wrap(response).order(ByteOrder.LITTLE_ENDIAN));
+        JSONAssert.assertEquals(responseBody, objectMapper.writeValueAsString(comparisonResponse), false);
+    }
+
+    @Test
+    void compareRentAndBuyWithJsonRequestAndBinaryResponse() throws Exception {
+        String requestFilePath = "/ControllerTests/compareRentAndBuy/compareRentAndBuyRequest.json";
+        String requestBody = Utils.getFileContent(requestFilePath);
+        String responseFilePath = "/ControllerTests/compareRentAndBuy/compareRentAndBuyResponse.json";
+        ByteBuffer responseBody = ByteBuffer.allocate(ComparisonBinaryHttpMessageConverter.RESPONSE_LENGTH)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        objectMapper.readTree(Utils.getFileContent(responseFilePath))
+                .forEach(value -> responseBody.putDouble(value.doubleValue()));
+
+        mockMvc.perform(post("/compare")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(ComparisonBinaryHttpMessageConverter.MEDIA_TYPE)
+                .content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ComparisonBinaryHttpMessageConverter.MEDIA_TYPE))
+                .andExpect(content().bytes(responseBody.array()));
+    }
+
+    @Test
+    void compareRentAndBuyInBinaryFormatWithNegativeField() throws Exception {
+        mockMvc.perform(post("/compare")
+                .contentType(ComparisonBinaryHttpMessageConverter.MEDIA_TYPE)
+                .content(encode(new ComparisonParameters(4200000D, 1969000D, 20D, 8.49D, -22000D, 4D,
+                        500000D, 8D, 0.1, 0.5, false))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.monthlyRent", is("must be greater than or equal to 0")));
+    }
+
+    @Test
+    void compareRentAndBuyInBinaryFormatReportsEveryInvalidField() throws Exception {
+        ByteBuffer requestBody = ByteBuffer.allocate(ComparisonBinaryHttpMessageConverter.REQUEST_LENGTH)
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .putDouble(4200000D).putDouble(-0D).putDouble(20D).putDouble(8.49D).putDouble(-22000D)
+                .putDouble(Double.NaN).putDouble(500000D).putDouble(Double.POSITIVE_INFINITY).putDouble(0.1)
+                .putDouble(0.5).put((byte) 2);
+
+        mockMvc.perform(post("/compare")
+                .contentType(ComparisonBinaryHttpMessageConverter.MEDIA_TYPE)
+                .content(requestBody.array()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.loanBody", is("must be greater than or equal to 0")))
+                .andExpect(jsonPath("$.errors.monthlyRent", is("must be greater than or equal to 0")))
+                .andExpect(jsonPath("$.errors.rentInflationRate", is("must be a finite number")))
+                .andExpect(jsonPath("$.errors.debitInterestRate", is("must be a finite number")))
+                .andExpect(jsonPath("$.errors.isDifferentiatedPayment",
+                        is("Payment type should be encoded as 0 or 1")));
+    }
+
+    @Test
+    void compareRentAndBuyInBinaryFormatWithTruncatedBody() throws Exception {
+        mockMvc.perform(post("/compare")
+                .contentType(ComparisonBinaryHttpMessageConverter.MEDIA_TYPE)
+                .content(new byte[ComparisonBinaryHttpMessageConverter.REQUEST_LENGTH - 1]))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void compareRentAndBuyInBatch() throws Exception {
+        String requestFilePath = "/ControllerTests/compareRentAndBuyInBatch/compareRentAndBuyInBatchRequest.json";
+        String responseFilePath = "/ControllerTests/compareRentAndBuyInBatch/compareRentAndBuyInBatchResponse.ndjson";
+        String requestBody = Utils.getFileContent(requestFilePath);
+        String[] expectedLines = Utils.getFileContent(responseFilePath).split("\n");
+
+        MvcResult mvcResult = mockMvc.perform(post("/compare/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String[] actualLines = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString().split("\n");
+
+        assertThat(actualLines).hasSameSizeAs(expectedLines);
+        for (int i = 0; i < expectedLines.length; i++) {
+            JSONAssert.assertEquals(expectedLines[i], actualLines[i], true);
+        }
+    }
+
+    @Test
+    void compareRentAndBuyInBatchWithNdjsonBody() throws Exception {
+        String requestFilePath = "/ControllerTests/compareRentAndBuy/compareRentAndBuyRequest.json";
+        String responseFilePath = "/ControllerTests/compareRentAndBuy/compareRentAndBuyResponse.json";
+        String requestLine = Utils.getFileContent(requestFilePath).replace("\n", "");
+        String responseBody = Utils.getFileContent(responseFilePath);
+
+        MvcResult mvcResult = mockMvc.perform(post("/compare/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(requestLine + "\n" + requestLine + "\n"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String[] actualLines = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString().split("\n");
+
+        assertThat(actualLines).hasSize(2);
+        for (int i = 0; i < actualLines.length; i++) {
+            JSONAssert.assertEquals("{\"index\":" + i + ",\"result\":" + responseBody + "}", actualLines[i], true);
+        }
+    }
+
+    @Test
+    void compareRentAndBuyInBatchReportsUndefinedComparisonPerItem() throws Exception {
+        String requestFilePath = "/ControllerTests/compareRentAndBuy/compareRentAndBuyRequest.json";
+        String responseFilePath = "/ControllerTests/compareRentAndBuy/compareRentAndBuyResponse.json";
+        String requestLine = Utils.getFileContent(requestFilePath).replace("\n", "");
+        String zeroRateLine = objectMapper.writeValueAsString(((ObjectNode) objectMapper.readTree(requestLine))
+                .put("creditInterestRate", 0));
+        String responseBody = Utils.getFileContent(responseFilePath);
+
+        MvcResult mvcResult = mockMvc.perform(post("/compare/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(requestLine + "\n" + zeroRateLine + "\n" + requestLine + "\n"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String[] actualLines = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString().split("\n");
+
+        assertThat(actualLines).hasSize(3);
+        JSONAssert.assertEquals("{\"index\":0,\"result\":" + responseBody + "}", actualLines[0], true);
+        JSONAssert.assertEquals("{\"index\":1,\"errors\":{\"request\":"
+                + "\"Comparison is undefined for these parameters\"}}", actualLines[1], true);
+        JSONAssert.assertEquals("{\"index\":2,\"result\":" + responseBody + "}", actualLines[2], true);
+    }
+
+    @Test
+    void sweepRentAndBuy() throws Exception {
+        String requestFilePath = "/ControllerTests/sweepRentAndBuy/sweepRentAndBuyRequest.json";
+        String responseFilePath = "/ControllerTests/sweepRentAndBuy/sweepRentAndBuyResponse.json";
+        String requestBody = Utils.getFileContent(requestFilePath);
+        String responseBody = Utils.getFileContent(responseFilePath);
+
+        mockMvc.perform(post("/compare/sweep")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(content().json(responseBody, true));
+    }
+
+    @Test
+    void trajectoryOfRentAndBuy() throws Exception {
+        String requestFilePath = "/ControllerTests/compareRentAndBuy/compareRentAndBuyRequest.json";
+        String requestBody = Utils.getFileContent(requestFilePath);
+
+        mockMvc.perform(post("/compare/trajectory")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.year.length()", is(20)))
+                .andExpect(jsonPath("$.year[19]", is(20)))
+                .andExpect(jsonPath("$.rentCosts[0]", is(264000.0)))
+                .andExpect(jsonPath("$.rentCosts[19]", is(7861412.74)))
+                .andExpect(jsonPath("$.propertyValue[19]", is(5124798.17)))
+                .andExpect(jsonPath("$.rentBalance[19]", is(5593685.629999999)))
+                .andExpect(jsonPath("$.buyBalance[19]", is(6367712.6)))
+                .andExpect(jsonPath("$.crossoverYear").doesNotExist());
+    }
+
+    @Test
+    void trajectoryOfRentAndBuyWithCrossover() throws Exception {
+        String requestFilePath = "/ControllerTests/compareRentAndBuy/compareRentAndBuyRequest.json";
+        String requestBody = Utils.getFileContent(requestFilePath)
+                .replace("\"monthlyRent\": 22000.00", "\"monthlyRent\": 15000.00");
+
+        MvcResult mvcResult = mockMvc.perform(post("/compare/trajectory")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.crossoverYear", is(11)))
+                .andReturn();
+
+        JsonNode trajectory = objectMapper.readTree(mvcResult.getResponse().getContentAsString());
+        assertThat(trajectory.get("buyBalance").get(9).doubleValue())
+                .isGreaterThan(trajectory.get("rentBalance").get(9).doubleValue());
+        assertThat(trajectory.get("buyBalance").get(10).doubleValue())
+                .isLessThan(trajectory.get("rentBalance").get(10).doubleValue());
+    }
+
+    @Test
+    void sweepRentAndBuyWithUnknownField() throws Exception {
+        String requestFilePath = "/ControllerTests/sweepRentAndBuy/sweepRentAndBuyRequest.json";
+        String requestBody = Utils.getFileContent(requestFilePath).replace("\"yearsOfLoan\": {", "\"years\": {");
+
+        mockMvc.perform(post("/compare/sweep")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status", is(400)))
+                .andExpect(jsonPath("$.errors.years", is("Unknown comparison field")));
+    }
+
+    @Test
+    void simulateRentAndBuy() throws Exception {
+        String requestFilePath = "/ControllerTests/compareRentAndBuy/compareRentAndBuyRequest.json";
+        String requestBody = "{\"base\": " + Utils.getFileContent(requestFilePath) + ", \"paths\": 1000, \"seed\": 1}";
+
+        mockMvc.perform(post("/compare/simulation")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.seed", is(1)))
+                .andExpect(jsonPath("$.paths", is(1000)))
+                .andExpect(jsonPath("$.probabilityBuyingWins", is(1.0)))
+                .andExpect(jsonPath("$.percentiles.length()", is(5)));
+    }
+
+    @Test
+    void simulateRentAndBuyWithoutPaths() throws Exception {
+        String requestFilePath = "/ControllerTests/compareRentAndBuy/compareRentAndBuyRequest.json";
+        String requestBody = "{\"base\": " + Utils.getFileContent(requestFilePath) + "}";
+
+        mockMvc.perform(post("/compare/simulation")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.paths", is("Number of paths should not be empty")));
+    }
+
+    @Test
+    void scheduleRentAndBuy() throws Exception {
+        String requestFilePath = "/ControllerTests/compareRentAndBuy/compareRentAndBuyRequest.json";
+        String requestBody = Utils.getFileContent(requestFilePath);
+
+        MvcResult mvcResult = mockMvc.perform(post("/compare/schedule")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()", is(240)))
+                .andExpect(jsonPath("$[0].month", is(1)))
+                .andExpect(jsonPath("$[0].payment", is(17074.98)))
+                .andExpect(jsonPath("$[0].rent", is(22000.0)))
+                .andExpect(jsonPath("$[239].month", is(240)));
+    }
+
+    @Test
+    void scheduleRentAndBuyAsCsv() throws Exception {
+        String requestFilePath = "/ControllerTests/compareRentAndBuy/compareRentAndBuyRequest.json";
+        String requestBody = Utils.getFileContent(requestFilePath);
+
+        MvcResult mvcResult = mockMvc.perform(post("/compare/schedule?format=csv")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String[] actualLines = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andReturn().getResponse().getContentAsString().split("\n");
+
+        assertThat(actualLines).hasSize(241);
+        assertThat(actualLines[0]).isEqualTo("month,payment,interest,principal,loanLeft,insurance,rent,rentInvestment");
+        assertThat(actualLines[1]).isEqualTo("1,17074.98,13930.68,3144.3,1965855.7,9845.0,22000.0,2749206.67");
+    }
+
+    @Test
+    void scheduleRentAndBuyWithUnknownFormat() throws Exception {
+        String requestFilePath = "/ControllerTests/compareRentAndBuy/compareRentAndBuyRequest.json";
+        String requestBody = Utils.getFileContent(requestFilePath);
+
+        mockMvc.perform(post("/compare/schedule?format=xml")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.format", is("Schedule format should be json or csv")));
+    }
+
+    @Test
+    void updateComparisonSession() throws Exception {
+        String requestFilePath = "/ControllerTests/compareRentAndBuy/compareRentAndBuyRequest.json";
+        String responseFilePath = "/ControllerTests/compareRentAndBuy/compareRentAndBuyResponse.json";
+        String requestBody = Utils.getFileContent(requestFilePath);
+        String responseBody = Utils.getFileContent(responseFilePath);
+        ComparisonParameters comparisonParameters = objectMapper.readValue(requestBody, ComparisonRequest.class)
+                .toParameters();
+
+        MvcResult created = mockMvc.perform(post("/compare/sessions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody))
+                .andExpect(status().isOk())
+                .andReturn();
+        String sessionId = objectMapper.readTree(created.getResponse().getContentAsString()).get("sessionId")
+                .asText();
+        JSONAssert.assertEquals(responseBody, objectMapper.readTree(created.getResponse().getContentAsString())
+                .get("comparison").toString(), false);
+
+        ComparisonResponse expected = new ComparisonEngine(costsCalculator, gainsCalculator, false)
+                .compare(ComparisonField.MONTHLY_RENT.with(comparisonParameters, 30000));
+        mockMvc.perform(patch("/compare/sessions/" + sessionId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"monthlyRent\": 30000}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sessionId", is(sessionId)))
+                .andExpect(jsonPath("$.comparison.payedForRent", is(expected.getPayedForRent())))
+                .andExpect(jsonPath("$.comparison.buyBalance", is(expected.getBuyBalance())));
+
+        mockMvc.perform(patch("/compare/sessions/" + sessionId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"taxRate\": -1}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.taxRate", is("must be greater than or equal to 0")));
+
+        mockMvc.perform(patch("/compare/sessions/" + sessionId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"isDifferentiatedPayment\": true}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.isDifferentiatedPayment",
+                        is("Payment type cannot be changed in a session")));
+
+        mockMvc.perform(delete("/compare/sessions/" + sessionId))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/compare/sessions/" + sessionId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void compareRentAndBuyRecordsStageMetrics() throws Exception {
+        String requestFilePath = "/ControllerTests/compareRentAndBuy/compareRentAndBuyRequest.json";
+        String requestBody = Utils.getFileContent(requestFilePath);
+        String[] stages = {"deserialization", "validation", "annuity", "insurance", "rent-cost", "gains",
+                "serialization"};
+        long[] counts = new long[stages.length];
+        for (int i = 0; i < stages.length; i++) {
+            counts[i] = meterRegistry.get("compare.stage").tag("stage", stages[i]).timer().count();
+        }
+
+        mockMvc.perform(post("/compare?closedForm=false")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody))
+                .andExpect(status().isOk());
+
+        for (int i = 0; i < stages.length; i++) {
+            assertThat(meterRegistry.get("compare.stage").tag("stage", stages[i]).timer().count())
+                    .as(stages[i]).isGreaterThan(counts[i]);
+        }
+        assertThat(meterRegistry.get("compare.request.allocated").tag("uri", "/compare").summary().totalAmount())
+                .isPositive();
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("compare_stage_seconds_bucket")))
+                .andExpect(content().string(containsString("compare_request_allocated_bytes_count")));
+    }
+
+    @Test
+    void sweepRentAndBuyDoesNotRecordStageMetrics() throws Exception {
+        String requestFilePath = "/ControllerTests/sweepRentAndBuy/sweepRentAndBuyRequest.json";
+        String requestBody = Utils.getFileContent(requestFilePath);
+        long annuityCount = meterRegistry.get("compare.stage").tag("stage", "annuity").timer().count();
+
+        mockMvc.perform(post("/compare/sweep")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody))
+                .andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("compare.stage").tag("stage", "annuity").timer().count())
+                .isEqualTo(annuityCount);
+    }
+
+    private byte[] encode(ComparisonParameters comparisonParameters) {
+        ByteBuffer buffer = ByteBuffer.allocate(ComparisonBinaryHttpMessageConverter.REQUEST_LENGTH)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        ComparisonBinaryHttpMessageConverter.encode(comparisonParameters, buffer);
+        return buffer.array();
+    }
 }
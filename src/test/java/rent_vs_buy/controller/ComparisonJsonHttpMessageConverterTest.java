@@ -0,0 +1,86 @@
+package rent_vs_buy.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import rent_vs_buy.balancecalculator.ComparisonEngine;
+import rent_vs_buy.models.ComparisonRequest;
+import rent_vs_buy.models.ComparisonResponse;
+import rent_vs_buy.utils.Utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("testing")
+class ComparisonJsonHttpMessageConverterTest {
+
+    private static final double[] VALUES = {0D, -0D, 0.01, -0.01, 0.1, 1e-3, 9.99e-4, 1e-5, 9999999.99, 1e7,
+            1.345509837E7, 1.0000000000001E7, 9999999999999.99, 1e13, 5593685.629999999, Double.MIN_VALUE,
+            Double.MAX_VALUE, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ComparisonEngine comparisonEngine;
+
+    @Test
+    void shouldWriteFixturesLikeJackson() throws Exception {
+        for (String fixture : new String[]{"compareRentAndBuy", "compareRentAndBuyWithDifferentiatedPayment"}) {
+            // given
+            ComparisonRequest comparisonRequest = objectMapper.readValue(Utils.getFileContent(
+                    "/ControllerTests/" + fixture + "/compareRentAndBuyRequest.json"), ComparisonRequest.class);
+            ComparisonResponse comparisonResponse = comparisonEngine.compare(comparisonRequest.toParameters());
+
+            // when
+            byte[] json = ComparisonJsonHttpMessageConverter.toJson(comparisonResponse);
+
+            // then
+            assertThat(json).isEqualTo(objectMapper.writeValueAsBytes(comparisonResponse));
+            JSONAssert.assertEquals(Utils.getFileContent("/ControllerTests/" + fixture
+                    + "/compareRentAndBuyResponse.json"), new String(json, StandardCharsets.UTF_8), true);
+        }
+    }
+
+    @Test
+    void shouldWriteSameBytesAsJackson() throws Exception {
+        // given
+        SplittableRandom random = new SplittableRandom(23);
+
+        for (int i = 0; i < 100000; i++) {
+            double[] values = new double[11];
+            for (int field = 0; field < values.length; field++) {
+                values[field] = value(random);
+            }
+            ComparisonResponse comparisonResponse = new ComparisonResponse(values[0], values[1], values[2],
+                    values[3], values[4], values[5], values[6], values[7], values[8], values[9], values[10]);
+
+            // when
+            byte[] json = ComparisonJsonHttpMessageConverter.toJson(comparisonResponse);
+
+            // then
+            assertThat(json).isEqualTo(objectMapper.writeValueAsBytes(comparisonResponse));
+        }
+    }
+
+    private double value(SplittableRandom random) {
+        double sign = random.nextBoolean() ? 1 : -1;
+        switch (random.nextInt(5)) {
+            case 0:
+                return VALUES[random.nextInt(VALUES.length)];
+            case 1:
+                return sign * random.nextLong(1_000_000_000L) / 100D;
+            case 2:
+                return sign * random.nextLong(100_000_000_000L) / 100D;
+            case 3:
+                return sign * random.nextLong(1_000_000_000_000_000L) / 100D;
+            default:
+                return sign * random.nextDouble() * Math.pow(10, random.nextInt(-6, 12));
+        }
+    }
+}
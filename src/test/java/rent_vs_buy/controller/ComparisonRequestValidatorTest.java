@@ -0,0 +1,83 @@
+package rent_vs_buy.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import rent_vs_buy.models.ComparisonRequest;
+import rent_vs_buy.models.SweepRequest;
+
+import javax.validation.Validator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("testing")
+class ComparisonRequestValidatorTest {
+
+    private static final Double[] VALUES = {null, 0D, -0D, 1D, -1D, 8.49, -1e-300, Double.MIN_VALUE, Double.NaN,
+            Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+
+    @Autowired
+    private Validator validator;
+
+    @Test
+    void shouldReportSameErrorsAsBeanValidation() {
+        // given
+        SpringValidatorAdapter beanValidator = new SpringValidatorAdapter(validator);
+        ComparisonRequestValidator comparisonRequestValidator = new ComparisonRequestValidator(beanValidator);
+        SplittableRandom random = new SplittableRandom(22);
+
+        for (int i = 0; i < 5000; i++) {
+            Double[] values = new Double[10];
+            for (int field = 0; field < values.length; field++) {
+                values[field] = random.nextInt(4) == 0 ? VALUES[random.nextInt(VALUES.length)]
+                        : (Double) random.nextDouble(0, 1e6);
+            }
+            ComparisonRequest comparisonRequest = new ComparisonRequest(values[0], values[1], values[2], values[3],
+                    values[4], values[5], values[6], values[7], values[8], values[9],
+                    random.nextInt(8) == 0 ? null : random.nextBoolean());
+
+            // when
+            BindingResult expected = new BeanPropertyBindingResult(comparisonRequest, "comparisonRequest");
+            beanValidator.validate(comparisonRequest, expected);
+            BindingResult actual = new BeanPropertyBindingResult(comparisonRequest, "comparisonRequest");
+            comparisonRequestValidator.validate(comparisonRequest, actual);
+
+            // then
+            assertThat(errors(actual)).isEqualTo(errors(expected));
+        }
+    }
+
+    @Test
+    void shouldDelegateOtherBodies() {
+        // given
+        SpringValidatorAdapter beanValidator = new SpringValidatorAdapter(validator);
+        SweepRequest sweepRequest = new SweepRequest(new ComparisonRequest(-1D, 1D, 1D, 1D, 1D, 1D, 1D, 1D, 1D,
+                -0D, false), new LinkedHashMap<>());
+        BindingResult bindingResult = new BeanPropertyBindingResult(sweepRequest, "sweepRequest");
+
+        // when
+        new ComparisonRequestValidator(beanValidator).validate(sweepRequest, bindingResult, new Object[0]);
+
+        // then
+        assertThat(errors(bindingResult)).containsEntry("base.fullPrice", "PositiveOrZero: must be greater than or equal to 0")
+                .containsEntry("base.insuranceRate", "PositiveOrZero: must be greater than or equal to 0");
+    }
+
+    private Map<String, String> errors(BindingResult bindingResult) {
+        Map<String, String> errors = new HashMap<>();
+        for (FieldError fieldError : bindingResult.getFieldErrors()) {
+            errors.put(fieldError.getField(), fieldError.getCode() + ": " + fieldError.getDefaultMessage());
+        }
+        return errors;
+    }
+}
@@ -0,0 +1,138 @@
+package rent_vs_buy.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import rent_vs_buy.balancecalculator.ComparisonEngine;
+import rent_vs_buy.models.BreakEvenRequest;
+import rent_vs_buy.models.BreakEvenResponse;
+import rent_vs_buy.models.ComparisonField;
+import rent_vs_buy.models.ComparisonRequest;
+import rent_vs_buy.models.ComparisonResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+@ActiveProfiles("testing")
+class BreakEvenServiceTest {
+
+    @Autowired
+    private BreakEvenService breakEvenService;
+    @Autowired
+    private ComparisonEngine comparisonEngine;
+
+    private final ComparisonRequest base = new ComparisonRequest(4200000D,
+            1969000D,
+            20D,
+            8.49D,
+            22000D,
+            4D,
+            500000D,
+            8D,
+            0.1,
+            0.5,
+            false);
+
+    @Test
+    void shouldSolveForMonthlyRent() {
+        // given
+        BreakEvenRequest breakEvenRequest = new BreakEvenRequest(base, "monthlyRent", 1000D, 200000D);
+
+        // when
+        BreakEvenResponse breakEvenResponse = breakEvenService.solve(breakEvenRequest);
+
+        // then
+        assertThat(breakEvenResponse.isConverged()).isTrue();
+        assertThat(breakEvenResponse.getIterations()).isLessThan(100);
+        assertThat(breakEvenResponse.getBuyBalance()).isCloseTo(breakEvenResponse.getRentBalance(), within(1.0));
+        ComparisonResponse comparisonResponse = comparisonEngine.compare(ComparisonField.MONTHLY_RENT.with(
+                base.toParameters(), breakEvenResponse.getValue()));
+        assertThat(comparisonResponse.getBuyBalance()).isEqualTo(breakEvenResponse.getBuyBalance());
+    }
+
+    @Test
+    void shouldSolveForCreditInterestRate() {
+        // given
+        BreakEvenRequest breakEvenRequest = new BreakEvenRequest(base, "creditInterestRate", 0.1D, 40D);
+
+        // when
+        BreakEvenResponse breakEvenResponse = breakEvenService.solve(breakEvenRequest);
+
+        // then
+        assertThat(breakEvenResponse.isConverged()).isTrue();
+        assertThat(breakEvenResponse.getBuyBalance()).isCloseTo(breakEvenResponse.getRentBalance(), within(1.0));
+    }
+
+    @Test
+    void shouldNotReportConvergenceAtJumpOfYearsOfLoan() {
+        // given
+        ComparisonRequest differentiatedBase = new ComparisonRequest(4200000D,
+                1969000D,
+                20D,
+                8.49D,
+                21182D,
+                4D,
+                500000D,
+                8D,
+                0.1,
+                0.5,
+                true);
+        BreakEvenRequest breakEvenRequest = new BreakEvenRequest(differentiatedBase, "yearsOfLoan", 10D, 30D);
+
+        // when
+        BreakEvenResponse breakEvenResponse = breakEvenService.solve(breakEvenRequest);
+
+        // then
+        assertThat(breakEvenResponse.getBuyBalance()).isNotCloseTo(breakEvenResponse.getRentBalance(),
+                within(1000.0));
+        assertThat(breakEvenResponse.isConverged()).isFalse();
+    }
+
+    @Test
+    void shouldRejectBoundsWithoutSignChange() {
+        // given
+        BreakEvenRequest breakEvenRequest = new BreakEvenRequest(base, "monthlyRent", 22000D, 30000D);
+
+        // when / then
+        assertThatThrownBy(() -> breakEvenService.solve(breakEvenRequest))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Buying and renting do not break even within the bounds");
+    }
+
+    @Test
+    void shouldRejectZeroLowerBoundForCreditInterestRate() {
+        // given
+        BreakEvenRequest breakEvenRequest = new BreakEvenRequest(base, "creditInterestRate", 0D, 40D);
+
+        // when / then
+        assertThatThrownBy(() -> breakEvenService.solve(breakEvenRequest))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Buying and renting do not break even within the bounds");
+    }
+
+    @Test
+    void shouldRejectZeroLowerBoundForYearsOfLoan() {
+        // given
+        BreakEvenRequest breakEvenRequest = new BreakEvenRequest(base, "yearsOfLoan", 0D, 30D);
+
+        // when / then
+        assertThatThrownBy(() -> breakEvenService.solve(breakEvenRequest))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Buying and renting do not break even within the bounds");
+    }
+
+    @Test
+    void shouldRejectBoundsOutsideFieldDomain() {
+        // given
+        BreakEvenRequest breakEvenRequest = new BreakEvenRequest(base, "monthlyRent", -10000D, 200000D);
+
+        // when / then
+        assertThatThrownBy(() -> breakEvenService.solve(breakEvenRequest))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Lower bound should not be below 0")
+                .hasFieldOrPropertyWithValue("field", "lowerBound");
+    }
+}
@@ -0,0 +1,141 @@
+package rent_vs_buy.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import rent_vs_buy.balancecalculator.ComparisonEngine;
+import rent_vs_buy.balancecalculator.CostsCalculator;
+import rent_vs_buy.balancecalculator.GainsCalculator;
+import rent_vs_buy.metrics.TimedComparisonEngine;
+import rent_vs_buy.models.ComparisonParameters;
+import rent_vs_buy.models.ComparisonResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("testing")
+class CachedComparisonServiceTest {
+
+    @Autowired
+    private CachedComparisonService cachedComparisonService;
+    @Autowired
+    private ComparisonEngine comparisonEngine;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldReturnCachedResponseForEqualRequest() {
+        // given
+        ComparisonParameters comparisonParameters = new ComparisonParameters(5100000D, 2000000D, 15D, 7.5D, 21000D,
+                3D, 300000D, 6D, 0.1, 0.4, false);
+        ComparisonParameters equalParameters = new ComparisonParameters(5100000D, 2000000D, 15D, 7.5D, 21000D,
+                3D, 300000D, 6D, 0.1, 0.4, false);
+        double hits = gets("hit");
+        double misses = gets("miss");
+
+        // when
+        ComparisonResponse first = cachedComparisonService.compare(comparisonParameters);
+        ComparisonResponse second = cachedComparisonService.compare(equalParameters);
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(first).usingRecursiveComparison().isEqualTo(comparisonEngine.compare(comparisonParameters));
+        assertThat(gets("hit")).isEqualTo(hits + 1);
+        assertThat(gets("miss")).isEqualTo(misses + 1);
+    }
+
+    @Test
+    void shouldUseCanonicalParametersAsKey() {
+        // given
+        ComparisonParameters comparisonParameters = new ComparisonParameters(5100000D, 2000000D, 15D, 7.5D, 21000D,
+                0D, 300000D, 6D, 0.1, 0.4, true);
+        ComparisonParameters negativeZeroParameters = new ComparisonParameters(5100000D, 2000000D, 15D, 7.5D, 21000D,
+                -0D, 300000D, 6D, 0.1, 0.4, true);
+        ComparisonParameters otherPaymentParameters = new ComparisonParameters(5100000D, 2000000D, 15D, 7.5D, 21000D,
+                0D, 300000D, 6D, 0.1, 0.4, false);
+
+        // then
+        assertThat(comparisonParameters).isEqualTo(negativeZeroParameters);
+        assertThat(comparisonParameters.hashCode()).isEqualTo(negativeZeroParameters.hashCode());
+        assertThat(comparisonParameters).isNotEqualTo(otherPaymentParameters);
+    }
+
+    @Test
+    void shouldCoalesceConcurrentEqualRequests() throws Exception {
+        // given
+        SimpleMeterRegistry simpleMeterRegistry = new SimpleMeterRegistry();
+        CountDownLatch computing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger computations = new AtomicInteger();
+        TimedComparisonEngine blockingEngine = new TimedComparisonEngine(new ComparisonEngine(new CostsCalculator(),
+                new GainsCalculator(), false), new CostsCalculator(), simpleMeterRegistry) {
+            @Override
+            public ComparisonResponse compare(ComparisonParameters comparisonParameters, boolean closedForm) {
+                computations.incrementAndGet();
+                computing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return super.compare(comparisonParameters, closedForm);
+            }
+        };
+        CachedComparisonService service = new CachedComparisonService(blockingEngine, simpleMeterRegistry, 100,
+                Duration.ofMinutes(1));
+        int waiters = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(waiters + 1);
+
+        try {
+            // when
+            List<Future<ComparisonResponse>> responses = new ArrayList<>();
+            responses.add(executor.submit(() -> service.compare(new ComparisonParameters(5100000D, 2000000D, 15D,
+                    7.5D, 21000D, 3D, 300000D, 6D, 0.1, 0.4, false))));
+            assertThat(computing.await(10, TimeUnit.SECONDS)).isTrue();
+            for (int i = 0; i < waiters; i++) {
+                responses.add(executor.submit(() -> service.compare(new ComparisonParameters(5100000D, 2000000D,
+                        15D, 7.5D, 21000D, 3D, 300000D, 6D, 0.1, 0.4, false))));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (simpleMeterRegistry.get("compare.coalesced").counter().count() < waiters
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertThat(simpleMeterRegistry.get("compare.in-flight").gauge().value()).isEqualTo(1);
+            release.countDown();
+
+            // then
+            ComparisonResponse first = responses.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<ComparisonResponse> response : responses) {
+                assertThat(response.get(10, TimeUnit.SECONDS)).isSameAs(first);
+            }
+            assertThat(computations.get()).isEqualTo(1);
+            assertThat(simpleMeterRegistry.get("compare.coalesced").counter().count()).isEqualTo(waiters);
+            assertThat(simpleMeterRegistry.get("compare.in-flight").gauge().value()).isZero();
+            assertThat(service.compare(new ComparisonParameters(5100000D, 2000000D, 15D, 7.5D, 21000D, 3D, 300000D,
+                    6D, 0.1, 0.4, false))).isSameAs(first);
+            assertThat(computations.get()).isEqualTo(1);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "comparisons").tag("result", result)
+                .functionCounter().count();
+    }
+}
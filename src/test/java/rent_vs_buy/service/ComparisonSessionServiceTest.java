@@ -0,0 +1,86 @@
+package rent_vs_buy.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+import rent_vs_buy.balancecalculator.ComparisonEngine;
+import rent_vs_buy.models.ComparisonField;
+import rent_vs_buy.models.ComparisonParameters;
+import rent_vs_buy.models.ComparisonSessionResponse;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("testing")
+class ComparisonSessionServiceTest {
+
+    @Autowired
+    private ComparisonSessionService comparisonSessionService;
+    @Autowired
+    private ComparisonEngine comparisonEngine;
+
+    @Test
+    void shouldMatchFullComparisonAfterEveryChange() {
+        // given
+        SplittableRandom random = new SplittableRandom(19);
+        ComparisonParameters comparisonParameters = new ComparisonParameters(4200000D, 1969000D, 20D, 8.49D,
+                22000D, 4D, 500000D, 8D, 0.1, 0.5, false);
+        String sessionId = comparisonSessionService.create(comparisonParameters).getSessionId();
+        ComparisonField[] fields = ComparisonField.values();
+
+        for (int i = 0; i < 500; i++) {
+            Map<String, Double> changes = new LinkedHashMap<>();
+            for (int j = random.nextInt(1, 3); j > 0; j--) {
+                ComparisonField field = fields[random.nextInt(fields.length)];
+                double value = field == ComparisonField.YEARS_OF_LOAN ? random.nextInt(1, 61) / 2D
+                        : field == ComparisonField.LOAN_BODY && random.nextInt(10) == 0 ? 0
+                        : Math.round(field.get(comparisonParameters) * random.nextDouble(0.8, 1.25) * 100) / 100D;
+                changes.put(field.getFieldName(), value);
+                comparisonParameters = field.with(comparisonParameters, value);
+            }
+
+            // when
+            ComparisonSessionResponse response = comparisonSessionService.update(sessionId, changes);
+
+            // then
+            assertThat(response.getComparison()).usingRecursiveComparison()
+                    .isEqualTo(comparisonEngine.compare(comparisonParameters));
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidChangesAndUnknownSessions() {
+        // given
+        String sessionId = comparisonSessionService.create(new ComparisonParameters(4200000D, 1969000D, 20D, 8.49D,
+                22000D, 4D, 500000D, 8D, 0.1, 0.5, false)).getSessionId();
+
+        // then
+        assertThatThrownBy(() -> comparisonSessionService.update(sessionId, Map.of("price", 1D)))
+                .isInstanceOf(InvalidRequestException.class).hasMessage("Unknown comparison field");
+        assertThatThrownBy(() -> comparisonSessionService.update(sessionId, Map.of("monthlyRent", -1D)))
+                .isInstanceOf(InvalidRequestException.class).hasMessage("must be greater than or equal to 0");
+        assertThatThrownBy(() -> comparisonSessionService.update(sessionId, Map.of("monthlyRent", -0D)))
+                .isInstanceOf(InvalidRequestException.class).hasMessage("must be greater than or equal to 0");
+        assertThatThrownBy(() -> comparisonSessionService.update(sessionId,
+                Map.of("rentInflationRate", Double.POSITIVE_INFINITY)))
+                .isInstanceOf(InvalidRequestException.class).hasMessage("must be a finite number");
+        assertThatThrownBy(() -> comparisonSessionService.update(sessionId, Map.of("isDifferentiatedPayment", true)))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Payment type cannot be changed in a session");
+        assertThatThrownBy(() -> comparisonSessionService.update(sessionId, Map.of("taxRate", "high")))
+                .isInstanceOf(InvalidRequestException.class).hasMessage("should be a number");
+        assertThat(comparisonSessionService.update(sessionId, Map.of("rentInflationRate", -1D)).getComparison()
+                .getPayedForRent()).isLessThan(22000D * 12 * 20);
+
+        comparisonSessionService.delete(sessionId);
+        assertThatThrownBy(() -> comparisonSessionService.get(sessionId))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+}
@@ -0,0 +1,88 @@
+package rent_vs_buy.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import rent_vs_buy.balancecalculator.ComparisonEngine;
+import rent_vs_buy.models.ComparisonRequest;
+import rent_vs_buy.models.ComparisonResponse;
+import rent_vs_buy.models.SimulationPercentile;
+import rent_vs_buy.models.SimulationRequest;
+import rent_vs_buy.models.SimulationResponse;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+@ActiveProfiles("testing")
+class SimulationServiceTest {
+
+    @Autowired
+    private SimulationService simulationService;
+    @Autowired
+    private ComparisonEngine comparisonEngine;
+
+    private final ComparisonRequest base = new ComparisonRequest(4200000D,
+            1969000D,
+            20D,
+            8.49D,
+            22000D,
+            4D,
+            500000D,
+            8D,
+            0.1,
+            0.5,
+            false);
+
+    @Test
+    void shouldMatchComparisonWithoutVolatility() {
+        // given
+        SimulationRequest simulationRequest = new SimulationRequest(base, 1000, 42L, 0D, 0D, null, 0D, null);
+        ComparisonResponse comparisonResponse = comparisonEngine.compare(base.toParameters());
+        double expectedDifference = comparisonResponse.getBuyBalance() - comparisonResponse.getRentBalance();
+
+        // when
+        SimulationResponse simulationResponse = simulationService.simulate(simulationRequest);
+
+        // then
+        assertThat(simulationResponse.getPaths()).isEqualTo(1000);
+        assertThat(simulationResponse.getMean()).isCloseTo(expectedDifference, within(1.0));
+        assertThat(simulationResponse.getStandardDeviation()).isCloseTo(0, within(1e-3));
+        assertThat(simulationResponse.getProbabilityBuyingWins()).isEqualTo(1.0);
+        for (SimulationPercentile percentile : simulationResponse.getPercentiles()) {
+            assertThat(percentile.getValue()).isCloseTo(expectedDifference, within(expectedDifference * 0.005));
+        }
+    }
+
+    @Test
+    void shouldBeReproducibleFromSeed() {
+        // given
+        SimulationRequest simulationRequest = new SimulationRequest(base, 100000, 7L, 2D, 1.5D, 3D, 4D,
+                List.of(1D, 50D, 99D));
+
+        // when
+        SimulationResponse first = simulationService.simulate(simulationRequest);
+        SimulationResponse second = simulationService.simulate(simulationRequest);
+
+        // then
+        assertThat(first).usingRecursiveComparison().isEqualTo(second);
+        assertThat(first.getProbabilityBuyingWins()).isBetween(0.0, 1.0);
+        assertThat(first.getPercentiles().get(0).getValue()).isLessThan(first.getPercentiles().get(1).getValue());
+        assertThat(first.getPercentiles().get(1).getValue()).isLessThan(first.getPercentiles().get(2).getValue());
+    }
+
+    @Test
+    void shouldRejectTooManyPaths() {
+        // given
+        SimulationRequest simulationRequest = new SimulationRequest(base, Integer.MAX_VALUE, 7L, 2D, 1.5D, 3D, 4D,
+                null);
+
+        // when / then
+        assertThatThrownBy(() -> simulationService.simulate(simulationRequest))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+}
@@ -0,0 +1,135 @@
+package rent_vs_buy.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import rent_vs_buy.balancecalculator.ComparisonEngine;
+import rent_vs_buy.models.ComparisonField;
+import rent_vs_buy.models.ComparisonParameters;
+import rent_vs_buy.models.ComparisonRequest;
+import rent_vs_buy.models.ComparisonResponse;
+import rent_vs_buy.models.SweepRange;
+import rent_vs_buy.models.SweepRequest;
+import rent_vs_buy.models.SweepResponse;
+
+import java.util.LinkedHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("testing")
+class SweepServiceTest {
+
+    @Autowired
+    private SweepService sweepService;
+    @Autowired
+    private ComparisonEngine comparisonEngine;
+
+    private final ComparisonRequest base = new ComparisonRequest(4200000D,
+            1969000D,
+            20D,
+            8.49D,
+            22000D,
+            4D,
+            500000D,
+            8D,
+            0.1,
+            0.5,
+            true);
+
+    @Test
+    void shouldMatchSingleComparisonsForEveryCell() {
+        // given
+        LinkedHashMap<String, SweepRange> ranges = new LinkedHashMap<>();
+        ranges.put("creditInterestRate", new SweepRange(5D, 12D, 0.25));
+        ranges.put("yearsOfLoan", new SweepRange(5D, 30D, 5D));
+        ranges.put("monthlyRent", new SweepRange(20000D, 30000D, 5000D));
+
+        // when
+        SweepResponse sweepResponse = sweepService.sweep(new SweepRequest(base, ranges));
+
+        // then
+        double[] rates = sweepResponse.getAxes().get(0).getValues();
+        double[] years = sweepResponse.getAxes().get(1).getValues();
+        double[] rents = sweepResponse.getAxes().get(2).getValues();
+        assertThat(rates).hasSize(29);
+        assertThat(years).containsExactly(5, 10, 15, 20, 25, 30);
+        assertThat(rents).containsExactly(20000, 25000, 30000);
+        assertThat(sweepResponse.getBuyBalance()).hasSize(29 * 6 * 3);
+
+        int cell = 0;
+        for (double rate : rates) {
+            for (double year : years) {
+                for (double rent : rents) {
+                    ComparisonParameters comparisonParameters = ComparisonField.with(base.toParameters(),
+                            new ComparisonField[]{ComparisonField.CREDIT_INTEREST_RATE,
+                                    ComparisonField.YEARS_OF_LOAN, ComparisonField.MONTHLY_RENT},
+                            new double[]{rate, year, rent});
+                    ComparisonResponse expected = comparisonEngine.compare(comparisonParameters);
+                    assertThat(sweepResponse.getRentBalance()[cell]).isEqualTo(expected.getRentBalance());
+                    assertThat(sweepResponse.getBuyBalance()[cell]).isEqualTo(expected.getBuyBalance());
+                    cell++;
+                }
+            }
+        }
+    }
+
+    @Test
+    void shouldRejectUnknownField() {
+        // given
+        LinkedHashMap<String, SweepRange> ranges = new LinkedHashMap<>();
+        ranges.put("price", new SweepRange(1D, 2D, 1D));
+
+        // when / then
+        assertThatThrownBy(() -> sweepService.sweep(new SweepRequest(base, ranges)))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Unknown comparison field");
+    }
+
+    @Test
+    void shouldRejectRangeOutsideFieldDomain() {
+        // given
+        LinkedHashMap<String, SweepRange> ranges = new LinkedHashMap<>();
+        ranges.put("rentInflationRate", new SweepRange(-2D, 2D, 1D));
+        ranges.put("yearsOfLoan", new SweepRange(-5D, 5D, 5D));
+
+        // when / then
+        assertThatThrownBy(() -> sweepService.sweep(new SweepRequest(base, ranges)))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Range should not go below 0")
+                .hasFieldOrPropertyWithValue("field", "yearsOfLoan");
+    }
+
+    @Test
+    void shouldRejectRangeStartingAtZeroForLoanTermAndRate() {
+        // given
+        LinkedHashMap<String, SweepRange> yearsOfLoan = new LinkedHashMap<>();
+        yearsOfLoan.put("yearsOfLoan", new SweepRange(0D, 30D, 5D));
+        LinkedHashMap<String, SweepRange> creditInterestRate = new LinkedHashMap<>();
+        creditInterestRate.put("creditInterestRate", new SweepRange(0D, 10D, 1D));
+
+        // when / then
+        assertThatThrownBy(() -> sweepService.sweep(new SweepRequest(base, yearsOfLoan)))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Range should be above 0")
+                .hasFieldOrPropertyWithValue("field", "yearsOfLoan");
+        assertThatThrownBy(() -> sweepService.sweep(new SweepRequest(base, creditInterestRate)))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Range should be above 0")
+                .hasFieldOrPropertyWithValue("field", "creditInterestRate");
+    }
+
+    @Test
+    void shouldRejectTooLargeGrid() {
+        // given
+        LinkedHashMap<String, SweepRange> ranges = new LinkedHashMap<>();
+        ranges.put("fullPrice", new SweepRange(0D, 1000000D, 1D));
+        ranges.put("loanBody", new SweepRange(0D, 1000000D, 1D));
+
+        // when / then
+        assertThatThrownBy(() -> sweepService.sweep(new SweepRequest(base, ranges)))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+}
@@ -0,0 +1,48 @@
+package rent_vs_buy.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class QuantileSketchTest {
+
+    @Test
+    void shouldEstimateQuantilesWithinRelativeAccuracy() {
+        // given
+        QuantileSketch sketch = new QuantileSketch(0.01);
+
+        // when
+        for (int i = -5000; i <= 5000; i++) {
+            sketch.add(i * 100.0);
+        }
+
+        // then
+        assertThat(sketch.getCount()).isEqualTo(10001);
+        assertThat(sketch.quantile(0.5)).isEqualTo(0);
+        assertThat(sketch.quantile(0.75)).isCloseTo(250000, within(2500.0));
+        assertThat(sketch.quantile(0.1)).isCloseTo(-400000, within(4000.0));
+        assertThat(sketch.quantile(1)).isCloseTo(500000, within(5000.0));
+    }
+
+    @Test
+    void shouldMergeSketches() {
+        // given
+        QuantileSketch whole = new QuantileSketch(0.01);
+        QuantileSketch first = new QuantileSketch(0.01);
+        QuantileSketch second = new QuantileSketch(0.01);
+
+        // when
+        for (int i = 1; i <= 1000; i++) {
+            whole.add(i * 1000.0);
+            (i % 2 == 0 ? first : second).add(i * 1000.0);
+        }
+        first.merge(second);
+
+        // then
+        assertThat(first.getCount()).isEqualTo(whole.getCount());
+        for (double quantile = 0; quantile <= 1; quantile += 0.05) {
+            assertThat(first.quantile(quantile)).isEqualTo(whole.quantile(quantile));
+        }
+    }
+}